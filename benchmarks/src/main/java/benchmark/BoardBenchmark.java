@@ -0,0 +1,70 @@
+package benchmark;
+
+import model.Board;
+import model.Cell;
+import model.Pawn;
+import model.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requêtes en lecture seule sur le plateau d'une position de référence
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BoardBenchmark {
+
+    @Param({"OPENING", "MID_GAME", "END_GAME"})
+    public Fixtures.Phase phase;
+
+    @Param({"7", "15", "31"})
+    public int size;
+
+    private Board board;
+    private Pawn pawn;
+    private Position position;
+    private int target;
+
+    @Setup
+    public void setup() {
+        var game = Fixtures.create(phase, size);
+        board = game.getBoard();
+        pawn = Fixtures.firstPawn(game);
+        position = pawn.getPosition();
+        // Case à deux pas en diagonale, dans le plateau
+        var x = position.getX() + (position.getX() + 1 < size ? 1 : -1);
+        var y = position.getY() + (position.getY() + 1 < size ? 1 : -1);
+        target = board.cellIndex(x, y);
+    }
+
+    @Benchmark
+    public HashSet<Cell> getAreaFromPosition() {
+        return board.getAreaFromPosition(position);
+    }
+
+    @Benchmark
+    public boolean isPawnCanMoveTo() {
+        return board.isPawnCanMoveTo(pawn, target, 0);
+    }
+
+    @Benchmark
+    public String displayBoard() {
+        return board.displayBoard();
+    }
+}
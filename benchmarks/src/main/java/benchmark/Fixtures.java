@@ -0,0 +1,85 @@
+package benchmark;
+
+import ai.RandomStrategy;
+import model.Game;
+import model.Pawn;
+import model.Position;
+import model.Turn;
+import util.GameFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Positions de référence des benchmarks. Elles sont reproductibles : une même phase, une même taille de
+ * plateau et une même graine donnent toujours la même partie.
+ */
+public final class Fixtures {
+    public static final long SEED = 42;
+
+    public enum Phase {
+        /** Pions placés, aucun mur */
+        OPENING,
+        /** Moitié d'une partie jouée au hasard */
+        MID_GAME,
+        /** Deux tours avant la fin d'une partie jouée au hasard : les territoires sont presque fermés */
+        END_GAME
+    }
+
+    private Fixtures() {
+    }
+
+    /**
+     * @param phase avancement de la partie
+     * @param size taille du plateau
+     * @return une partie commencée, pas terminée
+     */
+    public static Game create(Phase phase, int size) {
+        var game = GameFactory.createGame(2, new ArrayList<>(List.of("Alice", "Bob")), GameFactory.getNumberOfPawnFromPlayer(2), size);
+        var random = new SplittableRandom(SEED + size);
+        var players = game.getPlayers();
+        var pawns = players.get(0).getPawns().length;
+        for (int pawn = 0; pawn < pawns; pawn++) {
+            for (var player : players) {
+                boolean placed;
+                do {
+                    placed = game.playerPlacePawns(player, pawn, new Position(random.nextInt(size), random.nextInt(size)));
+                } while (!placed);
+                game.nextPlayer();
+            }
+        }
+        game.start();
+
+        if (phase != Phase.OPENING) {
+            // La partie est jouée jusqu'au bout puis ramenée en arrière : les phases suivent sa vraie durée
+            play(game, new RandomStrategy(SEED + size), size * size * 8);
+            var length = game.getHistorySize();
+            var kept = phase == Phase.MID_GAME ? length / 2 : length - 2;
+            while (game.getHistorySize() > Math.max(kept, 0)) {
+                game.undo();
+            }
+        }
+        if (game.isGameOver()) {
+            throw new IllegalStateException("Position de référence terminée: " + phase + ", " + size);
+        }
+        return game;
+    }
+
+    private static void play(Game game, RandomStrategy strategy, int turns) {
+        for (int i = 0; i < turns && !game.isGameOver(); i++) {
+            var turn = strategy.chooseTurn(game);
+            if (turn == Turn.NONE) {
+                return;
+            }
+            game.apply(turn);
+        }
+    }
+
+    /**
+     * @return le premier pion du joueur courant
+     */
+    public static Pawn firstPawn(Game game) {
+        return game.getCurrentPlayer().getPawns()[0];
+    }
+}
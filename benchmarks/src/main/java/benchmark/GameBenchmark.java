@@ -0,0 +1,54 @@
+package benchmark;
+
+import model.Game;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calcul des territoires et passage au joueur suivant. Les positions de référence ne sont pas terminées :
+ * ces appels ne changent que le joueur courant et les scores, toujours recalculés à l'identique.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GameBenchmark {
+
+    @Param({"OPENING", "MID_GAME", "END_GAME"})
+    public Fixtures.Phase phase;
+
+    @Param({"7", "15", "31"})
+    public int size;
+
+    private Game game;
+
+    @Setup
+    public void setup() {
+        game = Fixtures.create(phase, size);
+    }
+
+    @Benchmark
+    public boolean calculationOver() {
+        game.calculationOver();
+        return game.isGameOver();
+    }
+
+    @Benchmark
+    public int nextPlayer() {
+        game.nextPlayer();
+        return game.getCurrentPlayerIndex();
+    }
+}
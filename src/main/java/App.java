@@ -1,13 +1,28 @@
+import ai.MctsEngine;
 import api.Api;
 import api.ApiBash;
 import model.Game;
 import model.Player;
 import model.Position;
 import util.GameFactory;
+import util.TurnJournal;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 
 public class App {
+    /** Temps de réflexion par défaut d'un joueur automatique, en millisecondes */
+    private static final long DEFAULT_BUDGET_MILLIS = 1_000;
+    /** Journal des parties jouées dans le terminal, distinct de celui de l'interface graphique */
+    public static final Path JOURNAL_PATH = TurnJournal.DEFAULT_PATH.resolveSibling("console.journal");
+
+    /**
+     * Lance une partie dans le terminal
+     * @param args {@code --ia <joueur>} confie le joueur (numéroté à partir de 1) à l'ordinateur, autant de fois
+     *             que nécessaire ; {@code --budget <ms>} règle le temps de réflexion de l'ordinateur
+     */
     public static void main(String[] args) {
         var title = """
                                
@@ -24,7 +39,69 @@ public class App {
         System.out.println(title);
 
         // Création de l'API
-        Api api = new ApiBash();
+        var api = new ApiBash();
+        var computerSeats = new ArrayList<Integer>();
+        var budget = DEFAULT_BUDGET_MILLIS;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--ia" -> {
+                    var seat = Integer.parseInt(argument(args, ++i)) - 1;
+                    if (seat < 0 || seat > 3) {
+                        throw new IllegalArgumentException("Numéro de joueur invalide: " + args[i]);
+                    }
+                    computerSeats.add(seat);
+                }
+                case "--budget" -> budget = Long.parseLong(argument(args, ++i));
+                default -> throw new IllegalArgumentException("Option inconnue: " + args[i]);
+            }
+        }
+        // Un seul moteur suffit : les joueurs automatiques jouent chacun leur tour
+        var engine = computerSeats.isEmpty() ? null : new MctsEngine(budget);
+        for (var seat : computerSeats) {
+            api.setStrategy(seat, engine);
+        }
+
+        TurnJournal journal = null;
+        try {
+            journal = TurnJournal.open(JOURNAL_PATH);
+        } catch (IOException e) {
+            System.out.println("Journal indisponible, la partie ne pourra pas être reprise : " + e.getMessage());
+        }
+        api.setJournal(journal);
+        try {
+            // Reprise d'une partie interrompue par un arrêt brutal, au choix du joueur
+            var interrupted = new LinkedHashMap<Long, Game>();
+            if (journal != null) {
+                interrupted.putAll(journal.takeRecoveredGames());
+            }
+            var resumed = api.askRecoveredGame(interrupted);
+            if (resumed == null) {
+                play(api);
+            } else {
+                api.resumeGame(interrupted.get(resumed), resumed);
+            }
+        } finally {
+            if (engine != null) {
+                engine.close();
+            }
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    System.out.println("Impossible de fermer le journal : " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static String argument(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Valeur manquante après " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static void play(Api api) {
         var mock = true; // Pour activer le mock, mettre à true
         Game game;
 
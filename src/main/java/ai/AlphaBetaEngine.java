@@ -0,0 +1,314 @@
+package ai;
+
+import model.Game;
+import model.Turn;
+import model.TurnGenerator;
+
+import java.util.Objects;
+
+/**
+ * Moteur de recherche negamax avec élagage alpha-beta, approfondissement itératif et fenêtres d'aspiration.
+ * <p>
+ * À plus de deux joueurs, la recherche est « paranoïaque » : le joueur qui cherche affronte la coalition
+ * des autres joueurs. Un nœud appartient au camp du joueur au trait, et la note n'est inversée que lorsque
+ * le camp change (un joueur qui ne peut pas jouer est sauté par {@link Game#nextPlayer()}).
+ * <p>
+ * Les positions déjà cherchées sont retrouvées dans une {@link TranspositionTable}, qui fournit aussi le
+ * tour à essayer en premier : les poses de murs commutant d'un tour à l'autre, les transpositions sont fréquentes.
+ * <p>
+ * La recherche joue et annule les tours directement sur la partie avec {@link Game#apply(int)} et
+ * {@link Game#undo()} : la partie est rendue dans son état initial. Un moteur n'est pas utilisable
+ * par plusieurs threads à la fois.
+ */
+public class AlphaBetaEngine implements Strategy {
+    public static final int MAX_DEPTH = 32;
+    /** Note d'une partie gagnée, à laquelle s'ajoute l'écart de score */
+    public static final int WIN_SCORE = 1_000_000;
+    private static final int INFINITY = Integer.MAX_VALUE - 1;
+    private static final int ASPIRATION_WINDOW = 4;
+    private static final int TIME_CHECK_INTERVAL = 1024;
+    private static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+    private final Evaluator evaluator;
+    private final long timeBudgetMillis;
+    private final TranspositionTable table;
+    private final TurnGenerator generator = new TurnGenerator();
+    private final int[][] turnBuffers = new int[MAX_DEPTH + 1][];
+
+    private Game game;
+    private int rootPlayer;
+    private long deadline;
+    private boolean stopped;
+    private long nodes;
+    private int rootBestTurn;
+
+    private int lastDepth;
+    private int lastScore;
+    private long lastNodes;
+
+    /**
+     * @param evaluator évaluation statique des feuilles
+     * @param timeBudgetMillis temps maximum d'une recherche en millisecondes
+     * @param table table de transpositions, qui peut être partagée entre plusieurs moteurs de même évaluation
+     */
+    public AlphaBetaEngine(Evaluator evaluator, long timeBudgetMillis, TranspositionTable table) {
+        Objects.requireNonNull(evaluator, "Evaluator cannot be null");
+        Objects.requireNonNull(table, "Table cannot be null");
+        if (timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("Le budget de temps doit être positif: " + timeBudgetMillis);
+        }
+        this.evaluator = evaluator;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.table = table;
+    }
+
+    public AlphaBetaEngine(Evaluator evaluator, long timeBudgetMillis) {
+        this(evaluator, timeBudgetMillis, new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+    }
+
+    public AlphaBetaEngine(long timeBudgetMillis) {
+        this(new VoronoiEvaluator(), timeBudgetMillis);
+    }
+
+    @Override
+    public int chooseTurn(Game game) {
+        return findBestTurn(game);
+    }
+
+    /**
+     * Cherche le meilleur tour du joueur courant dans le budget de temps
+     * @param game partie en cours, rendue inchangée
+     * @return le meilleur tour trouvé, {@link Turn#NONE} si le joueur n'a aucun tour jouable
+     */
+    public int findBestTurn(Game game) {
+        return findBestTurn(game, MAX_DEPTH);
+    }
+
+    /**
+     * Cherche le meilleur tour du joueur courant dans le budget de temps, sans dépasser une profondeur
+     * @param game partie en cours, rendue inchangée
+     * @param maxDepth profondeur maximum en nombre de tours
+     * @return le meilleur tour trouvé, {@link Turn#NONE} si le joueur n'a aucun tour jouable
+     */
+    public int findBestTurn(Game game, int maxDepth) {
+        Objects.requireNonNull(game, "Game cannot be null");
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Profondeur invalide: " + maxDepth);
+        }
+        this.game = game;
+        this.rootPlayer = game.getCurrentPlayerIndex();
+        this.deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        this.stopped = false;
+        this.nodes = 0;
+        table.newSearch();
+        lastDepth = 0;
+        lastScore = 0;
+
+        var rootTurns = buffer(0);
+        var rootCount = generator.generate(game, rootTurns);
+        if (rootCount == 0) {
+            lastNodes = 0;
+            return Turn.NONE;
+        }
+        var bestTurn = rootTurns[0];
+        var score = 0;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            var alpha = depth == 1 ? -INFINITY : score - ASPIRATION_WINDOW;
+            var beta = depth == 1 ? INFINITY : score + ASPIRATION_WINDOW;
+            int value;
+            while (true) {
+                value = searchRoot(depth, alpha, beta, bestTurn);
+                if (stopped) {
+                    break;
+                }
+                // Hors de la fenêtre d'aspiration : nouvelle recherche avec une fenêtre complète de ce côté
+                if (value <= alpha) {
+                    alpha = -INFINITY;
+                } else if (value >= beta) {
+                    beta = INFINITY;
+                } else {
+                    break;
+                }
+            }
+            if (stopped) {
+                break;
+            }
+            bestTurn = rootBestTurn;
+            score = value;
+            lastDepth = depth;
+            lastScore = value;
+            if (Math.abs(value) >= WIN_SCORE) {
+                break; // Fin de partie certaine, inutile d'aller plus loin
+            }
+        }
+        lastNodes = nodes;
+        this.game = null;
+        return bestTurn;
+    }
+
+    private int searchRoot(int depth, int alpha, int beta, int firstTurn) {
+        var turns = buffer(0);
+        var count = generator.generate(game, turns);
+        moveToFront(turns, count, firstTurn);
+        var originalAlpha = alpha;
+        var best = -INFINITY;
+        rootBestTurn = turns[0];
+        for (int i = 0; i < count; i++) {
+            var value = child(turns[i], depth, alpha, beta, true, 0);
+            if (stopped) {
+                return best;
+            }
+            if (value > best) {
+                best = value;
+                rootBestTurn = turns[i];
+            }
+            alpha = Math.max(alpha, value);
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        table.store(key(), depth, best, bound(best, originalAlpha, beta), rootBestTurn);
+        return best;
+    }
+
+    private int search(int ply, int depth, int alpha, int beta) {
+        if (++nodes % TIME_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+        var rootSide = game.getCurrentPlayerIndex() == rootPlayer;
+        if (depth == 0 || game.isGameOver()) {
+            return evaluate(rootSide);
+        }
+
+        var key = key();
+        var entry = table.probe(key);
+        var tableTurn = Turn.NONE;
+        if (entry != TranspositionTable.MISS) {
+            tableTurn = TranspositionTable.turn(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                var score = TranspositionTable.score(entry);
+                switch (TranspositionTable.bound(entry)) {
+                    case TranspositionTable.EXACT -> {
+                        return score;
+                    }
+                    case TranspositionTable.LOWER -> alpha = Math.max(alpha, score);
+                    case TranspositionTable.UPPER -> beta = Math.min(beta, score);
+                }
+                if (alpha >= beta) {
+                    return score;
+                }
+            }
+        }
+
+        var turns = buffer(ply);
+        var count = generator.generate(game, turns);
+        if (count == 0) {
+            return evaluate(rootSide);
+        }
+        if (tableTurn != Turn.NONE) {
+            moveToFront(turns, count, tableTurn);
+        }
+        var originalAlpha = alpha;
+        var best = -INFINITY;
+        var bestTurn = turns[0];
+        for (int i = 0; i < count; i++) {
+            var value = child(turns[i], depth, alpha, beta, rootSide, ply);
+            if (stopped) {
+                return 0;
+            }
+            if (value > best) {
+                best = value;
+                bestTurn = turns[i];
+            }
+            alpha = Math.max(alpha, value);
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        table.store(key, depth, best, bound(best, originalAlpha, beta), bestTurn);
+        return best;
+    }
+
+    /**
+     * Les notes dépendent du joueur qui cherche (recherche paranoïaque), il fait donc partie de la clé
+     */
+    private long key() {
+        return game.positionKey() ^ rootPlayer * 0x9E3779B97F4A7C15L;
+    }
+
+    private static int bound(int score, int alpha, int beta) {
+        if (score <= alpha) {
+            return TranspositionTable.UPPER;
+        }
+        return score >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+    }
+
+    /**
+     * Joue un tour, cherche la position obtenue et annule le tour
+     * @return la note de la position du point de vue du camp qui a joué le tour
+     */
+    private int child(int turn, int depth, int alpha, int beta, boolean rootSide, int ply) {
+        game.apply(turn);
+        int value;
+        if ((game.getCurrentPlayerIndex() == rootPlayer) == rootSide) {
+            value = search(ply + 1, depth - 1, alpha, beta);
+        } else {
+            value = -search(ply + 1, depth - 1, -beta, -alpha);
+        }
+        game.undo();
+        return value;
+    }
+
+    /**
+     * @return la note de la position du point de vue du camp au trait
+     */
+    private int evaluate(boolean rootSide) {
+        var value = evaluator.evaluate(game, rootPlayer);
+        if (game.isGameOver()) {
+            value += value > 0 ? WIN_SCORE : value < 0 ? -WIN_SCORE : 0;
+        }
+        return rootSide ? value : -value;
+    }
+
+    private int[] buffer(int ply) {
+        var size = TurnGenerator.maxTurns(game);
+        if (turnBuffers[ply] == null || turnBuffers[ply].length < size) {
+            turnBuffers[ply] = new int[size];
+        }
+        return turnBuffers[ply];
+    }
+
+    private static void moveToFront(int[] turns, int count, int turn) {
+        for (int i = 0; i < count; i++) {
+            if (turns[i] == turn) {
+                System.arraycopy(turns, 0, turns, 1, i);
+                turns[0] = turn;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return la profondeur de la dernière itération terminée lors de la dernière recherche
+     */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * @return la note du meilleur tour de la dernière recherche, du point de vue du joueur qui cherchait
+     */
+    public int getLastScore() {
+        return lastScore;
+    }
+
+    /**
+     * @return le nombre de positions visitées lors de la dernière recherche
+     */
+    public long getLastNodes() {
+        return lastNodes;
+    }
+}
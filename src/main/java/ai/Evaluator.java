@@ -0,0 +1,17 @@
+package ai;
+
+import model.Game;
+
+/**
+ * Évaluation statique d'une position, utilisée par les moteurs de recherche.
+ */
+public interface Evaluator {
+
+    /**
+     * Évalue la position du point de vue d'un joueur
+     * @param game partie à évaluer, qui ne doit pas être modifiée
+     * @param playerIndex index du joueur
+     * @return une note d'autant plus grande que la position est favorable au joueur
+     */
+    int evaluate(Game game, int playerIndex);
+}
@@ -0,0 +1,314 @@
+package ai;
+
+import model.Game;
+import model.Turn;
+import model.TurnGenerator;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moteur de recherche arborescente Monte-Carlo (MCTS) parallèle, adapté aux parties de 3 et 4 joueurs.
+ * <p>
+ * Plusieurs tâches d'un {@link ForkJoinPool} partagent le même arbre (parallélisme d'arbre). Les statistiques
+ * des nœuds sont mises à jour sans verrou par des opérations atomiques, et une perte virtuelle (la visite
+ * est comptée dès la descente, la récompense seulement à la remontée) écarte les autres tâches des branches
+ * en cours d'exploration. Chaque nœud accumule la récompense du joueur qui a joué le tour qui y mène.
+ * <p>
+ * Chaque tâche simule sur sa propre copie de la partie, réinitialisée par {@link Game#copyFrom(Game)} avant
+ * chaque simulation : la partie passée au moteur n'est jamais modifiée.
+ * <p>
+ * La taille de l'arbre est bornée par un budget de nœuds : une fois le budget atteint, les feuilles ne sont
+ * plus développées et les simulations continuent depuis elles. La mémoire d'une recherche ne dépend donc
+ * ni du budget de temps ni du nombre de tâches.
+ */
+public class MctsEngine implements Strategy, AutoCloseable {
+    /** Nombre maximum de tours joués au hasard à la fin d'une simulation */
+    public static final int MAX_ROLLOUT_TURNS = 64;
+    /** Nombre de nœuds par défaut d'un arbre, soit une cinquantaine de Mo */
+    public static final int DEFAULT_MAX_NODES = 1 << 20;
+    private static final int MAX_PATH = 256;
+    private static final int REWARD_SCALE = 1 << 10;
+    private static final double EXPLORATION = 1.4;
+
+    private final Evaluator evaluator;
+    private final long timeBudgetMillis;
+    private final int workers;
+    private final int maxNodes;
+    private final ForkJoinPool pool;
+    private long seed;
+    private long lastPlayouts;
+    private long lastNodes;
+
+    /**
+     * @param evaluator évaluation de la position à la fin d'une simulation
+     * @param timeBudgetMillis temps maximum d'une recherche en millisecondes
+     * @param workers nombre de tâches de simulation en parallèle
+     * @param seed graine des tirages aléatoires
+     * @param maxNodes nombre de nœuds au-delà duquel l'arbre n'est plus développé. Le budget peut être dépassé
+     *                 des enfants d'un nœud par tâche développés au même moment.
+     */
+    public MctsEngine(Evaluator evaluator, long timeBudgetMillis, int workers, long seed, int maxNodes) {
+        Objects.requireNonNull(evaluator, "Evaluator cannot be null");
+        if (timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("Le budget de temps doit être positif: " + timeBudgetMillis);
+        }
+        if (workers < 1) {
+            throw new IllegalArgumentException("Il faut au moins une tâche de simulation: " + workers);
+        }
+        if (maxNodes < 1) {
+            throw new IllegalArgumentException("Le budget de nœuds doit être positif: " + maxNodes);
+        }
+        this.evaluator = evaluator;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.workers = workers;
+        this.maxNodes = maxNodes;
+        this.pool = new ForkJoinPool(workers);
+        this.seed = seed;
+    }
+
+    public MctsEngine(Evaluator evaluator, long timeBudgetMillis, int workers, long seed) {
+        this(evaluator, timeBudgetMillis, workers, seed, DEFAULT_MAX_NODES);
+    }
+
+    public MctsEngine(long timeBudgetMillis) {
+        this(new VoronoiEvaluator(), timeBudgetMillis, Runtime.getRuntime().availableProcessors(), System.nanoTime());
+    }
+
+    @Override
+    public int chooseTurn(Game game) {
+        return findBestTurn(game);
+    }
+
+    /**
+     * Cherche le meilleur tour du joueur courant dans le budget de temps
+     * @param game partie en cours, qui n'est pas modifiée
+     * @return le tour le plus visité, {@link Turn#NONE} si le joueur n'a aucun tour jouable
+     */
+    public int findBestTurn(Game game) {
+        Objects.requireNonNull(game, "Game cannot be null");
+        var snapshot = game.copy();
+        var root = new Node(Turn.NONE, -1);
+        var nodes = new AtomicLong(1);
+        var children = root.expand(snapshot, new TurnGenerator(), new int[TurnGenerator.maxTurns(snapshot)], nodes);
+        lastPlayouts = 0;
+        lastNodes = nodes.get();
+        if (children.length == 0) {
+            return Turn.NONE;
+        }
+        if (children.length == 1) {
+            return children[0].turn;
+        }
+
+        var deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        var tasks = new ArrayList<Playouts>();
+        for (int i = 0; i < workers; i++) {
+            tasks.add(new Playouts(root, snapshot, deadline, seed++, nodes));
+        }
+        for (var task : tasks) {
+            pool.execute(task);
+        }
+        for (var task : tasks) {
+            lastPlayouts += task.join();
+        }
+        lastNodes = nodes.get();
+
+        var best = children[0];
+        for (var child : children) {
+            if (child.visits > best.visits) {
+                best = child;
+            }
+        }
+        return best.turn;
+    }
+
+    /**
+     * @return le nombre de simulations de la dernière recherche, toutes tâches confondues
+     */
+    public long getLastPlayouts() {
+        return lastPlayouts;
+    }
+
+    /**
+     * @return le nombre de nœuds de l'arbre de la dernière recherche
+     */
+    public long getLastNodes() {
+        return lastNodes;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Nœud de l'arbre, dont les statistiques sont modifiées sans verrou par plusieurs tâches
+     */
+    private static final class Node {
+        private static final Node[] LEAF = new Node[0];
+        private static final VarHandle VISITS;
+        private static final VarHandle REWARD;
+        private static final VarHandle CHILDREN;
+
+        static {
+            try {
+                var lookup = MethodHandles.lookup();
+                VISITS = lookup.findVarHandle(Node.class, "visits", int.class);
+                REWARD = lookup.findVarHandle(Node.class, "reward", long.class);
+                CHILDREN = lookup.findVarHandle(Node.class, "children", Node[].class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        final int turn;
+        final int player;       // joueur qui a joué le tour menant à ce nœud
+        volatile int visits;
+        volatile long reward;   // en 1 / REWARD_SCALE
+        volatile Node[] children;
+
+        Node(int turn, int player) {
+            this.turn = turn;
+            this.player = player;
+        }
+
+        void addVisit() {
+            VISITS.getAndAdd(this, 1);
+        }
+
+        void addReward(int value) {
+            REWARD.getAndAdd(this, (long) value);
+        }
+
+        /**
+         * Crée les enfants du nœud ; si une autre tâche l'a fait entre-temps, ses enfants sont conservés
+         * @param game partie dans la position du nœud
+         * @param nodes nombre de nœuds de l'arbre, augmenté des enfants créés
+         */
+        Node[] expand(Game game, TurnGenerator generator, int[] turns, AtomicLong nodes) {
+            var count = generator.generate(game, turns);
+            var created = count == 0 ? LEAF : new Node[count];
+            var player = game.getCurrentPlayerIndex();
+            for (int i = 0; i < count; i++) {
+                created[i] = new Node(turns[i], player);
+            }
+            var witness = (Node[]) CHILDREN.compareAndExchange(this, (Node[]) null, created);
+            if (witness != null) {
+                return witness;
+            }
+            nodes.addAndGet(count);
+            return created;
+        }
+    }
+
+    /**
+     * Tâche de simulation : répète sélection, expansion, partie aléatoire et rétropropagation
+     * jusqu'à l'échéance, et renvoie son nombre de simulations
+     */
+    private final class Playouts extends RecursiveTask<Long> {
+        private final Node root;
+        private final Game snapshot;
+        private final long deadline;
+        private final SplittableRandom random;
+        private final AtomicLong nodes;
+
+        Playouts(Node root, Game snapshot, long deadline, long seed, AtomicLong nodes) {
+            this.root = root;
+            this.snapshot = snapshot;
+            this.deadline = deadline;
+            this.random = new SplittableRandom(seed);
+            this.nodes = nodes;
+        }
+
+        @Override
+        protected Long compute() {
+            var game = snapshot.copy();
+            var generator = new TurnGenerator();
+            var turns = new int[TurnGenerator.maxTurns(game)];
+            var path = new Node[MAX_PATH];
+            var rewards = new int[game.getPlayers().size()];
+            var playouts = 0L;
+
+            while (System.nanoTime() < deadline) {
+                game.copyFrom(snapshot);
+                root.addVisit();
+                var node = root;
+                var length = 0;
+                while (length < MAX_PATH) {
+                    var children = node.children;
+                    var expanded = false;
+                    if (children == null) {
+                        if (nodes.get() >= maxNodes) {
+                            break; // arbre complet : la simulation part de cette feuille
+                        }
+                        children = node.expand(game, generator, turns, nodes);
+                        expanded = true;
+                    }
+                    if (children.length == 0) {
+                        break;
+                    }
+                    var child = select(node, children);
+                    child.addVisit(); // perte virtuelle jusqu'à la rétropropagation
+                    game.apply(child.turn);
+                    path[length++] = child;
+                    node = child;
+                    if (expanded) {
+                        break;
+                    }
+                }
+
+                rollout(game, generator, turns);
+                for (int player = 0; player < rewards.length; player++) {
+                    var value = evaluator.evaluate(game, player);
+                    rewards[player] = value > 0 ? REWARD_SCALE : value == 0 ? REWARD_SCALE / 2 : 0;
+                }
+                for (int i = 0; i < length; i++) {
+                    path[i].addReward(rewards[path[i].player]);
+                }
+                playouts++;
+            }
+            return playouts;
+        }
+
+        /**
+         * Choix UCT : les enfants jamais visités d'abord, en partant d'un index aléatoire pour que
+         * les tâches ne se disputent pas le même enfant
+         */
+        private Node select(Node parent, Node[] children) {
+            var logParent = Math.log(Math.max(1, parent.visits));
+            var offset = random.nextInt(children.length);
+            Node best = null;
+            var bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < children.length; i++) {
+                var child = children[(offset + i) % children.length];
+                var visits = child.visits;
+                if (visits == 0) {
+                    return child;
+                }
+                var value = (double) child.reward / ((long) visits * REWARD_SCALE)
+                        + EXPLORATION * Math.sqrt(logParent / visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        private void rollout(Game game, TurnGenerator generator, int[] turns) {
+            for (int i = 0; i < MAX_ROLLOUT_TURNS && !game.isGameOver(); i++) {
+                var count = generator.generate(game, turns);
+                if (count == 0) {
+                    return;
+                }
+                game.apply(turns[random.nextInt(count)]);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ai;
+
+import model.Game;
+import model.Turn;
+import model.TurnGenerator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Joueur automatique qui joue un tour jouable tiré au hasard, utile comme référence dans les tournois.
+ */
+public class RandomStrategy implements Strategy {
+    private final SplittableRandom random;
+    private final TurnGenerator generator = new TurnGenerator();
+    private int[] turns = new int[0];
+
+    /**
+     * @param seed graine des tirages
+     */
+    public RandomStrategy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int chooseTurn(Game game) {
+        var size = TurnGenerator.maxTurns(game);
+        if (turns.length < size) {
+            turns = new int[size];
+        }
+        var count = generator.generate(game, turns);
+        return count == 0 ? Turn.NONE : turns[random.nextInt(count)];
+    }
+}
@@ -0,0 +1,17 @@
+package ai;
+
+import model.Game;
+import model.Turn;
+
+/**
+ * Joueur automatique : choisit le tour du joueur courant à la place d'un humain.
+ */
+public interface Strategy {
+
+    /**
+     * Choisit le tour du joueur courant
+     * @param game partie en cours, rendue dans son état initial
+     * @return le tour choisi, encodé avec {@link Turn}, ou {@link Turn#NONE} si aucun tour n'est jouable
+     */
+    int chooseTurn(Game game);
+}
@@ -0,0 +1,27 @@
+package ai;
+
+import model.Game;
+
+/**
+ * Évaluation par les scores de {@link Game#calculationOver()} : nombre de cases des zones fermées
+ * contrôlées par le joueur, moins le meilleur score adverse.
+ */
+public class TerritoryEvaluator implements Evaluator {
+
+    @Override
+    public int evaluate(Game game, int playerIndex) {
+        var players = game.getPlayers();
+        var scores = game.getScores();
+        var own = 0;
+        var bestOther = 0;
+        for (int i = 0; i < players.size(); i++) {
+            var score = scores.get(players.get(i));
+            if (i == playerIndex) {
+                own = score;
+            } else {
+                bestOther = Math.max(bestOther, score);
+            }
+        }
+        return own - bestOther;
+    }
+}
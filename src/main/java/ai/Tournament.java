@@ -0,0 +1,338 @@
+package ai;
+
+import model.Game;
+import model.Turn;
+import util.GameFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+/**
+ * Tournoi sans interface entre joueurs automatiques, dont les parties sont jouées en parallèle.
+ * <p>
+ * Les participants tournent sur les places de chaque partie pour que chacun commence aussi souvent que
+ * les autres. Les pions sont placés au hasard à partir d'une graine propre à chaque partie, et chaque
+ * joueur automatique est créé pour la partie avec cette même graine : un tournoi est reproductible tant
+ * que les joueurs automatiques ne dépendent pas du temps.
+ * <p>
+ * Les résultats sont agrégés dans l'ordre des parties : victoires, nulles, défaites, scores et une
+ * estimation Elo obtenue en comparant deux à deux les scores finaux des participants de chaque partie.
+ */
+public class Tournament {
+    public static final int INITIAL_ELO = 1500;
+    private static final int ELO_K = 16;
+
+    private final List<Entrant> entrants;
+    private final int playersPerGame;
+    private final long seed;
+    private final int threads;
+    private final int maxTurns;
+
+    /**
+     * Participant au tournoi
+     */
+    public static final class Entrant {
+        private final String name;
+        private final LongFunction<Strategy> factory;
+
+        /**
+         * @param name nom du participant
+         * @param factory crée le joueur automatique d'une partie à partir de la graine de la partie. Les
+         *                ressources coûteuses et sûres entre threads (comme une {@link TranspositionTable})
+         *                peuvent être partagées entre les joueurs créés.
+         */
+        public Entrant(String name, LongFunction<Strategy> factory) {
+            this.name = Objects.requireNonNull(name, "Name cannot be null");
+            this.factory = Objects.requireNonNull(factory, "Factory cannot be null");
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Bilan d'un participant
+     */
+    public static final class Standing {
+        private final String name;
+        private int games;
+        private int wins;
+        private int draws;
+        private int losses;
+        private long totalScore;
+        private double elo = INITIAL_ELO;
+
+        private Standing(String name) {
+            this.name = name;
+        }
+
+        public String getName() { return name; }
+        public int getGames() { return games; }
+        public int getWins() { return wins; }
+        public int getDraws() { return draws; }
+        public int getLosses() { return losses; }
+        public long getTotalScore() { return totalScore; }
+        public double getElo() { return elo; }
+
+        @Override
+        public String toString() {
+            return String.format("%-16s %6d %6d %6d %6d %8.2f %7.0f", name, games, wins, draws, losses,
+                    games == 0 ? 0.0 : (double) totalScore / games, elo);
+        }
+    }
+
+    /**
+     * Résultat d'un tournoi
+     */
+    public static final class Result {
+        private final List<Standing> standings;
+        private final int games;
+        private final long elapsedNanos;
+
+        private Result(List<Standing> standings, int games, long elapsedNanos) {
+            this.standings = standings;
+            this.games = games;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public List<Standing> getStandings() {
+            return standings;
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        /**
+         * @return le débit du tournoi en parties par seconde
+         */
+        public double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : games * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            var sb = new StringBuilder();
+            sb.append(String.format("%-16s %6s %6s %6s %6s %8s %7s%n", "Participant", "Parties", "V", "N", "D", "Score", "Elo"));
+            for (var standing : standings) {
+                sb.append(standing).append(System.lineSeparator());
+            }
+            sb.append(String.format("%d parties en %.2f s, %.1f parties/s", games, elapsedNanos / 1e9, getGamesPerSecond()));
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Issue d'une partie : participant et score de chaque place
+     */
+    private static final class Outcome {
+        final int[] entrants;
+        final int[] scores;
+
+        Outcome(int[] entrants, int[] scores) {
+            this.entrants = entrants;
+            this.scores = scores;
+        }
+    }
+
+    /**
+     * @param entrants participants, au moins deux
+     * @param playersPerGame nombre de joueurs par partie (2 à 4)
+     * @param seed graine du tournoi
+     * @param threads nombre de parties jouées en parallèle
+     * @param maxTurns nombre maximum de tours d'une partie, au-delà la partie est arrêtée et notée en l'état
+     */
+    public Tournament(List<Entrant> entrants, int playersPerGame, long seed, int threads, int maxTurns) {
+        Objects.requireNonNull(entrants, "Entrants cannot be null");
+        if (entrants.size() < 2) {
+            throw new IllegalArgumentException("Un tournoi demande au moins deux participants.");
+        }
+        if (playersPerGame < 2 || playersPerGame > 4) {
+            throw new IllegalArgumentException("Le nombre de joueurs doit être entre 2 et 4.");
+        }
+        if (threads < 1 || maxTurns < 1) {
+            throw new IllegalArgumentException("Le nombre de threads et de tours doit être positif.");
+        }
+        this.entrants = List.copyOf(entrants);
+        this.playersPerGame = playersPerGame;
+        this.seed = seed;
+        this.threads = threads;
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Joue les parties du tournoi
+     * @param games nombre de parties
+     * @return le bilan de chaque participant
+     */
+    public Result run(int games) {
+        if (games < 1) {
+            throw new IllegalArgumentException("Le nombre de parties doit être positif: " + games);
+        }
+        var start = System.nanoTime();
+        var outcomes = new ArrayList<Outcome>(games);
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<Outcome>>(games);
+            for (int i = 0; i < games; i++) {
+                var gameIndex = i;
+                futures.add(executor.submit(() -> play(gameIndex)));
+            }
+            for (var future : futures) {
+                outcomes.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tournoi interrompu", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur pendant une partie du tournoi", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        var elapsed = System.nanoTime() - start;
+
+        var standings = new ArrayList<Standing>();
+        for (var entrant : entrants) {
+            standings.add(new Standing(entrant.getName()));
+        }
+        for (var outcome : outcomes) {
+            record(standings, outcome);
+        }
+        return new Result(standings, games, elapsed);
+    }
+
+    private Outcome play(int gameIndex) {
+        var gameSeed = seed + gameIndex * 0x9E3779B97F4A7C15L;
+        var random = new SplittableRandom(gameSeed);
+        var seats = new int[playersPerGame];
+        var names = new ArrayList<String>();
+        var strategies = new Strategy[playersPerGame];
+        for (int seat = 0; seat < playersPerGame; seat++) {
+            seats[seat] = (gameIndex + seat) % entrants.size();
+            var entrant = entrants.get(seats[seat]);
+            names.add(entrant.getName());
+            strategies[seat] = entrant.factory.apply(gameSeed + seat);
+        }
+
+        var game = GameFactory.createGame(playersPerGame, names);
+        placePawns(game, random);
+        game.start();
+        try {
+            for (int turn = 0; turn < maxTurns && !game.isGameOver(); turn++) {
+                var chosen = strategies[game.getCurrentPlayerIndex()].chooseTurn(game);
+                if (chosen == Turn.NONE) {
+                    break; // Plus personne ne peut jouer
+                }
+                game.apply(chosen);
+            }
+        } finally {
+            close(strategies);
+        }
+
+        var scores = new int[playersPerGame];
+        for (int seat = 0; seat < playersPerGame; seat++) {
+            scores[seat] = game.getScores().get(game.getPlayers().get(seat));
+        }
+        return new Outcome(seats, scores);
+    }
+
+    private static void close(Strategy[] strategies) {
+        for (var strategy : strategies) {
+            if (strategy instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    throw new IllegalStateException("Impossible de libérer un joueur automatique", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Place les pions au hasard sur des cases libres, chaque joueur à son tour comme en début de partie
+     */
+    private static void placePawns(Game game, SplittableRandom random) {
+        var board = game.getBoard();
+        var players = game.getPlayers();
+        for (int pawn = 0; pawn < players.getFirst().getPawns().length; pawn++) {
+            for (var player : players) {
+                int cell;
+                do {
+                    cell = random.nextInt(board.getCellCount());
+                } while (board.isOccupied(cell));
+                game.playerPlacePawns(player, pawn, board.getPositionAt(cell));
+            }
+        }
+    }
+
+    private static void record(List<Standing> standings, Outcome outcome) {
+        var best = Integer.MIN_VALUE;
+        var winners = 0;
+        for (var score : outcome.scores) {
+            if (score > best) {
+                best = score;
+                winners = 1;
+            } else if (score == best) {
+                winners++;
+            }
+        }
+        for (int seat = 0; seat < outcome.entrants.length; seat++) {
+            var standing = standings.get(outcome.entrants[seat]);
+            standing.games++;
+            standing.totalScore += outcome.scores[seat];
+            if (outcome.scores[seat] < best) {
+                standing.losses++;
+            } else if (winners > 1) {
+                standing.draws++;
+            } else {
+                standing.wins++;
+            }
+        }
+
+        // Elo : chaque paire de places de participants différents compte comme une rencontre
+        var deltas = new double[standings.size()];
+        for (int a = 0; a < outcome.entrants.length; a++) {
+            for (int b = a + 1; b < outcome.entrants.length; b++) {
+                var entrantA = outcome.entrants[a];
+                var entrantB = outcome.entrants[b];
+                if (entrantA == entrantB) {
+                    continue;
+                }
+                var expected = 1.0 / (1.0 + Math.pow(10, (standings.get(entrantB).elo - standings.get(entrantA).elo) / 400.0));
+                var actual = Integer.compare(outcome.scores[a], outcome.scores[b]) * 0.5 + 0.5;
+                deltas[entrantA] += ELO_K * (actual - expected);
+                deltas[entrantB] -= ELO_K * (actual - expected);
+            }
+        }
+        for (int i = 0; i < deltas.length; i++) {
+            standings.get(i).elo += deltas[i];
+        }
+    }
+
+    /**
+     * Lance un tournoi entre le moteur alpha-beta, le moteur MCTS et un joueur aléatoire.
+     * Arguments : nombre de parties, joueurs par partie, budget par tour en millisecondes, nombre de threads.
+     */
+    public static void main(String[] args) {
+        var games = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        var players = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        var budget = args.length > 2 ? Long.parseLong(args[2]) : 20;
+        var threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        var table = new TranspositionTable(64);
+        var evaluator = new VoronoiEvaluator();
+        var entrants = List.of(
+                new Entrant("AlphaBeta", seed -> new AlphaBetaEngine(evaluator, budget, table)),
+                new Entrant("MCTS", seed -> new MctsEngine(evaluator, budget, 1, seed)),
+                new Entrant("Aléatoire", RandomStrategy::new));
+        var tournament = new Tournament(entrants, players, 42, threads, 200);
+        System.out.println(tournament.run(games));
+    }
+}
@@ -0,0 +1,152 @@
+package ai;
+
+import model.Turn;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Table de transpositions de taille fixe, stockée dans deux tableaux de long.
+ * <p>
+ * La table est découpée en paniers de deux entrées : la première est conservée tant que la nouvelle
+ * recherche est moins profonde (sauf si elle date d'une recherche précédente), la seconde est toujours
+ * remplacée. Chaque entrée se compose de la clé de la position ({@link model.Game#positionKey()}) et
+ * d'un long regroupant note, tour, profondeur, borne et âge :
+ * <pre>
+ * bits 0-31  note
+ * bits 32-47 meilleur tour ({@link Turn}), 0xFFFF si aucun
+ * bits 48-55 profondeur
+ * bits 56-57 type de borne
+ * bits 58-62 âge (numéro de recherche)
+ * bit  63    entrée présente
+ * </pre>
+ * La clé est stockée xorée avec les données : une entrée écrite à moitié par un autre thread ne correspond
+ * plus à sa clé et est ignorée. La table peut ainsi être partagée sans verrou par plusieurs threads.
+ */
+public final class TranspositionTable {
+    public static final int EXACT = 0;
+    /** La note est une borne inférieure (coupure beta) */
+    public static final int LOWER = 1;
+    /** La note est une borne supérieure (aucun tour n'a dépassé alpha) */
+    public static final int UPPER = 2;
+    /** Résultat de {@link #probe(long)} quand la position n'est pas dans la table */
+    public static final long MISS = 0L;
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int NO_TURN = 0xFFFF;
+    private static final int ENTRY_BYTES = 16;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int bucketMask;
+    private volatile int age;
+
+    /**
+     * @param megabytes mémoire occupée par la table, arrondie à la puissance de deux inférieure
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1 || megabytes > 4096) {
+            throw new IllegalArgumentException("La taille de la table doit être comprise entre 1 et 4096 Mo: " + megabytes);
+        }
+        var entries = Long.highestOneBit((long) megabytes * 1024 * 1024 / ENTRY_BYTES);
+        entries = Math.min(entries, 1 << 30);
+        this.keys = new long[(int) entries];
+        this.data = new long[(int) entries];
+        this.bucketMask = (int) (entries / 2 - 1);
+    }
+
+    /**
+     * @return le nombre d'entrées de la table
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Signale le début d'une nouvelle recherche : les entrées des recherches précédentes deviennent remplaçables
+     */
+    public void newSearch() {
+        age = (age + 1) & 31;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+    }
+
+    /**
+     * Cherche une position dans la table
+     * @param key clé de la position
+     * @return les données de l'entrée, {@link #MISS} si la position n'est pas dans la table
+     */
+    public long probe(long key) {
+        var index = bucketIndex(key);
+        for (int i = index; i < index + 2; i++) {
+            var entry = (long) LONGS.getOpaque(data, i);
+            if (entry != MISS && ((long) LONGS.getOpaque(keys, i) ^ entry) == key) {
+                return entry;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Enregistre le résultat de la recherche d'une position
+     * @param key clé de la position
+     * @param depth profondeur de la recherche
+     * @param score note de la position
+     * @param bound {@link #EXACT}, {@link #LOWER} ou {@link #UPPER}
+     * @param turn meilleur tour trouvé, {@link Turn#NONE} si aucun
+     */
+    public void store(long key, int depth, int score, int bound, int turn) {
+        var currentAge = age;
+        var entry = (score & 0xFFFFFFFFL)
+                | (long) (turn == Turn.NONE ? NO_TURN : turn & 0xFFFF) << 32
+                | (long) Math.min(Math.max(depth, 0), 255) << 48
+                | (long) (bound & 3) << 56
+                | (long) currentAge << 58
+                | 1L << 63;
+        var index = bucketIndex(key);
+        var preferred = (long) LONGS.getOpaque(data, index);
+        var preferredKey = (long) LONGS.getOpaque(keys, index) ^ preferred;
+        if (preferred == MISS || preferredKey == key || depth(preferred) <= depth || age(preferred) != currentAge) {
+            write(index, key, entry);
+        } else {
+            write(index + 1, key, entry);
+        }
+    }
+
+    private void write(int index, long key, long entry) {
+        LONGS.setOpaque(keys, index, key ^ entry);
+        LONGS.setOpaque(data, index, entry);
+    }
+
+    private int bucketIndex(long key) {
+        return ((int) (key ^ (key >>> 32)) & bucketMask) << 1;
+    }
+
+    public static int score(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * @return le meilleur tour de l'entrée, {@link Turn#NONE} si aucun
+     */
+    public static int turn(long entry) {
+        var turn = (int) (entry >>> 32) & 0xFFFF;
+        return turn == NO_TURN ? Turn.NONE : turn;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> 48) & 0xFF;
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> 56) & 3;
+    }
+
+    private static int age(long entry) {
+        return (int) (entry >>> 58) & 31;
+    }
+}
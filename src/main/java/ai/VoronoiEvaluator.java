@@ -0,0 +1,123 @@
+package ai;
+
+import model.Board;
+import model.Direction;
+import model.Game;
+import model.NeighbourTable;
+
+import java.util.Arrays;
+
+/**
+ * Estimation du territoire de chaque joueur en cours de partie, quand les zones ne sont pas encore fermées.
+ * <p>
+ * Un parcours en largeur part en même temps de tous les pions du plateau en suivant le graphe des cases
+ * sans traverser les murs : chaque case revient au joueur dont un pion est le plus proche, et n'est comptée
+ * pour personne si plusieurs joueurs en sont à la même distance. Les pions ne bloquent pas le parcours,
+ * seuls les murs délimitent une zone. Une zone fermée contrôlée par un seul joueur lui revient donc en
+ * entier, comme dans {@link Game#calculationOver()}.
+ * <p>
+ * Le parcours est linéaire en nombre de cases et n'alloue rien : chaque thread garde ses propres tampons,
+ * l'évaluateur peut donc être partagé par les tâches d'un moteur de recherche.
+ */
+public class VoronoiEvaluator implements Evaluator {
+    private static final int CONTESTED = -1;
+
+    private final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+
+    /**
+     * Tampons réutilisés d'un parcours à l'autre
+     */
+    private static final class Buffers {
+        int[] visited = new int[0];
+        int generation;
+        int[] distance = new int[0];
+        int[] owner = new int[0];
+        int[] queue = new int[0];
+        int[] territory = new int[Board.MAX_PLAYERS];
+
+        void ensureCapacity(int cells) {
+            if (visited.length != cells) {
+                visited = new int[cells];
+                distance = new int[cells];
+                owner = new int[cells];
+                queue = new int[cells];
+                generation = 0;
+            }
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(visited, 0);
+                generation = 1;
+            }
+        }
+    }
+
+    @Override
+    public int evaluate(Game game, int playerIndex) {
+        var territory = buffers.get().territory;
+        estimate(game.getBoard(), territory);
+        var bestOther = 0;
+        for (int i = 0; i < game.getPlayers().size(); i++) {
+            if (i != playerIndex) {
+                bestOther = Math.max(bestOther, territory[i]);
+            }
+        }
+        return territory[playerIndex] - bestOther;
+    }
+
+    /**
+     * Estime le territoire de chaque joueur
+     * @param board plateau à évaluer
+     * @param territory tableau d'au moins {@link Board#MAX_PLAYERS} cases recevant le nombre de cases
+     *                  attribuées à chaque joueur, indexé par identifiant de joueur
+     */
+    public void estimate(Board board, int[] territory) {
+        if (territory.length < Board.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Le tableau doit contenir au moins " + Board.MAX_PLAYERS + " joueurs.");
+        }
+        Arrays.fill(territory, 0);
+        var cells = board.getCellCount();
+        var scratch = buffers.get();
+        scratch.ensureCapacity(cells);
+        var visited = scratch.visited;
+        var generation = scratch.generation;
+        var distance = scratch.distance;
+        var owner = scratch.owner;
+        var queue = scratch.queue;
+        var neighbours = board.getNeighbourTable();
+
+        // Toutes les cases occupées sont des sources à distance 0
+        var tail = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            var pawn = board.getPawnAt(cell);
+            if (pawn != null) {
+                visited[cell] = generation;
+                distance[cell] = 0;
+                owner[cell] = pawn.getPlayerId();
+                queue[tail++] = cell;
+            }
+        }
+
+        for (int head = 0; head < tail; head++) {
+            var cell = queue[head];
+            var cellOwner = owner[cell];
+            var nextDistance = distance[cell] + 1;
+            for (int direction = 0; direction < Direction.COUNT; direction++) {
+                var next = neighbours.neighbour(cell, direction);
+                if (next == NeighbourTable.NONE || board.isWallSlotSet(neighbours.wallSlot(cell, direction))) {
+                    continue;
+                }
+                if (visited[next] != generation) {
+                    visited[next] = generation;
+                    distance[next] = nextDistance;
+                    owner[next] = cellOwner;
+                    queue[tail++] = next;
+                } else if (distance[next] == nextDistance && owner[next] != cellOwner) {
+                    // Atteinte à la même distance par deux joueurs : la case n'est à personne
+                    owner[next] = CONTESTED;
+                }
+            }
+            if (cellOwner != CONTESTED) {
+                territory[cellOwner]++;
+            }
+        }
+    }
+}
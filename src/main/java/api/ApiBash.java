@@ -1,18 +1,44 @@
 package api;
 
+import ai.Strategy;
 import exception.OutOfBoardException;
 import model.*;
 import util.GameFactory;
+import util.TurnJournal;
 
 import java.util.*;
 
 public class ApiBash implements Api {
 
     private Scanner scanner;
+    private final Map<Integer, Strategy> strategies = new HashMap<>();
+    private TurnJournal journal;
 
     public ApiBash() {
         this.scanner = new Scanner(System.in);
     }
+
+    /**
+     * Confie un joueur à un joueur automatique : ses tours ne sont plus demandés dans le terminal.
+     * @param playerIndex index du joueur
+     * @param strategy joueur automatique, null pour rendre la main à un humain
+     */
+    public void setStrategy(int playerIndex, Strategy strategy) {
+        if (strategy == null) {
+            strategies.remove(playerIndex);
+        } else {
+            strategies.put(playerIndex, strategy);
+        }
+    }
+
+    /**
+     * Journalise les tours des parties jouées ensuite, pour les reprendre après un arrêt brutal
+     * @param journal journal des tours, null pour ne plus journaliser
+     */
+    public void setJournal(TurnJournal journal) {
+        this.journal = journal;
+    }
+
     /**
      * Initialisation du jeu en demandant le nombre de joueurs et leurs noms.
      */
@@ -65,104 +91,192 @@ public class ApiBash implements Api {
             throw new IllegalStateException("Game is already started");
         }
         game.start();
+        play(game, new GameEngine(game, journal));
+    }
+
+    /**
+     * Reprend une partie reconstruite par le journal après un arrêt brutal
+     * @param game la partie reconstruite
+     * @param journalId identifiant de la partie dans le journal
+     */
+    public void resumeGame(Game game, long journalId) {
+        Objects.requireNonNull(game, "Game cannot be null");
+        if (!game.isStarted()) {
+            throw new IllegalStateException("Game has not started yet");
+        }
+        play(game, new GameEngine(game, journal, journalId));
+    }
 
+    /**
+     * Propose de reprendre une des parties interrompues, d'en abandonner ou de commencer une nouvelle partie.
+     * Une partie abandonnée est terminée dans le journal, les autres restent à reprendre au prochain lancement.
+     * @param recovered parties interrompues par identifiant, les parties abandonnées en sont retirées
+     * @return l'identifiant de la partie à reprendre, null pour une nouvelle partie
+     */
+    public Long askRecoveredGame(Map<Long, Game> recovered) {
+        while (!recovered.isEmpty()) {
+            var ids = new ArrayList<>(recovered.keySet());
+            System.out.println("Parties interrompues :");
+            for (int i = 0; i < ids.size(); i++) {
+                var game = recovered.get(ids.get(i));
+                var names = new StringJoiner(", ");
+                for (var player : game.getPlayers()) {
+                    names.add(player.getName());
+                }
+                System.out.println("  " + (i + 1) + ". " + names + " (" + game.getHistorySize() + " tours)");
+            }
+            System.out.print("Numéro de la partie à reprendre, A suivi du numéro pour l'abandonner, N pour une nouvelle partie : ");
+            var input = scanner.nextLine().trim().toUpperCase();
+            if (input.equals("N")) {
+                return null;
+            }
+            var discard = input.startsWith("A");
+            int index;
+            try {
+                index = Integer.parseInt((discard ? input.substring(1) : input).trim()) - 1;
+            } catch (NumberFormatException e) {
+                index = -1;
+            }
+            if (index < 0 || index >= ids.size()) {
+                System.out.println("Choix invalide. Réessayez.");
+                continue;
+            }
+            if (!discard) {
+                return ids.get(index);
+            }
+            recovered.remove(ids.get(index));
+            if (journal != null) {
+                journal.finish(ids.get(index));
+            }
+        }
+        return null;
+    }
+
+    private void play(Game game, GameEngine engine) {
         //chaque joueur joue son tour chacun à son tour
         List<Player> players = game.getPlayers();
-        int currentPlayerIndex = 0;
-        while (true) {
+        while (!game.isGameOver()) {
             System.out.println(game.getBoard().displayBoard());
 
-            Player currentPlayer = players.get(currentPlayerIndex);
+            Player currentPlayer = game.getCurrentPlayer();
+            var strategy = strategies.get(game.getCurrentPlayerIndex());
+            if (strategy != null) {
+                var turn = strategy.chooseTurn(game);
+                if (turn == Turn.NONE) {
+                    // Le moteur donne toujours la main à un joueur qui peut jouer : plus personne ne le peut
+                    System.out.println(currentPlayer.getName() + " ne peut plus jouer.");
+                    engine.closeJournal();
+                    break;
+                }
+                System.out.println(currentPlayer.getName() + " joue : " + Turn.toString(turn));
+                engine.play(turn);
+                continue;
+            }
+
             System.out.println("currentPlayer peut jouer ? : " + game.isPlayerCanMove(currentPlayer.getId()));
             System.out.println("C'est le tour du joueur : " + currentPlayer.getName());
-            var capacityUsedThisTurn = false;
 
-            if (players.get(currentPlayerIndex).isCapacityUsed()) {
-                System.out.println("Vous avez déjà utilisé votre capacité spéciale.");
-            } else if (askUseCapacity()) {
-                capacityUsedThisTurn = true;
+            // Le tour complet est saisi puis joué d'un bloc, le moteur passe au joueur suivant et vérifie la fin de partie
+            var result = engine.play(askTurn(game, engine, currentPlayer));
+            if (!result.isOk()) {
+                System.out.println(result.getMessage() + " Rejouez votre tour.");
             }
+        }
 
-            Pawn pawnFromPosition = null;
-            boolean validPawnSelected = false;
-            boolean wallplaced = false;
-
-            //Demander au joueur de sélectionner un pion à lui en indiquant sa position sur la grille
-            System.out.println("Sélectionnez un pion à déplacer en indiquant sa position : ");
-            while (!validPawnSelected) {
-                Position position = askPosition();
-                var cell = new Cell(position);
-                try {
-                    cell = game.getBoard().getCellAt(position);
-                } catch (OutOfBoardException e) {
-                    System.out.printf("La position est en dehors du plateau");
-                    continue;
-                }
+        System.out.println(game.getBoard().displayBoard());
+        System.out.println("Partie terminée !");
+        for (Player player : players) {
+            System.out.println(player.getName() + " : " + game.getScores().get(player));
+        }
+    }
 
-                if (!cell.isOccuped()) {
-                    System.out.println("Aucun pion à cette position. Réessayez.");
-                    continue; // Redemander la position si aucun pion n'est trouvé
-                }
-                if (cell.getOptionalPawn().get().getPlayerId() != currentPlayer.getId()) {
-                    System.out.println("Ce n'est pas votre pion. Réessayez.");
-                    continue; // Redemander la position si le pion n'appartient pas au joueur
-                }
+    /**
+     * Saisit un tour complet : pion, déplacements, mur cassé avec la capacité spéciale et mur posé.
+     * Chaque étape est vérifiée par le moteur sans modifier le plateau. Avec la capacité spéciale, un pas
+     * bloqué par un mur casse ce mur puis le joueur choisit à nouveau la direction de son pas, qui peut
+     * être différente, comme avec le bouton de la capacité dans la fenêtre de jeu.
+     * @return le tour saisi, encodé avec {@link Turn}
+     */
+    private int askTurn(Game game, GameEngine engine, Player currentPlayer) {
+        var capacityUsedThisTurn = false;
+        if (currentPlayer.isCapacityUsed()) {
+            System.out.println("Vous avez déjà utilisé votre capacité spéciale.");
+        } else if (askUseCapacity()) {
+            capacityUsedThisTurn = true;
+        }
+
+        //Demander au joueur de sélectionner un pion à lui en indiquant sa position sur la grille
+        System.out.println("Sélectionnez un pion à déplacer en indiquant sa position : ");
+        var turn = Turn.NONE;
+        while (turn == Turn.NONE) {
+            Position position = askPosition();
+            Cell cell;
+            try {
+                cell = game.getBoard().getCellAt(position);
+            } catch (OutOfBoardException e) {
+                System.out.println("La position est en dehors du plateau");
+                continue;
+            }
 
-                pawnFromPosition = cell.getOptionalPawn().get();
-                validPawnSelected = true; // Si on arrive ici, le pion est valide
+            if (!cell.isOccuped()) {
+                System.out.println("Aucun pion à cette position. Réessayez.");
+                continue; // Redemander la position si aucun pion n'est trouvé
+            }
+            var pawn = cell.getOptionalPawn().get();
+            if (pawn.getPlayerId() != currentPlayer.getId()) {
+                System.out.println("Ce n'est pas votre pion. Réessayez.");
+                continue; // Redemander la position si le pion n'appartient pas au joueur
+            }
+            var result = engine.validateMove(Turn.of(pawn.getId(), 0, 0, 0, 0));
+            if (!result.isOk()) {
+                System.out.println(result.getMessage() + " Réessayez.");
+                continue;
             }
+            turn = Turn.of(pawn.getId(), 0, 0, 0, 0);
+        }
+
+        // Demander au joueur s'il veut se déplacer de 0, 1 ou 2 cases
+        int numberOfMoves = askNumberOfMoves();
+
+        // Demander au joueur de sélectionner une direction pour chaque pas
+        var directions = new int[Turn.MAX_STEPS];
+        for (int i = 0; i < numberOfMoves; i++) {
+            System.out.println("Sélectionnez une direction pour déplacer le pion : ");
+            while (true) {
+                var direction = askDirection().ordinal();
+                directions[i] = direction;
+                var candidate = Turn.of(Turn.pawn(turn), i + 1, directions[0], directions[1], 0);
+                if (Turn.usesCapacity(turn)) {
+                    candidate = Turn.withBreak(candidate, Turn.breakAt(turn), Turn.breakDirection(turn));
+                }
+                if (engine.validateMove(candidate).isOk()) {
+                    turn = candidate;
+                    break;
+                }
 
-            // Demander au joueur s'il veut se déplacer de 0, 1 ou 2 cases
-            int numberOfMoves = askNumberOfMoves();
-
-            // Demander au joueur de sélectionner une direction pour déplacer le pion
-            var tmpPosition = pawnFromPosition.getPosition();
-            for (int i = 0; i < numberOfMoves; i++) {
-                boolean moved = false;
-                System.out.println("Sélectionnez une direction pour déplacer le pion : ");
-                Position newPosition;
-                while(!moved){
-                    Direction direction = askDirection();
-                    try {
-                        moved = game.getBoard().movePawnAt(tmpPosition, direction);
-
-                        //colision avec un mur dans le cas ou la capacité spéciale est utilisée
-                        if (capacityUsedThisTurn && !currentPlayer.isCapacityUsed()
-                                && !moved
-                                && game.getBoard().isPositionOnBoard(tmpPosition.move(direction))) {
-                            System.out.println("Capacité spéciale utilisée !");
-                            currentPlayer.useCapacity();
-                            game.getBoard().removeWall(tmpPosition, direction);
-                            System.out.println(game.getBoard().displayBoard());
-                            continue;
-                        }
-
-                    } catch (OutOfBoardException e) {
-                        System.out.println("Déplacement impossible, le pion sort du plateau. Réessayez.");
+                //colision avec un mur dans le cas ou la capacité spéciale est utilisée : le mur est cassé avant ce pas
+                if (capacityUsedThisTurn && !Turn.usesCapacity(turn)) {
+                    var withBreak = Turn.withBreak(turn, i, direction);
+                    if (engine.validateMove(withBreak).isOk()) {
+                        System.out.println("Capacité spéciale utilisée, le mur est cassé ! Sélectionnez une direction pour déplacer le pion : ");
+                        turn = withBreak;
                         continue;
                     }
-                    if (moved) {
-                        newPosition = tmpPosition.move(direction);
-                        tmpPosition = newPosition;
-                    }
                 }
-
-                System.out.println(game.getBoard().displayBoard());
+                System.out.println("Déplacement impossible. Réessayez.");
             }
+        }
 
-            // Demander au joueur de sélectionner une direction pour placer un mur
-            System.out.println("Sélectionnez une direction pour placer un mur : ");
-            while (!wallplaced){
-                Direction direction = askDirection();
-                wallplaced = game.getBoard().placeWall(pawnFromPosition.getPosition(), direction);
+        // Demander au joueur de sélectionner une direction pour placer un mur
+        System.out.println("Sélectionnez une direction pour placer un mur : ");
+        while (true) {
+            var candidate = Turn.withWall(turn, askDirection().ordinal());
+            var result = engine.validate(candidate);
+            if (result.isOk()) {
+                return candidate;
             }
-
-            // TODO Check condition de victoire
-
-            // Passer au joueur suivant
-            currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+            System.out.println(result.getMessage() + " Réessayez.");
         }
-
     }
 
     /**
@@ -0,0 +1,257 @@
+package api.graphic;
+
+import model.Board;
+import model.Direction;
+import model.Game;
+import model.NeighbourTable;
+import model.Pawn;
+import util.GameArchive;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Dessin d'un plateau : grille, murs et pions. Le dessin n'utilise que java.awt, sans fenêtre, ce qui
+ * permet de produire des images de parties sur un serveur sans écran ({@code java.awt.headless=true}) ;
+ * la fenêtre de jeu s'en sert aussi pour dessiner son plateau.
+ * <p>
+ * Un renderer garde la géométrie du dernier plateau placé ({@link #layout(int, int, int, int)}) : il ne doit
+ * être utilisé que par un seul thread à la fois.
+ */
+public final class BoardRenderer {
+    public static final Color[] PLAYER_COLORS = {Color.BLUE, Color.RED, Color.GREEN, Color.YELLOW};
+    /** Débordement d'un mur ou de la surbrillance d'un pion hors de sa case, en pixels */
+    public static final int OVERHANG = 3;
+
+    private int boardSize;
+    private int cellSize;
+    private int startX;
+    private int startY;
+
+    /**
+     * Centre le plateau dans une zone, avec des cases carrées aussi grandes que possible
+     * @param boardSize nombre de cases par côté
+     * @param margin marge laissée autour du plateau
+     */
+    public void layout(int boardSize, int width, int height, int margin) {
+        if (boardSize < 1) {
+            throw new IllegalArgumentException("Taille de plateau invalide: " + boardSize);
+        }
+        this.boardSize = boardSize;
+        // Calculer la taille disponible après les marges
+        var availableWidth = width - 2 * margin;
+        var availableHeight = height - 2 * margin;
+        this.cellSize = Math.max(1, Math.min(availableWidth / boardSize, availableHeight / boardSize));
+        // Centrer le plateau dans l'espace disponible (avec marges)
+        var boardPixelSize = boardSize * cellSize;
+        this.startX = margin + (availableWidth - boardPixelSize) / 2;
+        this.startY = margin + (availableHeight - boardPixelSize) / 2;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    public int getStartX() {
+        return startX;
+    }
+
+    public int getStartY() {
+        return startY;
+    }
+
+    public int getBoardPixelSize() {
+        return boardSize * cellSize;
+    }
+
+    /**
+     * Dessine la partie entière sur un fond blanc, sans pion sélectionné
+     */
+    public void render(Graphics2D g, Game game, int width, int height) {
+        Objects.requireNonNull(game, "Game cannot be null");
+        var board = game.getBoard();
+        layout(board.SIZE, width, height, OVERHANG + 1);
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        drawGrid(g);
+        drawWalls(g, board);
+        drawPawns(g, board, null);
+    }
+
+    /**
+     * @return une nouvelle image de la partie
+     */
+    public BufferedImage render(Game game, int width, int height) {
+        var image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        var g = image.createGraphics();
+        try {
+            render(g, game, width, height);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    public void drawGrid(Graphics g) {
+        var boardPixelSize = getBoardPixelSize();
+        g.setColor(Color.GRAY);
+        for (int i = 0; i <= boardSize; i++) {
+            g.drawLine(startX + i * cellSize, startY, startX + i * cellSize, startY + boardPixelSize);
+            g.drawLine(startX, startY + i * cellSize, startX + boardPixelSize, startY + i * cellSize);
+        }
+    }
+
+    /**
+     * Parcourt directement les emplacements de murs du plateau (voir {@link NeighbourTable})
+     */
+    public void drawWalls(Graphics g, Board board) {
+        g.setColor(Color.BLACK);
+        var horizontalCount = boardSize * (boardSize + 1);
+        // Dessiner les murs horizontaux : côté nord de la ligne y, la ligne boardSize étant le bord sud
+        for (int slot = 0; slot < horizontalCount; slot++) {
+            if (board.isWallSlotSet(slot)) {
+                drawWall(g, slot % boardSize, slot / boardSize, Direction.NORTH);
+            }
+        }
+        // Dessiner les murs verticaux : côté ouest de la colonne x, la colonne boardSize étant le bord est
+        for (int slot = horizontalCount; slot < board.getWallSlotCount(); slot++) {
+            var index = slot - horizontalCount;
+            if (board.isWallSlotSet(slot)) {
+                drawWall(g, index % (boardSize + 1), index / (boardSize + 1), Direction.WEST);
+            }
+        }
+    }
+
+    /**
+     * @param selected pion entouré d'une surbrillance, peut être null
+     */
+    public void drawPawns(Graphics2D g, Board board, Pawn selected) {
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        int pawnSize = cellSize / 2; // Taille du pion
+
+        for (int cell = 0; cell < board.getCellCount(); cell++) {
+            var pawn = board.getPawnAt(cell);
+            if (pawn == null) {
+                continue;
+            }
+            int pawnX = startX + board.cellX(cell) * cellSize + cellSize / 2 - pawnSize / 2;
+            int pawnY = startY + board.cellY(cell) * cellSize + cellSize / 2 - pawnSize / 2;
+
+            // Dessiner la surbrillance si ce pion est sélectionné
+            if (pawn == selected) {
+                g.setColor(Color.YELLOW);
+                g.fillOval(pawnX - OVERHANG, pawnY - OVERHANG, pawnSize + 2 * OVERHANG, pawnSize + 2 * OVERHANG);
+            }
+
+            // Dessiner le pion comme un cercle, avec un contour noir
+            g.setColor(PLAYER_COLORS[pawn.getPlayerId()]);
+            g.fillOval(pawnX, pawnY, pawnSize, pawnSize);
+            g.setColor(Color.BLACK);
+            g.drawOval(pawnX, pawnY, pawnSize, pawnSize);
+        }
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_DEFAULT);
+    }
+
+    private void drawWall(Graphics g, int x, int y, Direction direction) {
+        var thickness = 2 * OVERHANG;
+        switch (direction) {
+            case NORTH -> g.fillRect(startX + x * cellSize, startY + y * cellSize - OVERHANG, cellSize + 1, thickness);
+            case SOUTH -> g.fillRect(startX + x * cellSize, startY + (y + 1) * cellSize - OVERHANG, cellSize + 1, thickness);
+            case WEST -> g.fillRect(startX + x * cellSize - OVERHANG, startY + y * cellSize, thickness, cellSize + 1);
+            case EAST -> g.fillRect(startX + (x + 1) * cellSize - OVERHANG, startY + y * cellSize, thickness, cellSize + 1);
+        }
+    }
+
+    /**
+     * Reçoit les miniatures de {@link #renderAll}. L'image est réutilisée pour la miniature suivante du même
+     * thread : elle doit être écrite ou copiée avant de rendre la main.
+     */
+    @FunctionalInterface
+    public interface ThumbnailSink {
+        void accept(int index, BufferedImage image) throws IOException;
+    }
+
+    /**
+     * Dessine des miniatures de parties en parallèle. Chaque thread dessine dans une seule image, réutilisée
+     * d'une partie à l'autre : la mémoire utilisée ne dépend pas du nombre de parties.
+     * @param count nombre de parties
+     * @param games donne la partie d'un index, appelée par plusieurs threads à la fois
+     * @param size côté des miniatures, en pixels
+     * @param threads nombre de threads de dessin
+     * @param sink reçoit chaque miniature, depuis le thread qui l'a dessinée
+     */
+    public static void renderAll(int count, IntFunction<Game> games, int size, int threads, ThumbnailSink sink) {
+        Objects.requireNonNull(games, "Games cannot be null");
+        Objects.requireNonNull(sink, "Sink cannot be null");
+        if (count < 0 || size < 1 || threads < 1) {
+            throw new IllegalArgumentException("Le nombre de parties, la taille et le nombre de threads doivent être positifs.");
+        }
+        var next = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<Void>>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    var renderer = new BoardRenderer();
+                    var image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+                    var g = image.createGraphics();
+                    try {
+                        for (int i = next.getAndIncrement(); i < count && !Thread.currentThread().isInterrupted(); i = next.getAndIncrement()) {
+                            renderer.render(g, games.apply(i), size, size);
+                            sink.accept(i, image);
+                        }
+                    } finally {
+                        g.dispose();
+                    }
+                    return null;
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rendu des miniatures interrompu", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur pendant le rendu des miniatures", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Écrit une miniature PNG de chaque partie d'une archive
+     * @param args archive ({@link GameArchive}), dossier de sortie, côté des miniatures (256 par défaut)
+     */
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length < 2) {
+            System.err.println("Usage: BoardRenderer <archive> <dossier> [taille]");
+            return;
+        }
+        var directory = Path.of(args[1]);
+        Files.createDirectories(directory);
+        var size = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+        try (var archive = GameArchive.open(Path.of(args[0]))) {
+            renderAll(archive.size(), archive::game, size, Runtime.getRuntime().availableProcessors(), (index, image) ->
+                    ImageIO.write(image, "png", directory.resolve(String.format("partie-%06d.png", index)).toFile()));
+            System.out.println(archive.size() + " miniatures écrites dans " + directory);
+        }
+    }
+}
@@ -1,35 +1,69 @@
 package api.graphic;
 
+import ai.VoronoiEvaluator;
 import exception.OutOfBoardException;
 import model.*;
 import util.GameFactory;
+import util.GameSerializer;
 
+import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.awt.image.VolatileImage;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
 public class GameWindow extends JFrame {
 
     private MainWindow mainWindow;
-    private static final Color[] PLAYER_COLORS = {Color.BLUE, Color.RED, Color.GREEN, Color.YELLOW};
     private JPanel gamePanel;
+    private BoardPanel boardPanel;
     private JEditorPane infoTextArea;
+    private String infoText;
     private final Game game;
-    private ImageIcon backgroundTexture;
-    private ImageIcon backgroundImage;
+    private final GameEngine engine;
+    // Images mises à l'échelle du plateau et du panneau, hors du thread de Swing
+    private ScaledImageCache backgroundTexture;
+    private ScaledImageCache backgroundImage;
     private Pawn selectedPawn = null;
     private SubPlayerAction currentAction = SubPlayerAction.PLACE_PAWN;
     private int currentMovedCells = 0;
+    // Tour en cours de saisie : l'aperçu est affiché sur le plateau, puis annulé avant de jouer le tour
+    private int turnStartCell = -1;
+    private final int[] turnSteps = new int[Turn.MAX_STEPS];
+    private int turnBreakAt = Turn.NONE;
+    private int turnBreakCell;
+    private int turnBreakDirection;
     private JButton specialButton;
     private JButton restartButton;
+    private final VoronoiEvaluator projection = new VoronoiEvaluator();
+    private final int[] projectedScores = new int[Board.MAX_PLAYERS];
 
     public GameWindow(Game game, MainWindow mainWindow) {
+        this(game, mainWindow, new GameEngine(game, MainWindow.journal()));
+    }
+
+    /**
+     * Reprend une partie reconstruite par le journal après un arrêt brutal
+     * @param journalId identifiant de la partie dans le journal
+     */
+    public GameWindow(Game game, MainWindow mainWindow, long journalId) {
+        this(game, mainWindow, new GameEngine(game, MainWindow.journal(), journalId));
+    }
+
+    private GameWindow(Game game, MainWindow mainWindow, GameEngine engine) {
         this.game = game;
+        this.engine = engine;
         this.mainWindow = mainWindow;
+        if (game.isStarted()) {
+            currentAction = SubPlayerAction.SELECT_PAWN; // Partie reprise depuis une sauvegarde
+        }
         loadTexture();
         initializeWindow();
         createGameArea();
@@ -39,18 +73,6 @@ public class GameWindow extends JFrame {
         setVisible(true);
         setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
 
-
-        addComponentListener(new java.awt.event.ComponentAdapter() {
-            public void componentResized(java.awt.event.ComponentEvent evt) {
-                SwingUtilities.invokeLater(() -> {
-                    if (gamePanel != null) {
-                        gamePanel.revalidate();
-                        gamePanel.repaint();
-                    }
-                });
-            }
-        });
-
         addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
@@ -70,10 +92,14 @@ public class GameWindow extends JFrame {
     private class BoardPanel extends JPanel {
 
         private int MARGIN = 25;
-        private int boardSize;
-        private int cellSize;
-        private int startX;
-        private int startY;
+        private final BoardRenderer renderer = new BoardRenderer();
+        // Calques dessinés hors écran : fond, texture et grille, puis murs
+        private final Layer staticLayer = new Layer(Transparency.OPAQUE, this::drawStaticLayer);
+        private final Layer wallLayer = new Layer(Transparency.TRANSLUCENT, g -> renderer.drawWalls(g, game.getBoard()));
+        // Plateau tel qu'il est affiché, pour ne redessiner que ce qui change
+        private Pawn[] shownPawns;
+        private Pawn shownSelection;
+        private final BitSet shownWalls = new BitSet();
 
         public BoardPanel() {
             setOpaque(true);
@@ -88,156 +114,156 @@ public class GameWindow extends JFrame {
             });
         }
 
-        private void setBoardSize(int size) {
-            this.boardSize = size;
-        }
-        private void setCellSize(int size) {
-            this.cellSize = size;
-        }
-        private void setStartX(int startX) {
-            this.startX = startX;
-        }
-        private void setStartY(int startY) {
-            this.startY = startY;
-        }
-
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-
-            if (backgroundImage != null) {
-                g.drawImage(backgroundImage.getImage(), 0, 0, getWidth(), getHeight(), this);
-            } else {
-                setBackground(Color.WHITE);
+        /**
+         * Compare le plateau à ce qui est affiché et redessine seulement les cases et les murs qui ont changé.
+         * Le plateau entier est redessiné s'il n'a pas encore été affiché.
+         */
+        private void repaintChanges() {
+            var board = game.getBoard();
+            if (shownPawns == null || shownPawns.length != board.getCellCount() || renderer.getBoardSize() != board.SIZE) {
+                rememberShownBoard();
+                repaint();
+                return;
             }
-
-            setBoardSize(game.getBoard().SIZE);
-
-            // Calculer la taille disponible après les marges
-            int availableWidth = getWidth() - 2 * MARGIN;
-            int availableHeight = getHeight() - 2 * MARGIN;
-
-            setCellSize(Math.min(availableWidth / boardSize, availableHeight / boardSize));
-
-            // Centrer le plateau dans l'espace disponible (avec marges)
-            int boardPixelSize = boardSize * cellSize;
-            setStartX(MARGIN + (availableWidth - boardPixelSize) / 2);
-            setStartY(MARGIN + (availableHeight - boardPixelSize) / 2);
-
-            // Dessiner la texture de fond
-            if (backgroundTexture != null) {
-                g.drawImage(backgroundTexture.getImage(), startX, startY, boardPixelSize, boardPixelSize, this);
+            var boardSize = renderer.getBoardSize();
+            var cellSize = renderer.getCellSize();
+            var startX = renderer.getStartX();
+            var startY = renderer.getStartY();
+            // Le pion sélectionné et les murs débordent de la case
+            var overhang = BoardRenderer.OVERHANG + 1;
+            for (int cell = 0; cell < shownPawns.length; cell++) {
+                var pawn = board.getPawnAt(cell);
+                var shown = shownPawns[cell];
+                if (pawn != shown || (pawn != null && (pawn == selectedPawn) != (pawn == shownSelection))) {
+                    var x = board.cellX(cell);
+                    var y = board.cellY(cell);
+                    repaint(startX + x * cellSize - overhang, startY + y * cellSize - overhang, cellSize + 2 * overhang + 1, cellSize + 2 * overhang + 1);
+                    shownPawns[cell] = pawn;
+                }
             }
-
-            // Dessiner la grille
-            drawGrid(g, boardPixelSize);
-
-            // Dessiner les murs
-            drawWalls(g);
-
-            //dessiner les pions
-            drawPawns(g);
+            var horizontalCount = boardSize * (boardSize + 1);
+            for (int slot = 0; slot < board.getWallSlotCount(); slot++) {
+                var wall = board.isWallSlotSet(slot);
+                if (wall != shownWalls.get(slot)) {
+                    if (slot < horizontalCount) {
+                        var x = slot % boardSize;
+                        var y = slot / boardSize;
+                        repaint(startX + x * cellSize - overhang, startY + y * cellSize - overhang, cellSize + 2 * overhang + 1, 2 * overhang + 1);
+                    } else {
+                        var x = (slot - horizontalCount) % (boardSize + 1);
+                        var y = (slot - horizontalCount) / (boardSize + 1);
+                        repaint(startX + x * cellSize - overhang, startY + y * cellSize - overhang, 2 * overhang + 1, cellSize + 2 * overhang + 1);
+                    }
+                    shownWalls.set(slot, wall);
+                }
+            }
+            shownSelection = selectedPawn;
         }
 
-        private void drawGrid(Graphics g, int boardPixelSize) {
-            g.setColor(Color.GRAY);
-            for (int i = 0; i <= boardSize; i++) {
-                g.drawLine(startX + i * cellSize, startY, startX + i * cellSize, startY + boardPixelSize);
-                g.drawLine(startX, startY + i * cellSize, startX + boardPixelSize, startY + i * cellSize);
+        private void rememberShownBoard() {
+            var board = game.getBoard();
+            shownPawns = new Pawn[board.getCellCount()];
+            for (int cell = 0; cell < shownPawns.length; cell++) {
+                shownPawns[cell] = board.getPawnAt(cell);
+            }
+            shownWalls.clear();
+            for (int slot = 0; slot < board.getWallSlotCount(); slot++) {
+                shownWalls.set(slot, board.isWallSlotSet(slot));
             }
+            shownSelection = selectedPawn;
         }
 
-        private void drawWalls(Graphics g) {
-            g.setColor(Color.BLACK);
-            // Dessiner les murs horizontaux
-            for (int x = 0; x < boardSize; x++) {
-                for (int y = 0; y < boardSize; y++) {
-                    if (game.getBoard().isWallAt(new Position(x, y), Direction.NORTH)) {
-                        drawWall(g, new Position(x, y), Direction.NORTH);
-                    }
-
-                    if (y == boardSize - 1 && game.getBoard().isWallAt(new Position(x, y), Direction.SOUTH)) {
-                        drawWall(g, new Position(x, y), Direction.SOUTH);
-                    }
-                }
+        /**
+         * Calque de la taille du panneau, gardé dans une image accélérée. Il n'est redessiné que si sa clé
+         * change, si le panneau change de taille ou si le contenu de l'image a été perdu.
+         */
+        private final class Layer {
+            private final int transparency;
+            private final java.util.function.Consumer<Graphics2D> painter;
+            private VolatileImage image;
+            private long key;
+
+            private Layer(int transparency, java.util.function.Consumer<Graphics2D> painter) {
+                this.transparency = transparency;
+                this.painter = painter;
             }
-            // Dessiner les murs verticaux
-            for (int x = 0; x < boardSize; x++) {
-                for (int y = 0; y < boardSize; y++) {
-                    if (game.getBoard().isWallAt(new Position(x, y), Direction.WEST)) {
-                        drawWall(g, new Position(x, y), Direction.WEST);
-                    }
 
-                    if (x == boardSize - 1 && game.getBoard().isWallAt(new Position(x, y), Direction.EAST)) {
-                        drawWall(g, new Position(x, y), Direction.EAST);
+            private void paint(Graphics g, long key) {
+                var configuration = getGraphicsConfiguration();
+                do {
+                    var stale = key != this.key;
+                    var status = image == null || image.getWidth() != getWidth() || image.getHeight() != getHeight()
+                            ? VolatileImage.IMAGE_INCOMPATIBLE : image.validate(configuration);
+                    if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                        if (image != null) {
+                            image.flush();
+                        }
+                        image = configuration.createCompatibleVolatileImage(getWidth(), getHeight(), transparency);
+                        stale = true;
+                    } else if (status == VolatileImage.IMAGE_RESTORED) {
+                        stale = true;
                     }
-                }
+                    if (stale) {
+                        var g2d = image.createGraphics();
+                        try {
+                            g2d.setComposite(AlphaComposite.Clear);
+                            g2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+                            g2d.setComposite(AlphaComposite.SrcOver);
+                            painter.accept(g2d);
+                        } finally {
+                            g2d.dispose();
+                        }
+                        this.key = key;
+                    }
+                    g.drawImage(image, 0, 0, null);
+                } while (image.contentsLost());
             }
         }
 
-        private void drawPawns(Graphics g) {
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-            int pawnSize = cellSize / 2; // Taille du pion
-
-            for (int playerIndex = 0; playerIndex < game.getPlayers().size(); playerIndex++) {
-                Player player = game.getPlayers().get(playerIndex);
-                Color playerColor = PLAYER_COLORS[playerIndex];
-
-                for (Pawn pawn : player.getPawns()) {
-                    Position pos;
-                    try {
-                        pos = pawn.getPosition();
-                    } catch (IllegalStateException e) {
-                        // Pion non placé sur le plateau
-                        continue;
-                    }
-
-                    int pawnX = startX + pos.getX() * cellSize + cellSize / 2 - pawnSize / 2;
-                    int pawnY = startY + pos.getY() * cellSize + cellSize / 2 - pawnSize / 2;
-
-                    // Dessiner la surbrillance si ce pion est sélectionné
-
-                    if (pawn == selectedPawn) {
-                        g2d.setColor(Color.YELLOW);
-                        g2d.fillOval(pawnX - 3, pawnY - 3, pawnSize + 6, pawnSize + 6);
-                    }
+        @Override
+        protected void paintComponent(Graphics g) {
+            if (getWidth() <= 0 || getHeight() <= 0) {
+                return;
+            }
+            var board = game.getBoard();
+            renderer.layout(board.SIZE, getWidth(), getHeight(), MARGIN);
+            var boardSize = renderer.getBoardSize();
 
-                    // Dessiner le pion comme un cercle
+            // La taille du panneau est vérifiée par les calques, la taille du plateau fait partie de leur clé.
+            // Le calque statique est redessiné quand une image mise à l'échelle arrive.
+            staticLayer.paint(g, boardSize | (long) imageVersion(backgroundImage) << 16 | (long) imageVersion(backgroundTexture) << 40);
+            wallLayer.paint(g, board.getWallKey() ^ boardSize);
 
-                    g2d.setColor(playerColor);
-                    g2d.fillOval(pawnX, pawnY, pawnSize, pawnSize);
+            //dessiner les pions
+            renderer.drawPawns((Graphics2D) g, board, selectedPawn);
+        }
 
-                    // Contour noir
-                    g2d.setColor(Color.BLACK);
-                    g2d.drawOval(pawnX, pawnY, pawnSize, pawnSize);
+        private static int imageVersion(ScaledImageCache image) {
+            return image == null ? 0 : image.getVersion();
+        }
 
-                }
+        private void drawStaticLayer(Graphics2D g) {
+            if (backgroundImage != null) {
+                g.drawImage(backgroundImage.get(getWidth(), getHeight()), 0, 0, getWidth(), getHeight(), this);
+            } else {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, getWidth(), getHeight());
             }
-        }
 
-        private void drawWall(Graphics g, Position position, Direction direction){
-            switch (direction) {
-                case NORTH:
-                    g.fillRect(startX + position.getX() * cellSize, startY + position.getY() * cellSize - 3, cellSize + 1, 6);
-                    break;
-                case SOUTH:
-                    g.fillRect(startX + position.getX() * cellSize, startY + (position.getY() + 1) * cellSize - 3, cellSize + 1, 6);
-                    break;
-                case WEST:
-                    g.fillRect(startX + position.getX() * cellSize - 3, startY + position.getY() * cellSize, 6, cellSize + 1);
-                    break;
-                case EAST:
-                    g.fillRect(startX + (position.getX() + 1) * cellSize - 3, startY + position.getY() * cellSize, 6, cellSize + 1);
-                    break;
+            // Dessiner la texture de fond
+            int boardPixelSize = renderer.getBoardPixelSize();
+            if (backgroundTexture != null) {
+                g.drawImage(backgroundTexture.get(boardPixelSize, boardPixelSize), renderer.getStartX(), renderer.getStartY(), boardPixelSize, boardPixelSize, this);
             }
+
+            // Dessiner la grille
+            renderer.drawGrid(g);
         }
 
         private void handleMouseClick(int mouseX, int mouseY) {
             // Convertir les coordonnées de souris en position de grille
-            int gridX = (mouseX - startX) / cellSize;
-            int gridY = (mouseY - startY) / cellSize;
+            int gridX = (mouseX - renderer.getStartX()) / renderer.getCellSize();
+            int gridY = (mouseY - renderer.getStartY()) / renderer.getCellSize();
 
             var clickedPosition = new Position(gridX, gridY);
 
@@ -253,23 +279,24 @@ public class GameWindow extends JFrame {
         }
 
         private boolean isPositionValid(Position position) {
-            return position.getX() >= 0 && position.getX() < boardSize &&
-                   position.getY() >= 0 && position.getY() < boardSize;
+            return position.getX() >= 0 && position.getX() < renderer.getBoardSize() &&
+                   position.getY() >= 0 && position.getY() < renderer.getBoardSize();
         }
 
 
     }
 
     private void loadTexture() {
+        Runnable repaintBoard = () -> gamePanel.repaint();
         try {
-            backgroundTexture = new ImageIcon(Objects.requireNonNull(getClass().getResource("/bois.jpg")));
+            backgroundTexture = new ScaledImageCache(ImageIO.read(Objects.requireNonNull(getClass().getResource("/bois.jpg"))), repaintBoard);
         } catch (Exception e) {
             System.err.println("Impossible de charger l'image de texture: " + e.getMessage());
             backgroundTexture = null;
         }
 
         try {
-            backgroundImage = new ImageIcon(getClass().getResource("/death_room.PNG"));
+            backgroundImage = new ScaledImageCache(ImageIO.read(Objects.requireNonNull(getClass().getResource("/death_room.PNG"))), repaintBoard);
         } catch (Exception e) {
             System.err.println("Impossible de charger l'image d'arrière-plan: " + e.getMessage());
             backgroundImage = null;
@@ -282,15 +309,6 @@ public class GameWindow extends JFrame {
         setSize(800, 600);
         setLocationRelativeTo(null);
         setLayout(new BorderLayout());
-
-        // Redessiner le plateau quand la fenêtre est redimensionnée
-        addComponentListener(new java.awt.event.ComponentAdapter() {
-            public void componentResized(java.awt.event.ComponentEvent evt) {
-                if (gamePanel != null) {
-                    setupBoardDisplay();
-                }
-            }
-        });
     }
 
     private void createGameArea() {
@@ -325,16 +343,27 @@ public class GameWindow extends JFrame {
      * @return La couleur hexadécimale au format #RRGGBB.
      */
     private String getColorHex(int playerIndex) {
-        Color color = PLAYER_COLORS[playerIndex];
+        Color color = BoardRenderer.PLAYER_COLORS[playerIndex];
         return String.format("#%02x%02x%02x", color.getRed(), color.getGreen(), color.getBlue());
     }
 
     /**
-     * Actualise la fenêtre en mettant à jour l'affichage des informations et en redessinant le plateau de jeu.
+     * Actualise la fenêtre en mettant à jour l'affichage des informations et en redessinant les cases et les
+     * murs du plateau qui ont changé.
      */
     private void refreshWindow() {
         updateInfoDisplay();
-        repaint();
+        boardPanel.repaintChanges();
+    }
+
+    /**
+     * Remplace le texte du panneau d'informations seulement s'il a changé : le rendu HTML est coûteux.
+     */
+    private void setInfoText(String text) {
+        if (!text.equals(infoText)) {
+            infoText = text;
+            infoTextArea.setText(text);
+        }
     }
 
     /**
@@ -366,14 +395,14 @@ public class GameWindow extends JFrame {
             info.append("</font></p>");
         }
         info.append("</body></html>");
-        infoTextArea.setText(info.toString());
+        setInfoText(info.toString());
     }
 
     private void updateInfoDisplayGameStarted() {
         StringBuilder info = new StringBuilder();
         var currentPlayer = game.getCurrentPlayerIndex();
         Player currentPlayerObj = game.getPlayers().get(currentPlayer);
-        var isVisible = !currentPlayerObj.isCapacityUsed() &&
+        var isVisible = !currentPlayerObj.isCapacityUsed() && turnBreakAt == Turn.NONE &&
                 (currentAction == SubPlayerAction.MOVE_PAWN || currentAction == SubPlayerAction.PLACE_WALL);
         specialButton.setVisible(isVisible);
         info.append("<html><head><style>");
@@ -390,17 +419,19 @@ public class GameWindow extends JFrame {
         info.append(getCurrentActionMessage()).append(".</p><br>");
 
         info.append("<h3>JOUEURS</h3>");
+        projection.estimate(game.getBoard(), projectedScores);
         for (int i = 0; i < game.getPlayers().size(); i++) {
             info.append("<p><font color='").append(getColorHex(i)).append("'>");
             info.append("<b>Joueur ").append(i + 1).append(" (").append(game.getPlayers().get(i).getName()).append(")</b><br>");
             info.append("Score: ").append(game.getScores().get(game.getPlayers().get(i))).append("<br>"); // Placeholder pour le score
+            info.append("Score projeté: ").append(projectedScores[game.getPlayers().get(i).getId()]).append("<br>");
             info.append("Capacité spéciale: ");
             info.append(game.getPlayers().get(i).isCapacityUsed() ? "Utilisée" : "Disponible");
             info.append("</font></p>");
         }
         info.append("</body></html>");
 
-        infoTextArea.setText(info.toString());
+        setInfoText(info.toString());
     }
 
     private void updateInfoDisplayGameOver() {
@@ -417,15 +448,19 @@ public class GameWindow extends JFrame {
             info.append(game.getScores().get(game.getPlayers().get(i))).append("</font></p>");
         }
         info.append("</body></html>");
-        infoTextArea.setText(info.toString());
+        setInfoText(info.toString());
     }
 
     private void switchRestartButtons() {
+        if (restartButton.isVisible()) {
+            return;
+        }
         specialButton.setVisible(false);
         Container parent = specialButton.getParent();
         parent.remove(specialButton);
         parent.add(restartButton, BorderLayout.SOUTH);
         restartButton.setVisible(true);
+        parent.revalidate();
     }
 
     private void switchCapacityButtons() {
@@ -434,13 +469,17 @@ public class GameWindow extends JFrame {
         parent.remove(restartButton);
         parent.add(specialButton, BorderLayout.SOUTH);
         specialButton.setVisible(true);
+        parent.revalidate();
     }
 
+    /**
+     * Crée le panneau du plateau, une seule fois : au redimensionnement, seuls ses calques hors écran sont redessinés
+     */
     private void setupBoardDisplay(){
         gamePanel.removeAll();
         gamePanel.setLayout(new BorderLayout());
 
-        BoardPanel boardPanel = new BoardPanel();
+        boardPanel = new BoardPanel();
         gamePanel.add(boardPanel, BorderLayout.CENTER);
         gamePanel.repaint();
     }
@@ -494,6 +533,8 @@ public class GameWindow extends JFrame {
                         // Verifier si le joueur peut jouer ce pion
                         if (game.getBoard().isPawnCanPlaceWall(pawnClicked)){
                             selectedPawn = pawnClicked;
+                            turnStartCell = game.getBoard().cellIndex(pawnClicked.getPosition());
+                            turnBreakAt = Turn.NONE;
                             nextSubAction();
                         };
 
@@ -505,7 +546,8 @@ public class GameWindow extends JFrame {
                 if (!cellClicked.isOccuped()){
                     // calculer la distance de cette case par rapport au pion sélectionné
                     if (game.getBoard().isPawnCanMoveTo(selectedPawn, clickedPosition, currentMovedCells)) {
-                        // Déplacer le pion à la nouvelle position
+                        recordPath(game.getBoard().cellIndex(selectedPawn.getPosition()), game.getBoard().cellIndex(clickedPosition));
+                        // Déplacer le pion à la nouvelle position (aperçu)
                         var optionalPawn = game.getBoard().removePawnAt(selectedPawn.getPosition());
                         if (optionalPawn.isEmpty()) {
                             throw new IllegalStateException("Aucun pion trouvé à la position sélectionnée: " + selectedPawn.getPosition());
@@ -531,45 +573,21 @@ public class GameWindow extends JFrame {
             }
 
             case PLACE_WALL -> {
-                //calculer le delta entre la position du pion sélectionné et la position cliquée
                 var currentPosition = selectedPawn.getPosition();
-                int deltaX = clickedPosition.getX() - currentPosition.getX();
-                int deltaY = clickedPosition.getY() - currentPosition.getY();
-
-                var canPlaceWall = false;
-                if (deltaX > 0){
-                    // Déplacement vers l'est
-                    if (game.getBoard().placeWall(currentPosition, Direction.EAST)) {
-                        canPlaceWall = true;
-                    } else {
-                        JOptionPane.showMessageDialog(this, "Impossible de placer le mur à l'est.", "Erreur de placement", JOptionPane.ERROR_MESSAGE);
-                    }
-                } else if (deltaX < 0) {
-                    // Déplacement vers l'ouest
-                    if (game.getBoard().placeWall(currentPosition, Direction.WEST)) {
-                        canPlaceWall = true;
-                    } else {
-                        JOptionPane.showMessageDialog(this, "Impossible de placer le mur à l'ouest.", "Erreur de placement", JOptionPane.ERROR_MESSAGE);
-                    }
-                } else if (deltaY > 0) {
-                    // Déplacement vers le sud
-                    if (game.getBoard().placeWall(currentPosition, Direction.SOUTH)) {
-                        canPlaceWall = true;
-                    } else {
-                        JOptionPane.showMessageDialog(this, "Impossible de placer le mur au sud.", "Erreur de placement", JOptionPane.ERROR_MESSAGE);
-                    }
-                } else if (deltaY < 0) {
-                    // Déplacement vers le nord
-                    if (game.getBoard().placeWall(currentPosition, Direction.NORTH)) {
-                        canPlaceWall = true;
-                    } else {
-                        JOptionPane.showMessageDialog(this, "Impossible de placer le mur au nord.", "Erreur de placement", JOptionPane.ERROR_MESSAGE);
-                    }
+                var direction = directionTowards(currentPosition, clickedPosition);
+                if (direction == null) {
+                    return;
+                }
+                if (game.getBoard().isWallAt(currentPosition, direction)) {
+                    JOptionPane.showMessageDialog(this, "Impossible de placer le mur " + directionName(direction) + ".", "Erreur de placement", JOptionPane.ERROR_MESSAGE);
+                    return;
                 }
 
-                if (canPlaceWall) {
-                    nextSubAction();
+                var result = playPendingTurn(direction);
+                if (!result.isOk()) {
+                    JOptionPane.showMessageDialog(this, result.getMessage(), "Erreur de placement", JOptionPane.ERROR_MESSAGE);
                 }
+                nextSubAction();
                 if (game.isGameOver()){
                     updateInfoDisplayGameOver();
                     JOptionPane.showMessageDialog(this, "Le joueur " + currentPlayer.getName() + " a gagné !", "Partie terminée", JOptionPane.INFORMATION_MESSAGE);
@@ -578,48 +596,105 @@ public class GameWindow extends JFrame {
 
             case DELETE_WALL -> {
                 var currentPosition = selectedPawn.getPosition();
-                int deltaX = clickedPosition.getX() - currentPosition.getX();
-                int deltaY = clickedPosition.getY() - currentPosition.getY();
-
-                var canRemoveWall = false;
-                if (deltaX > 0){
-                    // Déplacement vers l'est
-                    if (game.getBoard().removeWall(currentPosition, Direction.EAST)) {
-                        canRemoveWall = true;
-                    } else {
-                        JOptionPane.showMessageDialog(this, "Impossible de placer le mur à l'est.", "Erreur de placement", JOptionPane.ERROR_MESSAGE);
-                    }
-                } else if (deltaX < 0) {
-                    // Déplacement vers l'ouest
-                    if (game.getBoard().removeWall(currentPosition, Direction.WEST)) {
-                        canRemoveWall = true;
-                    } else {
-                        JOptionPane.showMessageDialog(this, "Impossible de placer le mur à l'ouest.", "Erreur de placement", JOptionPane.ERROR_MESSAGE);
-                    }
-                } else if (deltaY > 0) {
-                    // Déplacement vers le sud
-                    if (game.getBoard().removeWall(currentPosition, Direction.SOUTH)) {
-                        canRemoveWall = true;
-                    } else {
-                        JOptionPane.showMessageDialog(this, "Impossible de placer le mur au sud.", "Erreur de placement", JOptionPane.ERROR_MESSAGE);
-                    }
-                } else if (deltaY < 0) {
-                    // Déplacement vers le nord
-                    if (game.getBoard().removeWall(currentPosition, Direction.NORTH)) {
-                        canRemoveWall = true;
-                    } else {
-                        JOptionPane.showMessageDialog(this, "Impossible de placer le mur au nord.", "Erreur de placement", JOptionPane.ERROR_MESSAGE);
-                    }
+                var direction = directionTowards(currentPosition, clickedPosition);
+                if (direction == null) {
+                    return;
                 }
-
-                if (canRemoveWall) {
-                    currentPlayer.useCapacity();
+                var cell = game.getBoard().cellIndex(currentPosition);
+                // Seuls les murs intérieurs peuvent être cassés
+                if (game.getBoard().neighbour(cell, direction.ordinal()) != NeighbourTable.NONE
+                        && game.getBoard().removeWall(cell, direction.ordinal())) {
+                    turnBreakAt = currentMovedCells;
+                    turnBreakCell = cell;
+                    turnBreakDirection = direction.ordinal();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Impossible de supprimer le mur " + directionName(direction) + ".", "Erreur de placement", JOptionPane.ERROR_MESSAGE);
                 }
                 nextSubAction();
             }
         }
     }
 
+    /**
+     * @return la direction d'une case voisine cliquée par rapport au pion, null si le clic est sur le pion
+     */
+    private static Direction directionTowards(Position from, Position to) {
+        int deltaX = to.getX() - from.getX();
+        int deltaY = to.getY() - from.getY();
+        if (deltaX > 0) {
+            return Direction.EAST;
+        } else if (deltaX < 0) {
+            return Direction.WEST;
+        } else if (deltaY > 0) {
+            return Direction.SOUTH;
+        } else if (deltaY < 0) {
+            return Direction.NORTH;
+        }
+        return null;
+    }
+
+    private static String directionName(Direction direction) {
+        return switch (direction) {
+            case NORTH -> "au nord";
+            case SOUTH -> "au sud";
+            case EAST -> "à l'est";
+            case WEST -> "à l'ouest";
+        };
+    }
+
+    /**
+     * Enregistre les pas du chemin le plus court entre deux cases distantes d'une ou deux cases
+     */
+    private void recordPath(int from, int to) {
+        var board = game.getBoard();
+        for (int first = 0; first < Direction.COUNT; first++) {
+            if (!board.canStep(from, first)) {
+                continue;
+            }
+            var middle = board.neighbour(from, first);
+            if (middle == to) {
+                turnSteps[currentMovedCells] = first;
+                return;
+            }
+            for (int second = 0; second < Direction.COUNT; second++) {
+                if (board.neighbour(middle, second) == to && board.canStep(middle, second)) {
+                    turnSteps[currentMovedCells] = first;
+                    turnSteps[currentMovedCells + 1] = second;
+                    return;
+                }
+            }
+        }
+        throw new IllegalStateException("Aucun chemin vers la case cliquée: " + board.getPositionAt(to));
+    }
+
+    /**
+     * Annule l'aperçu du tour saisi sur le plateau puis joue le tour complet avec le moteur
+     * @param wall côté de la case d'arrivée où poser le mur
+     * @return le résultat du tour
+     */
+    private TurnResult playPendingTurn(Direction wall) {
+        var board = game.getBoard();
+        var turn = Turn.of(selectedPawn.getId(), currentMovedCells, turnSteps[0], turnSteps[1], wall.ordinal());
+        if (turnBreakAt != Turn.NONE) {
+            turn = Turn.withBreak(turn, turnBreakAt, turnBreakDirection);
+        }
+
+        revertPreview();
+        return engine.play(turn);
+    }
+
+    /**
+     * Remet le pion sélectionné sur sa case de départ et le mur cassé en place
+     */
+    private void revertPreview() {
+        var board = game.getBoard();
+        var pawn = board.removePawnAt(board.cellIndex(selectedPawn.getPosition()));
+        board.placePawnAt(pawn, turnStartCell);
+        if (turnBreakAt != Turn.NONE) {
+            board.placeWall(turnBreakCell, turnBreakDirection);
+        }
+    }
+
     private void nextSubAction() {
         switch (currentAction) {
             case PLACE_PAWN:
@@ -639,10 +714,12 @@ public class GameWindow extends JFrame {
                 currentAction = SubPlayerAction.PLACE_WALL;
                 break;
             case PLACE_WALL:
+                // Le tour a été joué par le moteur, qui est passé au joueur suivant
                 currentAction = SubPlayerAction.SELECT_PAWN;
                 selectedPawn = null;
                 currentMovedCells = 0;
-                game.nextPlayer();
+                turnStartCell = -1;
+                turnBreakAt = Turn.NONE;
                 break;
         }
         refreshWindow();
@@ -667,7 +744,10 @@ public class GameWindow extends JFrame {
     }
 
     private void restartGame() {
+        engine.closeJournal();
         game.reset();
+        turnStartCell = -1;
+        turnBreakAt = Turn.NONE;
         switchCapacityButtons();
         refreshWindow();
     }
@@ -685,11 +765,32 @@ public class GameWindow extends JFrame {
         );
 
         if (option == JOptionPane.YES_OPTION) {
+            saveGame();
+            engine.closeJournal();
             this.dispose(); // Fermer la fenêtre de jeu
             mainWindow.showMainWindow(); // Réafficher le menu principal
         }
     }
 
+    /**
+     * Sauvegarde la partie pour le bouton "Continuer", sans le tour en cours de saisie.
+     * Une partie terminée n'est pas sauvegardée et remplace la sauvegarde précédente.
+     */
+    private void saveGame() {
+        if (turnStartCell != -1) {
+            revertPreview();
+        }
+        try {
+            if (game.isGameOver()) {
+                Files.deleteIfExists(GameSerializer.DEFAULT_SAVE);
+            } else {
+                GameSerializer.save(game, GameSerializer.DEFAULT_SAVE);
+            }
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Impossible de sauvegarder la partie : " + e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
             try {
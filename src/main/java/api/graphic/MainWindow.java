@@ -1,11 +1,25 @@
 package api.graphic;
 
 import model.Game;
+import util.GameSerializer;
+import util.TurnJournal;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
 
 public class MainWindow extends JFrame {
+
+    private static final String SAVED_GAME = "Dernière partie sauvegardée";
+
+    private static TurnJournal journal;
+    private static boolean journalOpened;
+    private static Map<Long, Game> recoveredGames;
     
     public MainWindow() {
         initializeWindow();
@@ -78,11 +92,92 @@ public class MainWindow extends JFrame {
     }
 
     
+    /**
+     * Ouvre au premier appel le journal des parties, qui reste ouvert jusqu'à la fin du programme
+     * @return le journal, null s'il n'a pas pu être ouvert
+     */
+    static synchronized TurnJournal journal() {
+        if (!journalOpened) {
+            journalOpened = true;
+            try {
+                journal = TurnJournal.open(TurnJournal.DEFAULT_PATH);
+                var opened = journal;
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        opened.close();
+                    } catch (IOException e) {
+                        System.err.println("Impossible de fermer le journal : " + e.getMessage());
+                    }
+                }));
+            } catch (IOException e) {
+                JOptionPane.showMessageDialog(null, "Les parties ne seront pas journalisées : " + e.getMessage(), "Journal", JOptionPane.WARNING_MESSAGE);
+            }
+        }
+        return journal;
+    }
+
+    /**
+     * Parties interrompues par un arrêt brutal et pas encore reprises. Elles sont retirées du journal au premier
+     * appel et restent disponibles jusqu'à la fin du programme.
+     * @return les parties par identifiant dans le journal, dans l'ordre de leur enregistrement
+     */
+    static synchronized Map<Long, Game> recoveredGames() {
+        if (recoveredGames == null) {
+            var journal = journal();
+            recoveredGames = journal == null ? new LinkedHashMap<>() : new LinkedHashMap<>(journal.takeRecoveredGames());
+        }
+        return recoveredGames;
+    }
+
     private void continueGame() {
-        JOptionPane.showMessageDialog(this, "C'est dans les back...");
-        // TODO: Implémenter la logique de continuation
+        // Le joueur choisit parmi les parties interrompues et la dernière partie sauvegardée
+        var recovered = recoveredGames();
+        var hasSave = Files.exists(GameSerializer.DEFAULT_SAVE);
+        if (!recovered.isEmpty()) {
+            var ids = new ArrayList<>(recovered.keySet());
+            var choices = new ArrayList<String>();
+            for (var id : ids) {
+                choices.add(describeRecovered(id, recovered.get(id)));
+            }
+            if (hasSave) {
+                choices.add(SAVED_GAME);
+            }
+            var choice = JOptionPane.showInputDialog(this, "Choisissez la partie à reprendre :", "Continuer",
+                    JOptionPane.QUESTION_MESSAGE, null, choices.toArray(), choices.get(0));
+            if (choice == null) {
+                return;
+            }
+            var index = choices.indexOf(choice);
+            if (index < ids.size()) {
+                var id = ids.get(index);
+                this.setVisible(false);
+                new GameWindow(recovered.remove(id), this, id);
+                return;
+            }
+        }
+        if (!hasSave) {
+            JOptionPane.showMessageDialog(this, "Aucune partie sauvegardée.", "Information", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        Game game;
+        try {
+            game = GameSerializer.load(GameSerializer.DEFAULT_SAVE);
+        } catch (IOException | IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(this, "Impossible de charger la partie : " + e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        this.setVisible(false);
+        new GameWindow(game, this);
     }
     
+    private static String describeRecovered(long id, Game game) {
+        var names = new StringJoiner(", ");
+        for (var player : game.getPlayers()) {
+            names.add(player.getName());
+        }
+        return "Partie interrompue #" + id + " : " + names + " (" + game.getHistorySize() + " tours)";
+    }
+
     private void showRules() {
         String rules = "Règles du Quoridor :\n\n" +
                       "Pour l'instant il faut check sur le readme\n" +
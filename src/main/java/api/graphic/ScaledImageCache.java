@@ -0,0 +1,108 @@
+package api.graphic;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copie d'une image mise à l'échelle d'une zone d'affichage, pour ne pas redimensionner l'image d'origine
+ * à chaque dessin.
+ * <p>
+ * Quand la taille demandée change, la nouvelle copie est calculée sur un thread d'arrière-plan une fois le
+ * redimensionnement terminé, c'est-à-dire après {@value #SETTLE_DELAY_MS} ms sans nouvelle taille. En
+ * attendant, {@link #get(int, int)} rend la copie précédente, que l'appelant étire à la taille voulue.
+ * Les méthodes sont appelées depuis le thread de Swing.
+ */
+final class ScaledImageCache {
+    static final int SETTLE_DELAY_MS = 150;
+    private static final ScheduledExecutorService SCALER = Executors.newSingleThreadScheduledExecutor(task -> {
+        var thread = new Thread(task, "image-scaler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final BufferedImage source;
+    private final Runnable onReady;
+    private BufferedImage scaled;
+    private int version;
+    private int requestedWidth;
+    private int requestedHeight;
+    private ScheduledFuture<?> pending;
+
+    /**
+     * @param source image d'origine
+     * @param onReady appelé sur le thread de Swing quand une nouvelle copie est prête, pour redessiner
+     */
+    ScaledImageCache(BufferedImage source, Runnable onReady) {
+        this.source = Objects.requireNonNull(source, "Image cannot be null");
+        this.onReady = Objects.requireNonNull(onReady, "Callback cannot be null");
+    }
+
+    /**
+     * @return la copie à la taille demandée si elle est prête, sinon la meilleure image disponible
+     */
+    Image get(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return source;
+        }
+        if (scaled != null && scaled.getWidth() == width && scaled.getHeight() == height) {
+            return scaled;
+        }
+        if (width != requestedWidth || height != requestedHeight) {
+            requestedWidth = width;
+            requestedHeight = height;
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            pending = SCALER.schedule(() -> {
+                var image = scale(source, width, height);
+                SwingUtilities.invokeLater(() -> {
+                    if (width == requestedWidth && height == requestedHeight) {
+                        scaled = image;
+                        version++;
+                        onReady.run();
+                    }
+                });
+            }, SETTLE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+        return scaled != null ? scaled : source;
+    }
+
+    /**
+     * @return un numéro qui change à chaque nouvelle copie
+     */
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * Réduit l'image par moitiés successives avant la dernière interpolation bilinéaire : une seule
+     * interpolation vers une taille beaucoup plus petite donnerait une image crénelée.
+     */
+    static BufferedImage scale(BufferedImage source, int width, int height) {
+        var type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        var current = source;
+        var currentWidth = source.getWidth();
+        var currentHeight = source.getHeight();
+        do {
+            currentWidth = currentWidth / 2 >= width ? currentWidth / 2 : width;
+            currentHeight = currentHeight / 2 >= height ? currentHeight / 2 : height;
+            var step = new BufferedImage(currentWidth, currentHeight, type);
+            var g = step.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+}
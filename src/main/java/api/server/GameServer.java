@@ -0,0 +1,347 @@
+package api.server;
+
+import util.TurnJournal;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serveur de parties en réseau local. Chaque connexion est servie par son propre thread virtuel, ce qui permet
+ * de tenir des dizaines de milliers de joueurs connectés avec un code bloquant simple ; les tours d'une même
+ * partie sont appliqués l'un après l'autre sous le verrou de la partie ({@link HostedGame}).
+ * <p>
+ * Protocole texte en UTF-8, une commande par ligne, une réponse par ligne ({@code OK ...} ou {@code ERR message}) :
+ * <pre>
+ * NEW &lt;joueurs&gt; &lt;nom&gt;   crée une partie et s'y installe      OK &lt;partie&gt; &lt;place&gt;
+ * JOIN &lt;partie&gt; &lt;nom&gt;    rejoint une partie                   OK &lt;partie&gt; &lt;place&gt;
+ * WAIT                   attend d'avoir la main               OK PLACE | OK PLAY | OK OVER &lt;scores...&gt;
+ * PLACE &lt;case&gt;           place le prochain pion, ex. "c4"     OK
+ * PLAY &lt;tour&gt;            joue un tour, ex. "a1E/S"            OK | ERR &lt;message&gt;
+ * STATE                  état de la partie                    OK &lt;joueur courant&gt; &lt;phase&gt; &lt;partie&gt;
+ * SPECTATE &lt;partie&gt;        suit une partie                      OK &lt;partie&gt;, puis les changements
+ * QUIT                   ferme la connexion                   OK
+ * </pre>
+ * Les cases et les tours s'écrivent avec {@link util.TurnNotation}, la partie renvoyée par STATE avec
+ * {@link util.GameRecordWriter}. Une partie est abandonnée quand un joueur se déconnecte avant la fin.
+ * <p>
+ * Après SPECTATE, la connexion ne reçoit plus que les lignes de diffusion de la partie, décrites dans
+ * {@link HostedGame}, jusqu'à la fin de la partie ou jusqu'à QUIT ; les autres commandes sont ignorées. Un
+ * spectateur trop lent ne ralentit pas la partie : il saute les changements perdus et reçoit une nouvelle
+ * image complète.
+ */
+public final class GameServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 7312;
+    /** Journal du serveur, séparé de celui des parties locales */
+    public static final Path JOURNAL_PATH = TurnJournal.DEFAULT_PATH.resolveSibling("serveur.journal");
+    private static final int BACKLOG = 4096;
+
+    private final int port;
+    private final TurnJournal journal;
+    private final ConcurrentHashMap<Long, HostedGame> games = new ConcurrentHashMap<>();
+    private final AtomicLong nextGameId = new AtomicLong(1);
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+    private Thread acceptor;
+
+    /**
+     * @param port port d'écoute, 0 pour un port libre
+     * @param journal journal des tours joués, peut être null
+     */
+    public GameServer(int port, TurnJournal journal) {
+        if (port < 0 || port > 0xFFFF) {
+            throw new IllegalArgumentException("Port invalide: " + port);
+        }
+        this.port = port;
+        this.journal = journal;
+    }
+
+    /**
+     * Ouvre le port d'écoute et accepte les connexions en arrière-plan
+     */
+    public void start() throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Server already started");
+        }
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        acceptor = new Thread(this::acceptLoop, "quoridor-server");
+        acceptor.start();
+    }
+
+    /**
+     * @return le port d'écoute effectif
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return le nombre de parties hébergées
+     */
+    public int getGameCount() {
+        return games.size();
+    }
+
+    /**
+     * @return le nombre de connexions ouvertes, joueurs et spectateurs
+     */
+    public int getConnectionCount() {
+        return sockets.size();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                var socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                sessions.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                System.err.println("Connexion refusée: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Connexion d'un joueur : sa partie et sa place
+     */
+    private static final class Session {
+        private HostedGame game;
+        private int seat;
+        private HostedGame spectated;
+    }
+
+    private void serve(Socket socket) {
+        var session = new Session();
+        sockets.add(socket);
+        try (socket;
+             var in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             var out = new BufferedOutputStream(socket.getOutputStream())) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                var command = line.strip();
+                String reply;
+                try {
+                    reply = handle(session, command);
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    reply = "ERR " + e.getMessage();
+                }
+                out.write((reply + "\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                if (session.spectated != null) {
+                    var game = session.spectated;
+                    var broadcast = sessions.submit(() -> {
+                        try {
+                            spectate(game, out);
+                        } finally {
+                            socket.close(); // fin de la partie : réveille la lecture ci-dessous
+                        }
+                        return null;
+                    });
+                    // La connexion est lue pendant la diffusion : un spectateur qui se déconnecte d'une partie
+                    // arrêtée libère ses threads tout de suite, sans attendre le prochain changement
+                    try {
+                        while ((line = in.readLine()) != null && !line.strip().equals("QUIT")) {
+                            // les commandes d'un spectateur sont ignorées
+                        }
+                    } finally {
+                        broadcast.cancel(true);
+                    }
+                    return;
+                }
+                if (command.equals("QUIT")) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // Connexion perdue : la partie est abandonnée ci-dessous
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sockets.remove(socket);
+            leave(session);
+        }
+    }
+
+    private String handle(Session session, String command) throws InterruptedException {
+        var space = command.indexOf(' ');
+        var name = space < 0 ? command : command.substring(0, space);
+        var argument = space < 0 ? "" : command.substring(space + 1).strip();
+        return switch (name) {
+            case "NEW" -> {
+                var parts = arguments(argument, 2);
+                checkNoGame(session);
+                checkName(parts[1]);
+                var id = nextGameId.getAndIncrement();
+                var game = new HostedGame(id, parseInt(parts[0]), journal);
+                games.put(id, game);
+                yield join(session, game, parts[1]);
+            }
+            case "JOIN" -> {
+                var parts = arguments(argument, 2);
+                checkNoGame(session);
+                var game = games.get(parseLong(parts[0]));
+                if (game == null) {
+                    throw new IllegalArgumentException("Partie inconnue: " + parts[0]);
+                }
+                yield join(session, game, parts[1]);
+            }
+            case "WAIT" -> "OK " + game(session).await(session.seat);
+            case "PLACE" -> {
+                game(session).place(session.seat, argument);
+                yield "OK";
+            }
+            case "PLAY" -> {
+                var result = game(session).play(session.seat, argument);
+                yield result.isOk() ? "OK" : "ERR " + result.getMessage();
+            }
+            case "STATE" -> "OK " + game(session).state();
+            case "SPECTATE" -> {
+                checkNoGame(session);
+                var game = games.get(parseLong(argument));
+                if (game == null) {
+                    throw new IllegalArgumentException("Partie inconnue: " + argument);
+                }
+                session.spectated = game;
+                yield "OK " + game.id;
+            }
+            case "QUIT" -> "OK";
+            default -> throw new IllegalArgumentException("Commande inconnue: " + name);
+        };
+    }
+
+    /**
+     * Envoie à un spectateur l'image de la partie puis ses changements. Les lignes déjà publiées sont
+     * écrites d'un bloc avant de vider le tampon de la connexion.
+     */
+    private static void spectate(HostedGame game, OutputStream out) throws IOException, InterruptedException {
+        var frames = new ArrayList<byte[]>();
+        var cursor = game.snapshot(frames);
+        while (true) {
+            for (var frame : frames) {
+                out.write(frame);
+            }
+            out.flush();
+            frames.clear();
+            cursor = game.getFeed().await(cursor, frames);
+            if (cursor == SpectatorFeed.LAGGING) {
+                cursor = game.snapshot(frames);
+            } else if (frames.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    private static String join(Session session, HostedGame game, String playerName) {
+        checkName(playerName);
+        session.seat = game.join(playerName);
+        session.game = game;
+        return "OK " + game.id + " " + session.seat;
+    }
+
+    private void leave(Session session) {
+        var game = session.game;
+        if (game != null && game.leave()) {
+            games.remove(game.id, game);
+        }
+    }
+
+    private static HostedGame game(Session session) {
+        if (session.game == null) {
+            throw new IllegalStateException("Aucune partie rejointe.");
+        }
+        return session.game;
+    }
+
+    /**
+     * Les noms sont écrits tels quels dans la partie renvoyée par STATE
+     */
+    private static void checkName(String playerName) {
+        if (playerName.indexOf(',') >= 0 || playerName.indexOf('|') >= 0) {
+            throw new IllegalArgumentException("Nom de joueur invalide: " + playerName);
+        }
+    }
+
+    private static void checkNoGame(Session session) {
+        if (session.game != null) {
+            throw new IllegalStateException("Partie déjà rejointe.");
+        }
+    }
+
+    private static String[] arguments(String argument, int count) {
+        var parts = argument.split(" +", count);
+        if (parts.length != count || parts[count - 1].isEmpty()) {
+            throw new IllegalArgumentException("Arguments attendus: " + count);
+        }
+        return parts;
+    }
+
+    private static int parseInt(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nombre invalide: " + text);
+        }
+    }
+
+    private static long parseLong(String text) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nombre invalide: " + text);
+        }
+    }
+
+    /**
+     * Ferme le port d'écoute et toutes les connexions en cours
+     */
+    @Override
+    public void close() throws IOException {
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        for (var socket : sockets) {
+            socket.close();
+        }
+        sessions.shutdownNow();
+    }
+
+    public static void main(String[] args) throws IOException {
+        var port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        var journal = TurnJournal.open(JOURNAL_PATH);
+        // Les joueurs des parties interrompues ne sont plus connectés
+        for (var id : journal.takeRecoveredGames().keySet()) {
+            journal.finish(id);
+        }
+        var server = new GameServer(port, journal);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Erreur à l'arrêt du serveur: " + e.getMessage());
+            }
+        }));
+        server.start();
+        System.out.println("Serveur Quoridor sur le port " + server.getPort());
+    }
+}
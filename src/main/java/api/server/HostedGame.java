@@ -0,0 +1,290 @@
+package api.server;
+
+import model.Game;
+import model.GameEngine;
+import model.Pawn;
+import model.Turn;
+import model.TurnResult;
+import util.GameFactory;
+import util.GameRecordWriter;
+import util.TurnJournal;
+import util.TurnNotation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Partie hébergée par le serveur. Toutes les actions sur la partie passent par le verrou de la partie :
+ * les tours d'une même partie sont appliqués l'un après l'autre, les parties différentes en parallèle.
+ * Le verrou est un {@link ReentrantLock} plutôt qu'un bloc synchronized, qui bloquerait le thread porteur
+ * d'un thread virtuel en attente.
+ * <p>
+ * Les changements sont diffusés aux spectateurs par un {@link SpectatorFeed}, une ligne par changement :
+ * <pre>
+ * P &lt;numéro&gt; &lt;joueur&gt; &lt;case&gt;                                        pion placé
+ * T &lt;numéro&gt; &lt;joueur&gt; &lt;tour&gt; &lt;arrivée&gt; &lt;suivant&gt; [&lt;joueur&gt;=&lt;score&gt; ...]   tour joué
+ * END &lt;numéro&gt; &lt;scores...&gt; | END &lt;numéro&gt; ABANDONED                   fin de la partie
+ * SNAPSHOT &lt;numéro&gt; &lt;état&gt;                                          image complète
+ * </pre>
+ * Le tour est écrit en {@link TurnNotation} : case de départ, pas, mur cassé avec la capacité spéciale et mur
+ * posé. L'arrivée est la case finale du pion, le suivant vaut {@code -} quand la partie est finie, et seuls
+ * les scores qui ont changé sont écrits. L'image complète reprend la réponse à STATE ({@link #state()}) et
+ * contient toutes les lignes jusqu'à son numéro.
+ */
+final class HostedGame {
+    final long id;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final String[] names;
+    private final TurnJournal journal;
+    private final SpectatorFeed feed = new SpectatorFeed();
+    private byte[] snapshot;
+    private long snapshotSequence = -1;
+    private int seated;
+    private int connected;
+    private int placed;
+    private boolean abandoned;
+    private Game game;
+    private GameEngine engine;
+
+    HostedGame(long id, int players, TurnJournal journal) {
+        if (players < 2 || players > 4) {
+            throw new IllegalArgumentException("Le nombre de joueurs doit être entre 2 et 4.");
+        }
+        this.id = id;
+        this.names = new String[players];
+        this.journal = journal;
+    }
+
+    /**
+     * Installe un joueur à la première place libre. La partie est créée quand toutes les places sont prises.
+     * @return la place du joueur
+     */
+    int join(String name) {
+        lock.lock();
+        try {
+            if (abandoned || seated == names.length) {
+                throw new IllegalStateException("La partie " + id + " n'accepte plus de joueurs.");
+            }
+            var seat = seated++;
+            names[seat] = name;
+            connected++;
+            if (seated == names.length) {
+                game = GameFactory.createGame(names.length, new ArrayList<>(Arrays.asList(names)));
+                engine = new GameEngine(game, journal);
+            }
+            changed.signalAll();
+            return seat;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Place le prochain pion d'un joueur pendant la phase de placement
+     */
+    void place(int seat, String cell) {
+        lock.lock();
+        try {
+            checkTurn(seat);
+            if (game.isStarted()) {
+                throw new IllegalStateException("Tous les pions sont déjà placés.");
+            }
+            var player = game.getPlayers().get(seat);
+            var board = game.getBoard();
+            var index = TurnNotation.parseCell(board, cell);
+            if (!board.placePawnAt(player.getPawns()[placed / names.length], index)) {
+                throw new IllegalArgumentException("Case déjà occupée: " + cell);
+            }
+            placed++;
+            var sb = frame("P").append(' ').append(seat).append(' ');
+            TurnNotation.appendCell(sb, board, index);
+            feed.publish(encode(sb));
+            game.nextPlayer();
+            if (game.isAllPawnArePlaced()) {
+                game.start();
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Joue un tour écrit en {@link TurnNotation}
+     * @return le résultat du tour
+     */
+    TurnResult play(int seat, String turn) {
+        lock.lock();
+        try {
+            checkTurn(seat);
+            if (!game.isStarted()) {
+                return TurnResult.GAME_NOT_STARTED;
+            }
+            var code = TurnNotation.parse(game, turn);
+            var notation = TurnNotation.format(game, code);
+            var pawn = game.getCurrentPlayer().getPawns()[Turn.pawn(code)];
+            var scores = scores();
+            var result = engine.play(code);
+            if (result.isOk()) {
+                publishTurn(seat, notation, pawn, scores);
+                changed.signalAll();
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Attend que ce soit au tour du joueur ou que la partie soit finie
+     * @return {@code PLACE} ou {@code PLAY} si le joueur a la main, {@code OVER} suivi des scores sinon
+     */
+    String await(int seat) throws InterruptedException {
+        lock.lock();
+        try {
+            while (!abandoned && (game == null || (!game.isGameOver() && game.getCurrentPlayerIndex() != seat))) {
+                changed.await();
+            }
+            if (abandoned) {
+                return "OVER ABANDONED";
+            }
+            if (game.isGameOver()) {
+                return appendScores(new StringBuilder("OVER")).toString();
+            }
+            return game.isStarted() ? "PLAY" : "PLACE";
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return joueur courant, phase et partie au format de {@link GameRecordWriter}
+     */
+    String state() {
+        lock.lock();
+        try {
+            if (game == null) {
+                return (abandoned ? "ABANDONED " : "WAITING ") + seated + "/" + names.length;
+            }
+            var phase = abandoned ? "ABANDONED" : game.isGameOver() ? "OVER" : game.isStarted() ? "PLAY" : "PLACE";
+            return game.getCurrentPlayerIndex() + " " + phase + " " + GameRecordWriter.format(game);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retire un joueur : une partie en cours est abandonnée
+     * @return true s'il ne reste plus aucun joueur connecté
+     */
+    boolean leave() {
+        lock.lock();
+        try {
+            connected--;
+            if (!abandoned && (game == null || !game.isGameOver())) {
+                abandoned = true;
+                if (engine != null) {
+                    engine.closeJournal();
+                }
+                feed.close(encode(frame("END").append(" ABANDONED")));
+            }
+            changed.signalAll();
+            return connected == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    SpectatorFeed getFeed() {
+        return feed;
+    }
+
+    /**
+     * Image complète de la partie, pour un spectateur qui arrive ou qui a pris trop de retard. L'image est
+     * partagée par les spectateurs tant que la partie ne change pas.
+     * @param out reçoit la ligne SNAPSHOT
+     * @return le numéro de la dernière ligne de diffusion contenue dans l'image
+     */
+    long snapshot(List<byte[]> out) {
+        lock.lock();
+        try {
+            var sequence = feed.getSequence();
+            if (snapshotSequence != sequence) {
+                snapshot = encode(new StringBuilder("SNAPSHOT ").append(sequence).append(' ').append(state()));
+                snapshotSequence = sequence;
+            }
+            out.add(snapshot);
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void publishTurn(int seat, String notation, Pawn pawn, int[] scores) {
+        var board = game.getBoard();
+        var sb = frame("T").append(' ').append(seat).append(' ').append(notation).append(' ');
+        TurnNotation.appendCell(sb, board, board.cellIndex(pawn.getPosition()));
+        if (game.isGameOver()) {
+            sb.append(" -");
+        } else {
+            sb.append(' ').append(game.getCurrentPlayerIndex());
+        }
+        var current = scores();
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] != scores[i]) {
+                sb.append(' ').append(i).append('=').append(current[i]);
+            }
+        }
+        feed.publish(encode(sb));
+        if (game.isGameOver()) {
+            feed.close(encode(appendScores(frame("END"))));
+        }
+    }
+
+    /**
+     * @return le début d'une ligne de diffusion, avec son numéro
+     */
+    private StringBuilder frame(String type) {
+        return new StringBuilder(48).append(type).append(' ').append(feed.getSequence() + 1);
+    }
+
+    private static byte[] encode(StringBuilder sb) {
+        return sb.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private int[] scores() {
+        var players = game.getPlayers();
+        var scores = new int[players.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = game.getScores().getOrDefault(players.get(i), 0);
+        }
+        return scores;
+    }
+
+    private StringBuilder appendScores(StringBuilder sb) {
+        for (var score : scores()) {
+            sb.append(' ').append(score);
+        }
+        return sb;
+    }
+
+    private void checkTurn(int seat) {
+        if (abandoned) {
+            throw new IllegalStateException("La partie a été abandonnée.");
+        }
+        if (game == null) {
+            throw new IllegalStateException("En attente des autres joueurs.");
+        }
+        if (game.isGameOver()) {
+            throw new IllegalStateException("La partie est terminée.");
+        }
+        if (game.getCurrentPlayerIndex() != seat) {
+            throw new IllegalStateException("Ce n'est pas votre tour.");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package api.server;
+
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Diffusion des changements d'une partie à ses spectateurs.
+ * <p>
+ * Chaque changement est encodé une seule fois en une ligne UTF-8 ({@link #publish(byte[])}), rangée dans un
+ * anneau de {@value #CAPACITY} lignes partagé par tous les spectateurs. Chaque spectateur suit sa propre
+ * position dans l'anneau : la partie n'attend jamais un spectateur, et un spectateur qui prend plus de
+ * {@value #CAPACITY} lignes de retard est prévenu par {@link #LAGGING} pour repartir d'une image complète.
+ * Le verrou de l'anneau est distinct de celui de la partie.
+ */
+final class SpectatorFeed {
+    static final int CAPACITY = 256;
+    /** Résultat de {@link #await(long, List)} quand les lignes attendues ont été écrasées */
+    static final long LAGGING = -1;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private final byte[][] frames = new byte[CAPACITY][];
+    private long sequence;
+    private boolean closed;
+
+    /**
+     * @return le numéro de la dernière ligne publiée, 0 si aucune
+     */
+    long getSequence() {
+        lock.lock();
+        try {
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ajoute une ligne, qui porte le numéro {@code getSequence() + 1}
+     */
+    void publish(byte[] frame) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("La diffusion est terminée.");
+            }
+            frames[(int) (sequence % CAPACITY)] = frame;
+            sequence++;
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Publie la dernière ligne de la partie
+     */
+    void close(byte[] frame) {
+        lock.lock();
+        try {
+            publish(frame);
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Attend des lignes après la position d'un spectateur
+     * @param cursor numéro de la dernière ligne reçue par le spectateur
+     * @param out reçoit les lignes suivantes, dans l'ordre
+     * @return la nouvelle position du spectateur, {@link #LAGGING} si des lignes ont été perdues ; aucune
+     *         ligne n'est ajoutée si la diffusion est terminée
+     */
+    long await(long cursor, List<byte[]> out) throws InterruptedException {
+        lock.lock();
+        try {
+            while (cursor == sequence && !closed) {
+                published.await();
+            }
+            if (sequence - cursor > CAPACITY) {
+                return LAGGING;
+            }
+            for (var s = cursor; s < sequence; s++) {
+                out.add(frames[(int) (s % CAPACITY)]);
+            }
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Ensemble de bits de taille fixe stocké dans un tableau de long.
+ * Sert de stockage compact pour l'occupation des cases et les murs du plateau.
+ * Aucune opération de lecture ou d'écriture n'alloue de mémoire.
+ */
+public final class Bitboard {
+    private final int size;
+    private final long[] words;
+
+    /**
+     * Crée un ensemble de bits vide
+     * @param size nombre de bits de l'ensemble
+     */
+    public Bitboard(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("La taille doit être positive: " + size);
+        }
+        this.size = size;
+        this.words = new long[(size + 63) >>> 6];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean get(int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public void set(int index) {
+        words[index >>> 6] |= 1L << index;
+    }
+
+    public void clear(int index) {
+        words[index >>> 6] &= ~(1L << index);
+    }
+
+    public void clearAll() {
+        Arrays.fill(words, 0L);
+    }
+
+    /**
+     * Copie le contenu d'un autre ensemble de même taille
+     * @param other ensemble à copier
+     */
+    public void copyFrom(Bitboard other) {
+        if (other.size != size) {
+            throw new IllegalArgumentException("Les ensembles doivent avoir la même taille.");
+        }
+        System.arraycopy(other.words, 0, words, 0, words.length);
+    }
+
+    /**
+     * Renvoie l'index du prochain bit à 1 à partir d'un index donné
+     * @param from index de départ (inclus)
+     * @return l'index du bit trouvé, -1 s'il n'y en a pas
+     */
+    public int nextSetBit(int from) {
+        if (from >= size) {
+            return -1;
+        }
+        var wordIndex = from >>> 6;
+        var word = words[wordIndex] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                var index = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                return index < size ? index : -1;
+            }
+            if (++wordIndex == words.length) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Bitboard other)) return false;
+        return size == other.size && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * size + Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder("{");
+        for (int i = nextSetBit(0); i >= 0; i = nextSetBit(i + 1)) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(i);
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -3,14 +3,26 @@ package model;
 import exception.OutOfBoardException;
 
 import java.util.HashSet;
-import java.util.NoSuchElementException;
+import java.util.List;
 import java.util.Optional;
 
 public class Board {
+    // Nombre maximal de joueurs, les identifiants de joueur vont de 0 à MAX_PLAYERS - 1
+    public static final int MAX_PLAYERS = 4;
     public final int SIZE;
-    private final Cell[][] grille;
-    private final boolean[][] horizontalWalls;
-    private final boolean[][] verticalWalls;
+    // Index d'une case : y * SIZE + x
+    private final Bitboard occupancy;
+    private final Pawn[] pawns;
+    private final Position[] positions;
+    // Murs horizontaux : (SIZE + 1) lignes de SIZE murs, index y * SIZE + x
+    private final Bitboard horizontalWalls;
+    // Murs verticaux : SIZE lignes de (SIZE + 1) murs, index y * (SIZE + 1) + x
+    private final Bitboard verticalWalls;
+    private final NeighbourTable neighbours;
+    private final RegionTracker regions;
+    private final Zobrist zobrist;
+    private long zobristKey;
+    private long wallKey;
     private int pawnsOnBoard;
 
     public Board() {
@@ -21,36 +33,94 @@ public class Board {
             throw new IllegalArgumentException("La taille du plateau doit être supérieure ou égale à 7.");
         }
         this.SIZE = size;
-        this.grille = new Cell[size][size];
+        this.occupancy = new Bitboard(size * size);
+        this.pawns = new Pawn[size * size];
+        this.positions = new Position[size * size];
         initializeCell();
 
-        this.horizontalWalls = new boolean[SIZE][SIZE + 1];
-        this.verticalWalls = new boolean[SIZE + 1][SIZE];
+        this.horizontalWalls = new Bitboard(SIZE * (SIZE + 1));
+        this.verticalWalls = new Bitboard((SIZE + 1) * SIZE);
+        this.neighbours = NeighbourTable.of(size);
         this.initializeBorderWalls();
+        this.zobrist = Zobrist.of(size);
+        for (int slot = 0; slot < neighbours.wallSlotCount(); slot++) {
+            if (isWallSlotSet(slot)) {
+                zobristKey ^= zobrist.wall(slot);
+                wallKey ^= zobrist.wall(slot);
+            }
+        }
+        this.regions = new RegionTracker(this);
+        this.regions.rebuild();
+    }
+
+    /**
+     * Recopie l'état d'un plateau de même taille. Les pions de l'autre plateau sont remplacés par les pions
+     * de même identifiant des joueurs donnés, dont les positions sont mises à jour.
+     * @param other plateau à copier
+     * @param players joueurs propriétaires des pions de ce plateau
+     */
+    void copyFrom(Board other, List<Player> players) {
+        if (other.SIZE != SIZE) {
+            throw new IllegalArgumentException("Les plateaux doivent avoir la même taille.");
+        }
+        occupancy.copyFrom(other.occupancy);
+        horizontalWalls.copyFrom(other.horizontalWalls);
+        verticalWalls.copyFrom(other.verticalWalls);
+        for (int cell = 0; cell < pawns.length; cell++) {
+            var pawn = other.pawns[cell];
+            if (pawn == null) {
+                pawns[cell] = null;
+            } else {
+                pawns[cell] = players.get(pawn.getPlayerId()).getPawns()[pawn.getId()];
+                pawns[cell].setPosition(positions[cell]);
+            }
+        }
+        zobristKey = other.zobristKey;
+        wallKey = other.wallKey;
+        pawnsOnBoard = other.pawnsOnBoard;
+        regions.copyFrom(other.regions);
     }
 
     public int getPawnsOnBoard() {
         return pawnsOnBoard;
     }
 
+    /**
+     * @return la clé de Zobrist des murs et des pions du plateau, tenue à jour à chaque modification
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * @return la clé de Zobrist des murs seuls, qui ne change pas quand les pions bougent
+     */
+    public long getWallKey() {
+        return wallKey;
+    }
+
+    /**
+     * Les positions de chaque case sont créées une seule fois et partagées par tous les pions du plateau,
+     * elles ne doivent donc pas être modifiées.
+     */
     private void initializeCell(){
         for (int x = 0; x < SIZE; x++) {
             for (int y = 0; y < SIZE; y++) {
-                grille[x][y] = new Cell(new Position(x, y));
+                positions[y * SIZE + x] = new Position(x, y);
             }
         }
     }
     private void initializeBorderWalls() {
         // Murs du haut et du bas
         for (int x = 0; x < SIZE; x++) {
-            horizontalWalls[x][0] = true;        // Bordure haut
-            horizontalWalls[x][SIZE] = true;     // Bordure bas
+            horizontalWalls.set(horizontalIndex(x, 0));        // Bordure haut
+            horizontalWalls.set(horizontalIndex(x, SIZE));     // Bordure bas
         }
 
         // Murs de gauche et de droite
         for (int y = 0; y < SIZE; y++) {
-            verticalWalls[0][y] = true;          // Bordure gauche
-            verticalWalls[SIZE][y] = true;       // Bordure droite
+            verticalWalls.set(verticalIndex(0, y));          // Bordure gauche
+            verticalWalls.set(verticalIndex(SIZE, y));       // Bordure droite
         }
     }
 
@@ -60,75 +130,80 @@ public class Board {
      * @return true si la position est sur le plateau, false sinon
      */
     public boolean isPositionOnBoard(Position position){
-        return position.getX() >= 0 && position.getX() < SIZE && position.getY() >= 0 && position.getY() < SIZE;
+        return isOnBoard(position.getX(), position.getY());
     }
 
-    private boolean placeHorizontalWall(Position position) {
-        if (position.getX() >= 0 && position.getX() < SIZE
-                && position.getY() >= 0 && position.getY() < SIZE + 1) {
-            if (horizontalWalls[position.getX()][position.getY()]) {
-                return false; // Un mur existe déjà à cette position
-            }
-            horizontalWalls[position.getX()][position.getY()] = true;
-            return true;
+    private boolean isOnBoard(int x, int y) {
+        return x >= 0 && x < SIZE && y >= 0 && y < SIZE;
+    }
+
+    private int horizontalIndex(int x, int y) {
+        return y * SIZE + x;
+    }
+    private int verticalIndex(int x, int y) {
+        return y * (SIZE + 1) + x;
+    }
+    private boolean isHorizontalSlot(int x, int y) {
+        return x >= 0 && x < SIZE && y >= 0 && y < SIZE + 1;
+    }
+    private boolean isVerticalSlot(int x, int y) {
+        return x >= 0 && x < SIZE + 1 && y >= 0 && y < SIZE;
+    }
+
+    private boolean placeHorizontalWall(int x, int y) {
+        if (isHorizontalSlot(x, y)) {
+            return setWallSlot(horizontalIndex(x, y), true); // false si un mur existe déjà à cette position
         }
         return false;
     }
-    private boolean removeHorizontalWall(Position position) {
-        if (position.getX() >= 0 && position.getX() < SIZE
-                && position.getY() >= 0 && position.getY() < SIZE + 1) {
-            if (!horizontalWalls[position.getX()][position.getY()]) {
-                return false; // Aucun mur à cette position
-            }
-            horizontalWalls[position.getX()][position.getY()] = false;
-            return true;
+    private boolean removeHorizontalWall(int x, int y) {
+        if (isHorizontalSlot(x, y)) {
+            return setWallSlot(horizontalIndex(x, y), false); // false si aucun mur à cette position
         }
         return false;
     }
 
-    private boolean placeVerticalWall(Position position) {
-        if (position.getX() >= 0 && position.getX() < SIZE + 1
-                && position.getY() >= 0 && position.getY() < SIZE) {
-            if (verticalWalls[position.getX()][position.getY()]) {
-                return false; // Un mur existe déjà à cette position
-            }
-            verticalWalls[position.getX()][position.getY()] = true;
-            return true;
+    private boolean placeVerticalWall(int x, int y) {
+        if (isVerticalSlot(x, y)) {
+            return setWallSlot(neighbours.horizontalSlotCount() + verticalIndex(x, y), true);
         }
         return false;
     }
-    private boolean removeVerticalWall(Position position) {
-        if (position.getX() >= 0 && position.getX() < SIZE + 1
-                && position.getY() >= 0 && position.getY() < SIZE) {
-            if (!verticalWalls[position.getX()][position.getY()]) {
-                return false; // Aucun mur à cette position
-            }
-            verticalWalls[position.getX()][position.getY()] = false;
-            return true;
+    private boolean removeVerticalWall(int x, int y) {
+        if (isVerticalSlot(x, y)) {
+            return setWallSlot(neighbours.horizontalSlotCount() + verticalIndex(x, y), false);
         }
         return false;
     }
 
-    private boolean isHorizontalWallAt(Position position) {
-        return horizontalWalls[position.getX()][position.getY()];
+    private boolean isHorizontalWallAt(int x, int y) {
+        if (!isHorizontalSlot(x, y)) {
+            throw new OutOfBoardException("Aucun emplacement de mur horizontal en (" + x + "," + y + ").");
+        }
+        return horizontalWalls.get(horizontalIndex(x, y));
     }
-    private boolean isVerticalWallAt(Position position) {
-        return verticalWalls[position.getX()][position.getY()];
+    private boolean isVerticalWallAt(int x, int y) {
+        if (!isVerticalSlot(x, y)) {
+            throw new OutOfBoardException("Aucun emplacement de mur vertical en (" + x + "," + y + ").");
+        }
+        return verticalWalls.get(verticalIndex(x, y));
     }
 
     public boolean placeWall(Position position, Direction direction) {
+        var x = position.getX();
+        var y = position.getY();
         switch (direction){
             case NORTH -> {
-                return placeHorizontalWall(new Position(position.getX(), position.getY()));
+                return placeHorizontalWall(x, y);
             }
             case SOUTH -> {
-                return placeHorizontalWall(new Position(position.getX(), position.getY() + 1));
+                return placeHorizontalWall(x, y + 1);
             }
             case EAST -> {
-                return placeVerticalWall(new Position(position.getX() + 1, position.getY()));
+                return placeVerticalWall(x + 1, y);
             }
             case WEST -> {
-                return placeVerticalWall(new Position(position.getX(), position.getY()));
+                return placeVerticalWall(x, y);
             }
             default -> {
                 throw new IllegalArgumentException("Direction invalide: " + direction);
@@ -136,18 +211,20 @@ public class Board {
         }
     }
     public boolean removeWall(Position position, Direction direction) {
+        var x = position.getX();
+        var y = position.getY();
         switch (direction){
             case NORTH -> {
-                return removeHorizontalWall(new Position(position.getX(), position.getY()));
+                return removeHorizontalWall(x, y);
             }
             case SOUTH -> {
-                return removeHorizontalWall(new Position(position.getX(), position.getY() + 1));
+                return removeHorizontalWall(x, y + 1);
             }
             case EAST -> {
-                return removeVerticalWall(new Position(position.getX() + 1, position.getY()));
+                return removeVerticalWall(x + 1, y);
             }
             case WEST -> {
-                return removeVerticalWall(new Position(position.getX(), position.getY()));
+                return removeVerticalWall(x, y);
             }
             default -> {
                 throw new IllegalArgumentException("Direction invalide: " + direction);
@@ -156,27 +233,261 @@ public class Board {
     }
 
     public boolean isWallAt(Position position, Direction direction) {
+        var x = position.getX();
+        var y = position.getY();
         switch (direction) {
             case NORTH:
-                return isHorizontalWallAt(new Position(position.getX(), position.getY()));
+                return isHorizontalWallAt(x, y);
             case SOUTH:
-                return isHorizontalWallAt(new Position(position.getX(), position.getY() + 1));
+                return isHorizontalWallAt(x, y + 1);
             case EAST:
-                return isVerticalWallAt(new Position(position.getX() + 1, position.getY()));
+                return isVerticalWallAt(x + 1, y);
             case WEST:
-                return isVerticalWallAt(new Position(position.getX(), position.getY()));
+                return isVerticalWallAt(x, y);
             default:
                 throw new IllegalArgumentException("Direction invalide: " + direction);
         }
     }
 
+    // ---------------------------------------------------------------------------------------------
+    // API par index : une case est repérée par y * SIZE + x et une direction par son ordinal.
+    // Ces méthodes n'allouent aucun objet et sont destinées aux boucles critiques.
+    // ---------------------------------------------------------------------------------------------
+
+    public int cellIndex(int x, int y) {
+        return y * SIZE + x;
+    }
+    public int cellIndex(Position position) {
+        return position.getY() * SIZE + position.getX();
+    }
+    public int cellX(int cell) {
+        return cell % SIZE;
+    }
+    public int cellY(int cell) {
+        return cell / SIZE;
+    }
+    public int getCellCount() {
+        return SIZE * SIZE;
+    }
+
+    /**
+     * @param cell index de la case
+     * @return la position partagée de la case (à ne pas modifier)
+     */
+    public Position getPositionAt(int cell) {
+        checkCell(cell);
+        return positions[cell];
+    }
+
+    public NeighbourTable getNeighbourTable() {
+        return neighbours;
+    }
+
+    /**
+     * @param cell index de la case
+     * @param direction ordinal de la direction
+     * @return l'index de la case voisine, {@link NeighbourTable#NONE} si elle est hors du plateau
+     */
+    public int neighbour(int cell, int direction) {
+        return neighbours.neighbour(cell, direction);
+    }
+
+    private void checkCell(int cell) {
+        if (cell < 0 || cell >= SIZE * SIZE) {
+            throw new OutOfBoardException("La case [" + cell + "] n'est pas sur le plateau.");
+        }
+    }
+
+    /**
+     * @return le nombre d'emplacements de murs (horizontaux puis verticaux)
+     */
+    public int getWallSlotCount() {
+        return neighbours.wallSlotCount();
+    }
+
+    /**
+     * @param slot emplacement de mur, voir {@link NeighbourTable}
+     * @return true si un mur est présent à cet emplacement
+     */
+    public boolean isWallSlotSet(int slot) {
+        var horizontalCount = neighbours.horizontalSlotCount();
+        return slot < horizontalCount ? horizontalWalls.get(slot) : verticalWalls.get(slot - horizontalCount);
+    }
+
+    /**
+     * Pose ou retire le mur d'un emplacement
+     * @param slot emplacement de mur, voir {@link NeighbourTable}
+     * @param present true pour poser le mur, false pour le retirer
+     * @return true si l'emplacement a changé
+     */
+    public boolean setWallSlot(int slot, boolean present) {
+        if (slot < 0 || slot >= neighbours.wallSlotCount()) {
+            throw new IllegalArgumentException("Emplacement de mur invalide: " + slot);
+        }
+        var horizontalCount = neighbours.horizontalSlotCount();
+        var walls = slot < horizontalCount ? horizontalWalls : verticalWalls;
+        var index = slot < horizontalCount ? slot : slot - horizontalCount;
+        if (walls.get(index) == present) {
+            return false;
+        }
+        zobristKey ^= zobrist.wall(slot);
+        wallKey ^= zobrist.wall(slot);
+        if (present) {
+            walls.set(index);
+            regions.onWallPlaced(slot);
+        } else {
+            walls.clear(index);
+            regions.onWallRemoved(slot);
+        }
+        return true;
+    }
+
+    public boolean isWallAt(int cell, int direction) {
+        checkCell(cell);
+        return isWallSlotSet(neighbours.wallSlot(cell, direction));
+    }
+
+    public boolean placeWall(int cell, int direction) {
+        checkCell(cell);
+        return setWallSlot(neighbours.wallSlot(cell, direction), true);
+    }
+
+    public boolean removeWall(int cell, int direction) {
+        checkCell(cell);
+        return setWallSlot(neighbours.wallSlot(cell, direction), false);
+    }
+
+    /**
+     * Vérifie s'il existe un mur entre deux cases adjacentes
+     * @param cell1 index de la case 1
+     * @param cell2 index de la case 2
+     * @return true si un mur existe entre les deux cases, false sinon
+     */
+    public boolean isWallBetween(int cell1, int cell2) {
+        checkCell(cell1);
+        checkCell(cell2);
+        for (int direction = 0; direction < Direction.COUNT; direction++) {
+            if (neighbours.neighbour(cell1, direction) == cell2) {
+                return isWallSlotSet(neighbours.wallSlot(cell1, direction));
+            }
+        }
+        throw new IllegalArgumentException("Les positions doivent être adjacentes.");
+    }
+
+    public boolean isOccupied(int cell) {
+        checkCell(cell);
+        return occupancy.get(cell);
+    }
+
+    /**
+     * @param cell index de la case
+     * @return le pion présent sur la case, null si elle est libre
+     */
+    public Pawn getPawnAt(int cell) {
+        checkCell(cell);
+        return pawns[cell];
+    }
+
+    public boolean placePawnAt(Pawn pawn, int cell) {
+        checkCell(cell);
+        if (pawn.getPlayerId() < 0 || pawn.getPlayerId() >= MAX_PLAYERS) {
+            throw new IllegalArgumentException("Identifiant de joueur invalide: " + pawn.getPlayerId());
+        }
+        if (occupancy.get(cell)) {
+            return false;
+        }
+        pawn.setPosition(positions[cell]);
+        pawns[cell] = pawn;
+        occupancy.set(cell);
+        pawnsOnBoard++;
+        zobristKey ^= zobrist.pawn(cell, pawn.getPlayerId());
+        regions.onPawnAdded(cell, pawn.getPlayerId());
+        return true;
+    }
+
+    /**
+     * Retire un pion d'une case
+     * @param cell index de la case
+     * @return le pion retiré, null si la case était libre
+     */
+    public Pawn removePawnAt(int cell) {
+        checkCell(cell);
+        var pawn = pawns[cell];
+        if (pawn != null) {
+            pawnsOnBoard--;
+            pawns[cell] = null;
+            occupancy.clear(cell);
+            zobristKey ^= zobrist.pawn(cell, pawn.getPlayerId());
+            regions.onPawnRemoved(cell, pawn.getPlayerId());
+        }
+        return pawn;
+    }
+
+    /**
+     * Bouge le pion d'une case dans une direction
+     * @param cell index de la case du pion
+     * @param direction ordinal de la direction
+     * @return true si le pion a pu être déplacé, false sinon
+     */
+    public boolean movePawnAt(int cell, int direction) {
+        checkCell(cell);
+        if (!occupancy.get(cell)) {
+            throw new IllegalArgumentException("Aucun pion à la position " + positions[cell]);
+        }
+        var next = neighbours.neighbour(cell, direction);
+        if (next == NeighbourTable.NONE) {
+            throw new OutOfBoardException("Le pion à la position [" + positions[cell] + "] ne peut pas être déplacé en dehors du plateau: " + Direction.fromOrdinal(direction));
+        }
+        if (occupancy.get(next) || isWallSlotSet(neighbours.wallSlot(cell, direction))) {
+            return false;
+        }
+        var pawn = pawns[cell];
+        pawns[cell] = null;
+        occupancy.clear(cell);
+        pawns[next] = pawn;
+        occupancy.set(next);
+        pawn.setPosition(positions[next]);
+        zobristKey ^= zobrist.pawn(cell, pawn.getPlayerId()) ^ zobrist.pawn(next, pawn.getPlayerId());
+        regions.onPawnMoved(cell, next, pawn.getPlayerId());
+        return true;
+    }
+
+    /**
+     * Vérifie si un pas d'une case est possible : case voisine sur le plateau, libre et sans mur entre les deux
+     * @param cell index de la case de départ
+     * @param direction ordinal de la direction
+     * @return true si le pas est possible
+     */
+    public boolean canStep(int cell, int direction) {
+        var next = neighbours.neighbour(cell, direction);
+        return next != NeighbourTable.NONE
+                && !isWallSlotSet(neighbours.wallSlot(cell, direction))
+                && !occupancy.get(next);
+    }
+
+    /**
+     * Renvoie une vue de la case à une position. La vue est un instantané de l'état du plateau :
+     * la modifier n'a aucun effet sur le plateau.
+     * @param position position de la case
+     * @return la case à cette position
+     */
     public Cell getCellAt(Position position){
         if (!isPositionOnBoard(position)){
             throw new OutOfBoardException(position);
         }
-        return grille[position.getX()][position.getY()];
+        var index = position.getY() * SIZE + position.getX();
+        var cell = new Cell(positions[index]);
+        cell.setOptionalPawn(Optional.ofNullable(pawns[index]));
+        return cell;
     };
 
+    private boolean isOccupied(Position position) {
+        if (!isPositionOnBoard(position)){
+            throw new OutOfBoardException(position);
+        }
+        return occupancy.get(position.getY() * SIZE + position.getX());
+    }
+
     /**
      * Ajoute un pion à une poisition
      * @param pawn pion à ajouter
@@ -187,14 +498,7 @@ public class Board {
         if (!isPositionOnBoard(position)) {
             throw new OutOfBoardException(position);
         }
-        var celltoModify = getCellAt(position);
-        if (!celltoModify.isOccuped()){
-            pawn.setPosition(position);
-            celltoModify.setOptionalPawn(Optional.of(pawn));
-            pawnsOnBoard++;
-            return true;
-        }
-        return false;
+        return placePawnAt(pawn, cellIndex(position));
     }
 
     /**
@@ -203,13 +507,10 @@ public class Board {
      * @return Optional contenant un pion si un pion a pu être retiré, vide sinon
      */
     public Optional<Pawn> removePawnAt(Position position){
-        var celltoModify = getCellAt(position);
-        var optionalPawn = celltoModify.getOptionalPawn();
-        if (optionalPawn.isPresent()) {
-            pawnsOnBoard--;
+        if (!isPositionOnBoard(position)) {
+            throw new OutOfBoardException(position);
         }
-        celltoModify.setOptionalPawn(Optional.ofNullable(null));
-        return optionalPawn;
+        return Optional.ofNullable(removePawnAt(cellIndex(position)));
     }
 
     /**
@@ -219,27 +520,10 @@ public class Board {
      * @return true si le pion a pu être déplacé, flase sinon
      */
     public boolean movePawnAt(Position position, Direction direction){
-        var cellToCheck = getCellAt(position);
-        if (!cellToCheck.isOccuped()){
+        if (!isOccupied(position)){
             throw new IllegalArgumentException("Aucun pion à la position " + position);
         }
-        try {
-            var nextPosition = position.move(direction);
-            if (getCellAt(nextPosition).isOccuped() || isWallBetween(position, nextPosition)){
-                return false;
-            }
-            var pawn = removePawnAt(position);
-            if (pawn.isEmpty()) {
-                throw new NoSuchElementException("Aucun pion trouvé à la position " + position);
-            }
-            placePawnAt(pawn.get(), nextPosition);
-        } catch (IllegalArgumentException e) {
-            throw new OutOfBoardException("Le pion à la position [" + position + "] ne peut pas être déplacé en dehors du plateau: " + direction);
-        } catch (NoSuchElementException e) {
-            throw new IllegalArgumentException("Aucun pion trouvé à la position: " + position, e);
-        }
-
-        return true;
+        return movePawnAt(cellIndex(position), direction.ordinal());
     }
 
     /**
@@ -248,33 +532,22 @@ public class Board {
      * @return true si le pion peut se déplacer, false sinon
      */
     public boolean isPawnCanMove(Pawn pawn){
-        var position = pawn.getPosition();
+        var cell = cellIndex(pawn.getPosition());
         var wallNumber = 0;
         var pawnNumber = 0;
         //compte les obstacles
-        for (var direction : Direction.values()){
-            if (isWallAt(position, direction)){
+        for (int direction = 0; direction < Direction.COUNT; direction++){
+            if (isWallSlotSet(neighbours.wallSlot(cell, direction))){
                 wallNumber++;
                 continue;
             };
 
-            Position nextPosition;
-            try {
-                nextPosition = position.move(direction);
-            } catch (OutOfBoardException e) {
-                continue; // Ignore les exceptions pour les positions hors plateau
-            } catch (IllegalArgumentException e) {
-                continue; // Ignore les positions négatives
+            var next = neighbours.neighbour(cell, direction);
+            if (next == NeighbourTable.NONE) {
+                continue; // Ignore les positions hors plateau
             }
-
-            try {
-                if (getCellAt(nextPosition).isOccuped()) {
-                    pawnNumber++;
-                }
-            } catch (OutOfBoardException e) {
-                continue; // Ignore les exceptions pour les positions hors plateau
-            } catch (IllegalArgumentException e) {
-                continue; // Ignore les positions négatives
+            if (occupancy.get(next)) {
+                pawnNumber++;
             }
         }
         return (wallNumber + pawnNumber) < 4;
@@ -286,10 +559,10 @@ public class Board {
      * @return true si le pion peut placer un mur, false sinon
      */
     public boolean isPawnCanPlaceWall(Pawn pawn){
-        var position = pawn.getPosition();
+        var cell = cellIndex(pawn.getPosition());
         var wallNumber = 0;
-        for (var direction : Direction.values()){
-            if (isWallAt(position, direction)){
+        for (int direction = 0; direction < Direction.COUNT; direction++){
+            if (isWallSlotSet(neighbours.wallSlot(cell, direction))){
                 wallNumber++;
             };
         }
@@ -315,42 +588,119 @@ public class Board {
         // Vérification des murs horizontaux
         if (position1.getY() != position2.getY()) {
             int maxY = Math.max(position1.getY(), position2.getY());
-            var newPos = new Position(position1.getX(), maxY);
-            return isHorizontalWallAt(newPos);
+            return isHorizontalWallAt(position1.getX(), maxY);
         }
 
         // Vérification des murs verticaux
         if (position1.getX() != position2.getX()) {
             int maxX = Math.max(position1.getX(), position2.getX());
-            var newPos = new Position(maxX, position1.getY());
-            return isVerticalWallAt(newPos);
+            return isVerticalWallAt(maxX, position1.getY());
         }
 
         return false; // Jamais atteint, mais pour la complétion
     }
 
+    // ---------------------------------------------------------------------------------------------
+    // Zones maintenues de façon incrémentale (voir RegionTracker)
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * @return true si le dernier mur posé a fermé une boucle de murs, et a donc pu couper une zone en deux
+     */
+    public boolean lastWallClosedLoop() {
+        return regions.lastWallClosedLoop();
+    }
+
+    /**
+     * @return le nombre maximal d'étiquettes de zones, pour dimensionner des tableaux indexés par étiquette
+     */
+    public int getRegionLabelCapacity() {
+        return regions.getLabelCapacity();
+    }
+
     /**
-     * Récupère toute une zone fermé à partir d'une position (récursive)
+     * @param cell index de la case
+     * @return l'étiquette de la zone contenant la case
+     */
+    public int getRegionLabel(int cell) {
+        checkCell(cell);
+        return regions.labelOf(cell);
+    }
+
+    public int getRegionCellCount(int label) {
+        return regions.cellCount(label);
+    }
+
+    public int getRegionPawnCount(int label, int playerId) {
+        return regions.pawnCount(label, playerId);
+    }
+
+    /**
+     * @param label étiquette de la zone
+     * @return l'identifiant du seul joueur ayant des pions dans la zone, -1 si la zone est vide ou partagée
+     */
+    public int getRegionOwner(int label) {
+        return regions.owner(label);
+    }
+
+    /**
+     * Remplit une zone à partir d'une case : parcours en largeur itératif, linéaire en nombre de cases
+     * @param cell index de la case servant de point de départ
+     * @param region zone à remplir, réinitialisée avant le parcours
+     * @return la zone remplie
+     */
+    public Region fillRegion(int cell, Region region) {
+        checkCell(cell);
+        region.reset();
+        region.addCell(cell);
+        var members = region.getMembers();
+        // La liste des cases de la zone sert de file pour le parcours
+        for (int head = 0; head < region.getCellCount(); head++) {
+            var current = region.cellAt(head);
+            if (occupancy.get(current)) {
+                region.addPawn(pawns[current]);
+            }
+            for (int direction = 0; direction < Direction.COUNT; direction++) {
+                var next = neighbours.neighbour(current, direction);
+                if (next != NeighbourTable.NONE
+                        && !members.get(next)
+                        && !isWallSlotSet(neighbours.wallSlot(current, direction))) {
+                    region.addCell(next);
+                }
+            }
+        }
+        return region;
+    }
+
+    /**
+     * Récupère toute une zone fermé à partir d'une case
+     * @param cell index de la case servant de point de départ
+     * @return une nouvelle zone
+     */
+    public Region getRegion(int cell) {
+        return fillRegion(cell, new Region(SIZE));
+    }
+
+    /**
+     * Récupère toute une zone fermé à partir d'une position
      * @param position La position servant de point de départ
      * @param cells Un ensemble de cellules pour stocker les cellules de la zone
      * @return une zone fermé représenté par des cases de la grille
      */
     public HashSet<Cell> getAreaFromPosition(Position position, HashSet<Cell> cells){
-        cells.add(getCellAt(position));
-        for (var direction : Direction.values()){
-            Position nextPosition;
-            if (!isWallAt(position, direction)){
-                nextPosition = position.move(direction);
-                if (!cells.contains(getCellAt(nextPosition))){
-                    cells.addAll(getAreaFromPosition(nextPosition, cells));
-                }
-            }
+        if (!isPositionOnBoard(position)) {
+            throw new OutOfBoardException(position);
+        }
+        var region = getRegion(cellIndex(position));
+        var members = region.getMembers();
+        for (int cell = members.nextSetBit(0); cell >= 0; cell = members.nextSetBit(cell + 1)) {
+            cells.add(getCellAt(positions[cell]));
         }
         return cells;
     }
 
     /**
-     * Récupère toute une zone fermé à partir d'une position (récursive)
+     * Récupère toute une zone fermé à partir d'une position
      * @param position La position servant de point de départ
      * @return une zone fermé représenté par des cases de la grille
      */
@@ -377,7 +727,7 @@ public class Board {
             boardDisplayed.append("    ");
             for (int x = 0; x < SIZE; x++) {
                 boardDisplayed.append("+");
-                if (x < horizontalWalls.length && x < horizontalWalls[x].length && horizontalWalls[x][y]) {
+                if (horizontalWalls.get(horizontalIndex(x, y))) {
                     boardDisplayed.append("━━━");
                 } else {
                     boardDisplayed.append("   ");
@@ -390,16 +740,14 @@ public class Board {
                 boardDisplayed.append(" ").append(y + 1).append("  "); // Numéro de ligne
 
                 for (int x = 0; x < SIZE; x++) {
-                    if (x < verticalWalls[x].length && verticalWalls[x][y]) {
+                    if (verticalWalls.get(verticalIndex(x, y))) {
                         boardDisplayed.append("┃");
                     } else {
                         boardDisplayed.append(" ");
                     }
 
-                    if (x < SIZE) {
-                        Cell cell = grille[x][y];
-                        boardDisplayed.append(" ").append(cell.display()).append(" ");
-                    }
+                    var pawn = pawns[y * SIZE + x];
+                    boardDisplayed.append(" ").append(pawn != null ? pawn.display() : " ").append(" ");
                 }
                 boardDisplayed.append("┃").append("\n");
             }
@@ -426,12 +774,8 @@ public class Board {
         for (int y = 0; y < SIZE; y++) {
             System.out.print(y + " ");
             for (int x = 0; x < SIZE; x++) {
-                Cell cell = grille[x][y];
-                if (cell == null) {
-                    System.out.print(" .");
-                } else {
-                    System.out.print(" " + cell.display().charAt(0)); // Premier caractère seulement
-                }
+                var pawn = pawns[y * SIZE + x];
+                System.out.print(" " + (pawn != null ? pawn.display() : " ").charAt(0)); // Premier caractère seulement
             }
             System.out.println();
         }
@@ -439,28 +783,28 @@ public class Board {
         // Affichage des murs (optionnel)
         System.out.println("Murs horizontaux:");
         System.out.print("  ");
-        for (int x = 0; x < horizontalWalls.length; x++) {
+        for (int x = 0; x < SIZE; x++) {
             System.out.print(" " + x);
         }
         System.out.println();
         for (int y = 0; y < SIZE + 1; y++) {
             System.out.print(y + " ");
             for (int x = 0; x < SIZE; x++) {
-                System.out.print(horizontalWalls[x][y] ? " #" : " .");
+                System.out.print(horizontalWalls.get(horizontalIndex(x, y)) ? " #" : " .");
             }
             System.out.println();
         }
 
         System.out.println("Murs verticaux:");
         System.out.print("  ");
-        for (int x = 0; x < verticalWalls.length; x++) {
+        for (int x = 0; x < SIZE + 1; x++) {
             System.out.print(" " + x);
         }
         System.out.println();
         for (int y = 0; y < SIZE; y++) {
             System.out.print(y + " ");
             for (int x = 0; x < SIZE + 1; x++) {
-                System.out.print(verticalWalls[x][y] ? " #" : " .");
+                System.out.print(verticalWalls.get(verticalIndex(x, y)) ? " #" : " .");
             }
             System.out.println();
         }
@@ -481,79 +825,66 @@ public class Board {
         if (!isPositionOnBoard(nextPosition)) {
             return false; // La position n'est pas sur le plateau
         }
+        return isPawnCanMoveTo(selectedPawn, cellIndex(nextPosition), alreadyMoved);
+    }
+
+    /**
+     * Vérifie si un pion peut se déplacer vers une case donnée
+     * @param selectedPawn le pion sélectionné
+     * @param target index de la case vers laquelle le pion doit se déplacer
+     * @param alreadyMoved le nombre de cases déjà déplacées par le pion
+     * @return true si le pion peut se déplacer vers la case, false sinon
+     */
+    public boolean isPawnCanMoveTo(Pawn selectedPawn, int target, int alreadyMoved) {
+        if (target < 0 || target >= SIZE * SIZE) {
+            return false; // La case n'est pas sur le plateau
+        }
 
         if (alreadyMoved >= 2) {
             return false; // Le pion ne peut pas se déplacer plus de 2 fois
         }
 
-        var currentPosition = selectedPawn.getPosition();
-        if (currentPosition.distanceTo(nextPosition) > 2){
+        var current = cellIndex(selectedPawn.getPosition());
+        int deltaX = cellX(target) - cellX(current);
+        int deltaY = cellY(target) - cellY(current);
+        var distance = Math.abs(deltaX) + Math.abs(deltaY);
+        if (distance > 2){
             return false; // Le pion ne peut pas se déplacer de plus de 2 cases
         }
-        //Comment aller de currentPosition à nextPosition
-        if (currentPosition.equals(nextPosition) && alreadyMoved <= 2) {
+        if (distance == 0) {
             return true; // Le pion peut rester sur place
         }
         // Vérifier si le pion peut se déplacer d'une case
-        if (currentPosition.distanceTo(nextPosition) == 1 && alreadyMoved <= 1) {
-            if (getCellAt(nextPosition).isOccuped() || isWallBetween(currentPosition, nextPosition)) {
-                return false; // Il y a un mur ou un autre pion à la position suivante
-            }
-            return true; // Le pion peut se déplacer d'une case
+        if (distance == 1) {
+            return canStep(current, directionOf(deltaX, deltaY));
         }
 
         // Vérifier si le pion peut se déplacer de deux cases
-        if (currentPosition.distanceTo(nextPosition) == 2 && alreadyMoved <= 0) {
-            int deltaX = nextPosition.getX() - currentPosition.getX();
-            int deltaY = nextPosition.getY() - currentPosition.getY();
-
-            // Cas 1: Déplacement en ligne droite (2 cases dans une direction)
-            if (deltaX == 0 || deltaY == 0) {
-                // Mouvement vertical ou horizontal de 2 cases
-                Position intermediatePosition;
-                if (deltaX == 0) {
-                    // Mouvement vertical
-                    intermediatePosition = new Position(currentPosition.getX(),
-                            currentPosition.getY() + deltaY/2);
-                } else {
-                    // Mouvement horizontal
-                    intermediatePosition = new Position(currentPosition.getX() + deltaX/2,
-                            currentPosition.getY());
-                }
-
-                // Vérifier qu'on peut aller à la position intermédiaire et à la destination
-                return !isWallBetween(currentPosition, intermediatePosition) &&
-                        !getCellAt(intermediatePosition).isOccuped() &&
-                        !isWallBetween(intermediatePosition, nextPosition) &&
-                        !getCellAt(nextPosition).isOccuped();
-            }
-
-            // Cas 2 et 3: Déplacement en L (1 case + 1 case perpendiculaire)
-            if (Math.abs(deltaX) == 1 && Math.abs(deltaY) == 1) {
-                // Chemin 1: horizontal puis vertical
-                Position path1Intermediate = new Position(currentPosition.getX() + deltaX,
-                        currentPosition.getY());
-                boolean path1Valid = !isWallBetween(currentPosition, path1Intermediate) &&
-                        !getCellAt(path1Intermediate).isOccuped() &&
-                        !isWallBetween(path1Intermediate, nextPosition) &&
-                        !getCellAt(nextPosition).isOccuped();
-
-                // Chemin 2: vertical puis horizontal
-                Position path2Intermediate = new Position(currentPosition.getX(),
-                        currentPosition.getY() + deltaY);
-                boolean path2Valid = !isWallBetween(currentPosition, path2Intermediate) &&
-                        !getCellAt(path2Intermediate).isOccuped() &&
-                        !isWallBetween(path2Intermediate, nextPosition) &&
-                        !getCellAt(nextPosition).isOccuped();
-
-                // Au moins un des deux chemins doit être valide
-                return path1Valid || path2Valid;
-            }
-
+        if (alreadyMoved > 0) {
             return false;
         }
 
-        return false; // Le pion ne peut pas se déplacer de cette manière
+        // Cas 1: Déplacement en ligne droite (2 cases dans une direction)
+        if (deltaX == 0 || deltaY == 0) {
+            var direction = directionOf(deltaX / 2, deltaY / 2);
+            return canStep(current, direction) && canStep(neighbours.neighbour(current, direction), direction);
+        }
+
+        // Cas 2 et 3: Déplacement en L (1 case + 1 case perpendiculaire)
+        var horizontal = directionOf(deltaX, 0);
+        var vertical = directionOf(0, deltaY);
+        // Chemin 1: horizontal puis vertical, chemin 2: vertical puis horizontal
+        return (canStep(current, horizontal) && canStep(neighbours.neighbour(current, horizontal), vertical))
+                || (canStep(current, vertical) && canStep(neighbours.neighbour(current, vertical), horizontal));
+    }
 
+    /**
+     * @return l'ordinal de la direction d'un déplacement unitaire
+     */
+    private static int directionOf(int deltaX, int deltaY) {
+        if (deltaX > 0) return Direction.EAST.ordinal();
+        if (deltaX < 0) return Direction.WEST.ordinal();
+        if (deltaY > 0) return Direction.SOUTH.ordinal();
+        return Direction.NORTH.ordinal();
     }
 }
@@ -6,6 +6,10 @@ public enum Direction {
     WEST(-1, 0),
     EAST(1, 0);
 
+    // Copie unique de values() pour les boucles qui ne doivent pas allouer
+    private static final Direction[] VALUES = values();
+    public static final int COUNT = VALUES.length;
+
     private final int dx, dy;
 
     Direction(int dx, int dy) {
@@ -15,4 +19,22 @@ public enum Direction {
 
     public int getDx() { return dx; }
     public int getDy() { return dy; }
+
+    /**
+     * Renvoie l'ordinal de la direction opposée (NORTH ↔ SOUTH, WEST ↔ EAST)
+     * @param ordinal ordinal d'une direction
+     * @return l'ordinal de la direction opposée
+     */
+    public static int opposite(int ordinal) {
+        return ordinal ^ 1;
+    }
+
+    /**
+     * Renvoie la direction correspondant à un ordinal sans allouer de tableau
+     * @param ordinal ordinal de la direction
+     * @return la direction correspondante
+     */
+    public static Direction fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
 }
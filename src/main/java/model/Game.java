@@ -16,8 +16,26 @@ public class Game {
 
     private HashMap<Player,Integer> scores;
 
+    // Tampons réutilisés par calculationOver
+    private int[] visitedLabels;
+    private int visitGeneration;
+    private int[] playerScores;
+
+    // Pile d'annulation : un enregistrement de HISTORY_HEADER + nombre de joueurs entiers par tour joué
+    private static final int HISTORY_HEADER = 5;
+    private int[] history = new int[0];
+    private int historySize;
+
     public Game(ArrayList<Player> players){
-        this.board = new Board();
+        this(players, new Board());
+    }
+
+    /**
+     * @param players joueurs de la partie
+     * @param board plateau vide
+     */
+    public Game(ArrayList<Player> players, Board board){
+        this.board = board;
         this.players = players;
         this.NUMBER_OF_PAWNS_PER_PLAYER = players.getFirst().getPawns().length;
         this.scores = new HashMap<>();
@@ -26,10 +44,48 @@ public class Game {
         this.isStarted = false;
     }
 
+    /**
+     * Crée une copie indépendante de la partie : joueurs, pions, plateau, scores et historique des tours
+     * @return la copie
+     */
+    public Game copy() {
+        var copiedPlayers = new ArrayList<Player>();
+        for (var player : players) {
+            copiedPlayers.add(new Player(player));
+        }
+        var game = new Game(copiedPlayers, new Board(board.SIZE));
+        game.copyFrom(this);
+        return game;
+    }
+
+    /**
+     * Recopie l'état d'une partie de même configuration (nombre de joueurs et de pions, taille du plateau)
+     * sans allouer de mémoire, pour réutiliser une même copie d'une simulation à l'autre.
+     * @param other partie à copier
+     */
+    public void copyFrom(Game other) {
+        if (other.players.size() != players.size()) {
+            throw new IllegalArgumentException("Les parties doivent avoir le même nombre de joueurs.");
+        }
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).copyFrom(other.players.get(i));
+            scores.put(players.get(i), other.scores.get(other.players.get(i)));
+        }
+        board.copyFrom(other.board, players);
+        isStarted = other.isStarted;
+        currentPlayerIndex = other.currentPlayerIndex;
+        isOver = other.isOver;
+        if (history.length < other.historySize * recordLength()) {
+            history = new int[other.history.length];
+        }
+        System.arraycopy(other.history, 0, history, 0, other.historySize * recordLength());
+        historySize = other.historySize;
+    }
+
     public void reset(){
         var listNames = new ArrayList<String>();
         listNames.addAll(players.stream().map(Player::getName).collect(Collectors.toList()));
-        var newGame = GameFactory.createGame(players.size(), listNames);
+        var newGame = GameFactory.createGame(players.size(), listNames, NUMBER_OF_PAWNS_PER_PLAYER, board.SIZE);
         this.board = newGame.getBoard();
         this.players = newGame.getPlayers();
         this.scores = newGame.getScores();
@@ -37,6 +93,7 @@ public class Game {
         this.currentPlayerIndex = newGame.currentPlayerIndex;
         this.isStarted = newGame.isStarted;
         this.isOver = newGame.isOver;
+        this.historySize = 0;
     }
 
     public ArrayList<Player> getPlayers() {
@@ -59,6 +116,19 @@ public class Game {
         return players.get(currentPlayerIndex);
     }
 
+    /**
+     * Clé de Zobrist 64 bits de la position : murs, pions, capacités spéciales utilisées et joueur au trait.
+     * Deux positions identiques ont la même clé, quel que soit l'ordre des coups qui y ont mené.
+     * @return la clé de la position courante
+     */
+    public long positionKey() {
+        var key = board.getZobristKey() ^ Zobrist.sideToMove(currentPlayerIndex);
+        for (int i = 0; i < players.size(); i++) {
+            key ^= players.get(i).getZobristKey();
+        }
+        return key;
+    }
+
     public void nextPlayer() {
         if (isOver) {
             throw new IllegalStateException("Game is over, cannot proceed to next player");
@@ -67,14 +137,286 @@ public class Game {
             calculationOver();
         }
         var nextPlayerIndex = (currentPlayerIndex + 1) % players.size();
-        if (isStarted){
-            while (!isPlayerCanPlay(nextPlayerIndex)){
+        if (isStarted && !isOver){
+            // Un tour complet au plus : si personne ne peut jouer, le joueur suivant garde la main
+            for (int i = 0; i < players.size() && !isPlayerCanPlay(nextPlayerIndex); i++) {
                nextPlayerIndex = processNextPlayer(nextPlayerIndex);
             }
         }
         currentPlayerIndex = nextPlayerIndex;
     }
 
+    /**
+     * Joue un tour complet pour le joueur courant : déplacement du pion, casse éventuelle d'un mur avec la
+     * capacité spéciale, pose du mur, puis passage au joueur suivant. Le tour peut être annulé avec {@link #undo()}.
+     * Si le tour est invalide, la partie est laissée dans son état initial.
+     * @param turn tour encodé avec {@link Turn}
+     * @throws IllegalArgumentException si le tour n'est pas jouable
+     */
+    public void apply(int turn) {
+        if (!isStarted) {
+            throw new IllegalStateException("Game has not started yet");
+        }
+        if (isOver) {
+            throw new IllegalStateException("Game is over, cannot play a turn");
+        }
+        var player = players.get(currentPlayerIndex);
+        var pawnIndex = Turn.pawn(turn);
+        if (pawnIndex >= player.getPawns().length) {
+            throw new IllegalArgumentException("Index de pion invalide: " + pawnIndex);
+        }
+        var steps = Turn.steps(turn);
+        var breaks = Turn.usesCapacity(turn);
+        if (breaks && player.isCapacityUsed()) {
+            throw new IllegalArgumentException("La capacité spéciale a déjà été utilisée.");
+        }
+
+        var startCell = board.cellIndex(player.getPawns()[pawnIndex].getPosition());
+        var cell = startCell;
+        var stepsDone = 0;
+        var broken = false;
+        while (true) {
+            if (breaks && Turn.breakAt(turn) == stepsDone) {
+                broken = breakWall(cell, Turn.breakDirection(turn));
+                if (!broken) {
+                    unwind(turn, cell, stepsDone, false, false);
+                    throw new IllegalArgumentException("Aucun mur à casser: " + Turn.toString(turn));
+                }
+                player.useCapacity();
+            }
+            if (stepsDone == steps) {
+                break;
+            }
+            var direction = Turn.step(turn, stepsDone);
+            if (!board.canStep(cell, direction)) {
+                unwind(turn, cell, stepsDone, broken, false);
+                throw new IllegalArgumentException("Déplacement impossible: " + Turn.toString(turn));
+            }
+            board.movePawnAt(cell, direction);
+            cell = board.neighbour(cell, direction);
+            stepsDone++;
+        }
+        if (!board.placeWall(cell, Turn.wall(turn))) {
+            unwind(turn, cell, stepsDone, broken, false);
+            throw new IllegalArgumentException("Un mur existe déjà: " + Turn.toString(turn));
+        }
+
+        pushHistory(turn, startCell, cell);
+        nextPlayer();
+    }
+
+    /**
+     * Annule le dernier tour joué avec {@link #apply(int)} : plateau, joueur courant, capacité spéciale,
+     * scores et fin de partie retrouvent exactement leur état d'avant le tour.
+     * @throws IllegalStateException si aucun tour n'est à annuler
+     */
+    public void undo() {
+        if (historySize == 0) {
+            throw new IllegalStateException("No turn to undo");
+        }
+        historySize--;
+        var base = historySize * recordLength();
+        var turn = history[base];
+        var endCell = history[base + 2];
+        currentPlayerIndex = history[base + 3];
+        isOver = history[base + 4] != 0;
+        for (int i = 0; i < players.size(); i++) {
+            scores.put(players.get(i), history[base + HISTORY_HEADER + i]);
+        }
+        unwind(turn, endCell, Turn.steps(turn), Turn.usesCapacity(turn), true);
+    }
+
+    public boolean canUndo() {
+        return historySize > 0;
+    }
+
+    /**
+     * @return le nombre de tours joués qui peuvent être annulés
+     */
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    /**
+     * @param index numéro du tour, 0 pour le premier tour joué
+     * @return le tour encodé
+     */
+    public int getHistoryTurn(int index) {
+        if (index < 0 || index >= historySize) {
+            throw new IllegalArgumentException("Invalid history index: " + index);
+        }
+        return history[index * recordLength()];
+    }
+
+    /**
+     * @return le nombre d'entiers d'un enregistrement de l'historique
+     */
+    public int getHistoryRecordLength() {
+        return recordLength();
+    }
+
+    /**
+     * Recopie un enregistrement de l'historique : tour, case de départ et case d'arrivée du pion, joueur courant
+     * et fin de partie (1 ou 0) avant le tour, puis score de chaque joueur avant le tour
+     * @param index numéro du tour, 0 pour le premier tour joué
+     * @param record tableau d'au moins {@link #getHistoryRecordLength()} entiers
+     */
+    public void getHistoryRecord(int index, int[] record) {
+        if (index < 0 || index >= historySize) {
+            throw new IllegalArgumentException("Invalid history index: " + index);
+        }
+        System.arraycopy(history, index * recordLength(), record, 0, recordLength());
+    }
+
+    /**
+     * Restaure l'état d'une partie chargée, une fois les pions, les murs et les capacités spéciales en place :
+     * joueur courant, démarrage, historique des tours, puis scores et fin de partie recalculés depuis le plateau.
+     * @param started true si la partie a démarré
+     * @param currentPlayerIndex index du joueur courant
+     * @param records enregistrements de l'historique mis bout à bout, voir {@link #getHistoryRecord(int, int[])}
+     * @param turns nombre de tours de l'historique
+     * @throws IllegalArgumentException si l'historique ne peut pas être annulé jusqu'au premier tour depuis le
+     *                                  plateau, par exemple pour une sauvegarde tronquée ou corrompue
+     */
+    public void restore(boolean started, int currentPlayerIndex, int[] records, int turns) {
+        Objects.requireNonNull(records, "Records cannot be null");
+        if (currentPlayerIndex < 0 || currentPlayerIndex >= players.size()) {
+            throw new IllegalArgumentException("Invalid player index: " + currentPlayerIndex);
+        }
+        if (turns < 0 || records.length < turns * recordLength() || (turns > 0 && !started)) {
+            throw new IllegalArgumentException("Historique invalide: " + turns + " tours");
+        }
+        if (started && !isAllPawnArePlaced()) {
+            throw new IllegalArgumentException("La partie a démarré avant que tous les pions soient placés.");
+        }
+        var restored = Arrays.copyOf(records, Math.max(64 * recordLength(), turns * recordLength()));
+
+        // L'historique est annulé en entier sur une copie : la partie n'est modifiée que s'il est cohérent
+        var check = copy();
+        check.history = restored;
+        check.historySize = turns;
+        while (check.historySize > 0) {
+            check.undoChecked();
+        }
+
+        this.isStarted = started;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.isOver = false;
+        if (started) {
+            calculationOver();
+        }
+        history = restored;
+        historySize = turns;
+    }
+
+    /**
+     * Annule le dernier tour de l'historique comme {@link #undo()}, en vérifiant d'abord son enregistrement
+     * puis chaque étape sur le plateau. Les scores et la fin de partie ne sont pas restaurés.
+     * @throws IllegalArgumentException si l'enregistrement ne correspond pas au plateau, la partie est
+     *                                  alors laissée dans un état intermédiaire
+     */
+    private void undoChecked() {
+        var index = historySize - 1;
+        var base = index * recordLength();
+        var turn = history[base];
+        var startCell = history[base + 1];
+        var endCell = history[base + 2];
+        var player = history[base + 3];
+        var cells = board.getCellCount();
+        var breaks = Turn.usesCapacity(turn);
+        var valid = turn >= 0 && turn <= 0xFFFF
+                && Turn.pawn(turn) < NUMBER_OF_PAWNS_PER_PLAYER
+                && Turn.steps(turn) <= Turn.MAX_STEPS
+                && (!breaks || Turn.breakAt(turn) <= Turn.steps(turn))
+                && startCell >= 0 && startCell < cells
+                && endCell >= 0 && endCell < cells
+                && player >= 0 && player < players.size()
+                && history[base + 4] == 0; // aucun tour n'est joué dans une partie finie
+        for (int i = 0; i < players.size() && valid; i++) {
+            var score = history[base + HISTORY_HEADER + i];
+            valid = score >= 0 && score <= cells;
+        }
+        if (valid) {
+            var pawn = board.getPawnAt(endCell);
+            valid = pawn != null && pawn.getPlayerId() == player && pawn.getId() == Turn.pawn(turn)
+                    && (!breaks || players.get(player).isCapacityUsed())
+                    && board.removeWall(endCell, Turn.wall(turn));
+        }
+        // Mêmes étapes que unwind, chacune vérifiée : le pion revient sur ses pas et le mur cassé est reposé
+        var cell = endCell;
+        for (int i = Turn.steps(turn); i >= 0 && valid; i--) {
+            if (breaks && Turn.breakAt(turn) == i) {
+                var direction = Turn.breakDirection(turn);
+                valid = board.neighbour(cell, direction) != NeighbourTable.NONE && board.placeWall(cell, direction);
+            }
+            if (i > 0 && valid) {
+                var back = Direction.opposite(Turn.step(turn, i - 1));
+                valid = board.canStep(cell, back) && board.movePawnAt(cell, back);
+                cell = board.neighbour(cell, back);
+            }
+        }
+        if (!valid || cell != startCell) {
+            throw new IllegalArgumentException("Historique invalide au tour " + (index + 1) + ": " + Turn.toString(turn));
+        }
+        if (breaks) {
+            players.get(player).restoreCapacity();
+        }
+        currentPlayerIndex = player;
+        historySize--;
+    }
+
+    private int recordLength() {
+        return HISTORY_HEADER + players.size();
+    }
+
+    private void pushHistory(int turn, int startCell, int endCell) {
+        var base = historySize * recordLength();
+        if (base + recordLength() > history.length) {
+            history = Arrays.copyOf(history, Math.max(64 * recordLength(), history.length * 2));
+        }
+        history[base] = turn;
+        history[base + 1] = startCell;
+        history[base + 2] = endCell;
+        history[base + 3] = currentPlayerIndex;
+        history[base + 4] = isOver ? 1 : 0;
+        for (int i = 0; i < players.size(); i++) {
+            history[base + HISTORY_HEADER + i] = scores.get(players.get(i));
+        }
+        historySize++;
+    }
+
+    /**
+     * Casse un mur intérieur du plateau, les murs de bordure ne peuvent pas être cassés
+     */
+    private boolean breakWall(int cell, int direction) {
+        return board.neighbour(cell, direction) != NeighbourTable.NONE && board.removeWall(cell, direction);
+    }
+
+    /**
+     * Défait les effets d'un tour sur le plateau en partant de la case où se trouve le pion
+     * @param stepsDone nombre de pas effectués
+     * @param broken true si le mur de la capacité spéciale a été cassé
+     * @param wallPlaced true si le mur du tour a été posé
+     */
+    private void unwind(int turn, int cell, int stepsDone, boolean broken, boolean wallPlaced) {
+        if (wallPlaced) {
+            board.removeWall(cell, Turn.wall(turn));
+        }
+        if (broken) {
+            players.get(currentPlayerIndex).restoreCapacity();
+        }
+        for (int i = stepsDone; i >= 0; i--) {
+            if (broken && Turn.breakAt(turn) == i) {
+                board.placeWall(cell, Turn.breakDirection(turn));
+            }
+            if (i > 0) {
+                var back = Direction.opposite(Turn.step(turn, i - 1));
+                board.movePawnAt(cell, back);
+                cell = board.neighbour(cell, back);
+            }
+        }
+    }
+
     private int processNextPlayer(int indexPlayer) {
         return (indexPlayer + 1) % players.size();
     }
@@ -133,59 +475,45 @@ public class Game {
             throw new IllegalStateException("Game has not started yet");
         }
 
-        var processedCells = new HashSet<Cell>(); // Pour éviter les doublons
-        var playerScores = new HashMap<Player, Integer>(); // Map des scores
-
-        // Initialiser les scores à 0
-        playerScores.putAll(players.stream().collect(Collectors.toMap(player -> player, player -> 0)));
-
-        // Obtention de tous les pions du plateau
-        var allPawns = new ArrayList<Pawn>();
-        //obtention des pions du plateau
-        for (var player : players){
-            for (var pawn : player.getPawns()){
-                allPawns.add(pawn);
-            }
+        // Tampons réutilisés d'un tour à l'autre
+        if (visitedLabels == null || visitedLabels.length != board.getRegionLabelCapacity() || playerScores.length != players.size()) {
+            visitedLabels = new int[board.getRegionLabelCapacity()];
+            playerScores = new int[players.size()];
         }
+        if (++visitGeneration == Integer.MAX_VALUE) {
+            Arrays.fill(visitedLabels, 0);
+            visitGeneration = 1;
+        }
+        Arrays.fill(playerScores, 0);
 
         var zonesControlledBySinglePlayer = 0; // Compteur pour déterminer la fin de partie
         var totalZones = 0;
 
-        // Pour chaque pion sur le board, calculer sa zone
-        for (var currentPawn : allPawns){
-            var pawnPosition = currentPawn.getPosition();
-            var currentCell = board.getCellAt(pawnPosition);
-
-            // Éviter de recalculer une zone déjà traitée
-            if (processedCells.contains(currentCell)) {
-                continue;
+        // Les zones sont tenues à jour par le plateau : il suffit de parcourir celles qui contiennent un pion
+        for (int playerIndex = 0; playerIndex < players.size(); playerIndex++) {
+            for (var currentPawn : players.get(playerIndex).getPawns()) {
+                var label = board.getRegionLabel(board.cellIndex(currentPawn.getPosition()));
+
+                // Éviter de recalculer une zone déjà traitée
+                if (visitedLabels[label] == visitGeneration) {
+                    continue;
+                }
+                visitedLabels[label] = visitGeneration;
+                totalZones++;
+
+                // Vérifier si la zone appartient à un seul joueur
+                var controllingPlayerId = board.getRegionOwner(label);
+                if (controllingPlayerId >= 0) {
+                    // Zone contrôlée par un seul joueur
+                    playerScores[controllingPlayerId] += board.getRegionCellCount(label);
+                    zonesControlledBySinglePlayer++;
+                }
             }
-
-            // Obtenir toutes les cellules de la zone connectée
-            var cellsFromPawn = board.getAreaFromPosition(pawnPosition);
-
-            // Obtenir tous les pions dans cette zone groupés par joueur
-            var pawnsByPlayer = getPawnsFromCells(cellsFromPawn);
-
-            totalZones++;
-
-            // Vérifier si la zone appartient à un seul joueur
-            if (pawnsByPlayer.size() == 1) {
-                // Zone contrôlée par un seul joueur
-                var controllingPlayer = pawnsByPlayer.keySet().iterator().next();
-                var scoreToAdd = cellsFromPawn.size();
-
-                // Ajouter les points au joueur dans la map
-                playerScores.put(controllingPlayer, playerScores.get(controllingPlayer) + scoreToAdd);
-
-                zonesControlledBySinglePlayer++;
-            }
-
-            // Marquer toutes les cellules de cette zone comme traitées
-            processedCells.addAll(cellsFromPawn);
         }
 
-        this.scores = playerScores;
+        for (int playerIndex = 0; playerIndex < players.size(); playerIndex++) {
+            scores.put(players.get(playerIndex), playerScores[playerIndex]);
+        }
 
         // La partie est terminée si toutes les zones sont contrôlées par un seul joueur chacune
         isOver = (totalZones > 0 && zonesControlledBySinglePlayer == totalZones);
@@ -205,24 +533,6 @@ public class Game {
         return scores;
     }
 
-    /**
-     * Crée une hashmap de tous les pions d'un ensemble de cellules
-     * @return une hashmap de joueurs et de leurs pions
-     */
-    private HashMap<Player, ArrayList<Pawn>> getPawnsFromCells(Set<Cell> cells){
-        HashMap<Player, ArrayList<Pawn>> pawns = new HashMap<>();
-        for (var cell : cells){
-            if (cell.isOccuped()){
-                var pawn = cell.getOptionalPawn().get();
-                var playerid = pawn.getPlayerId();
-                var player = players.get(playerid);
-                pawns.putIfAbsent(player, new ArrayList<>());
-                pawns.get(player).add(pawn);
-            }
-        }
-        return pawns;
-    }
-
     public boolean isGameOver() {
         return isOver;
     }
@@ -0,0 +1,176 @@
+package model;
+
+import util.TurnJournal;
+
+import java.util.Objects;
+
+/**
+ * Point d'entrée unique des règles d'un tour de jeu, sans interface ni exception.
+ * <p>
+ * Un tour complet ({@link Turn}) est validé en une seule passe sans modifier la partie, puis appliqué
+ * d'un bloc avec {@link Game#apply(int)}, qui passe au joueur suivant et met à jour les scores et la fin
+ * de partie. Un tour refusé laisse la partie inchangée et renvoie la raison du refus.
+ * <p>
+ * Avec un {@link TurnJournal}, chaque tour joué et chaque annulation sont ajoutés au journal sans attendre
+ * l'écriture sur disque. La partie est enregistrée dans le journal à son premier tour, et terminée dans le
+ * journal à la fin de la partie ou par {@link #closeJournal()}.
+ */
+public class GameEngine {
+    private static final long NOT_REGISTERED = -1;
+
+    private final Game game;
+    private final TurnJournal journal;
+    private long journalId;
+
+    public GameEngine(Game game) {
+        this(game, null, NOT_REGISTERED);
+    }
+
+    /**
+     * @param game partie jouée
+     * @param journal journal des tours, null pour ne pas journaliser
+     */
+    public GameEngine(Game game, TurnJournal journal) {
+        this(game, journal, NOT_REGISTERED);
+    }
+
+    /**
+     * Reprend la journalisation d'une partie reconstruite par le journal
+     * @param journalId identifiant de la partie dans le journal
+     */
+    public GameEngine(Game game, TurnJournal journal, long journalId) {
+        this.game = Objects.requireNonNull(game, "Game cannot be null");
+        this.journal = journal;
+        this.journalId = journalId;
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Valide et joue un tour complet pour le joueur courant
+     * @param turn tour encodé avec {@link Turn}
+     * @return {@link TurnResult#OK} si le tour a été joué, la raison du refus sinon
+     */
+    public TurnResult play(int turn) {
+        var result = validate(turn);
+        if (result.isOk()) {
+            if (journal != null && journalId == NOT_REGISTERED) {
+                journalId = journal.register(game);
+            }
+            game.apply(turn);
+            if (journal != null) {
+                journal.recordTurn(journalId, turn);
+                if (game.isGameOver()) {
+                    closeJournal();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Termine la partie dans le journal : elle ne sera plus reprise après un arrêt brutal.
+     * Un tour joué ensuite l'enregistre à nouveau.
+     */
+    public void closeJournal() {
+        if (journal != null && journalId != NOT_REGISTERED) {
+            journal.finish(journalId);
+            journalId = NOT_REGISTERED;
+        }
+    }
+
+    /**
+     * Annule le dernier tour joué
+     * @return false s'il n'y a aucun tour à annuler
+     */
+    public boolean undo() {
+        if (!game.canUndo()) {
+            return false;
+        }
+        game.undo();
+        if (journal != null && journalId != NOT_REGISTERED) {
+            journal.recordUndo(journalId);
+        }
+        return true;
+    }
+
+    /**
+     * Vérifie qu'un tour complet est jouable par le joueur courant, sans modifier la partie
+     * @param turn tour encodé avec {@link Turn}
+     * @return {@link TurnResult#OK} si le tour est jouable, la raison du refus sinon
+     */
+    public TurnResult validate(int turn) {
+        return check(turn, true);
+    }
+
+    /**
+     * Vérifie seulement le déplacement d'un tour (pas et mur cassé), sans le mur posé à la fin.
+     * Permet de valider un tour au fur et à mesure de sa saisie.
+     * @param turn tour encodé avec {@link Turn}, dont le mur posé est ignoré
+     * @return {@link TurnResult#OK} si le déplacement est possible, la raison du refus sinon
+     */
+    public TurnResult validateMove(int turn) {
+        return check(turn, false);
+    }
+
+    private TurnResult check(int turn, boolean withWall) {
+        if (!game.isStarted()) {
+            return TurnResult.GAME_NOT_STARTED;
+        }
+        if (game.isGameOver()) {
+            return TurnResult.GAME_OVER;
+        }
+        var player = game.getCurrentPlayer();
+        var pawnIndex = Turn.pawn(turn);
+        if (turn == Turn.NONE || pawnIndex >= player.getPawns().length) {
+            return TurnResult.INVALID_PAWN;
+        }
+        var board = game.getBoard();
+        var pawn = player.getPawns()[pawnIndex];
+        if (!board.isPawnCanPlaceWall(pawn)) {
+            return TurnResult.PAWN_BLOCKED;
+        }
+        var breaks = Turn.usesCapacity(turn);
+        if (breaks && player.isCapacityUsed()) {
+            return TurnResult.CAPACITY_ALREADY_USED;
+        }
+
+        // Le pion est suivi sans être déplacé : sa case de départ est libre et le mur cassé est ouvert
+        var neighbours = board.getNeighbourTable();
+        var start = board.cellIndex(pawn.getPosition());
+        var cell = start;
+        var open = -1;
+        var steps = Turn.steps(turn);
+        for (int i = 0; ; i++) {
+            if (breaks && Turn.breakAt(turn) == i) {
+                var direction = Turn.breakDirection(turn);
+                open = neighbours.wallSlot(cell, direction);
+                if (neighbours.neighbour(cell, direction) == NeighbourTable.NONE || !board.isWallSlotSet(open)) {
+                    return TurnResult.NO_WALL_TO_BREAK;
+                }
+            }
+            if (i == steps) {
+                break;
+            }
+            var direction = Turn.step(turn, i);
+            var next = neighbours.neighbour(cell, direction);
+            var slot = neighbours.wallSlot(cell, direction);
+            if (next == NeighbourTable.NONE
+                    || (slot != open && board.isWallSlotSet(slot))
+                    || (next != start && board.isOccupied(next))) {
+                return TurnResult.ILLEGAL_MOVE;
+            }
+            cell = next;
+        }
+
+        if (withWall) {
+            var slot = neighbours.wallSlot(cell, Turn.wall(turn));
+            if (slot != open && board.isWallSlotSet(slot)) {
+                return TurnResult.WALL_ALREADY_PLACED;
+            }
+        }
+        return TurnResult.OK;
+    }
+}
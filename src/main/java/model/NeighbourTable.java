@@ -0,0 +1,84 @@
+package model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tables précalculées pour une taille de plateau : voisin de chaque case dans chaque direction
+ * et emplacement du mur correspondant. Les tables sont partagées par tous les plateaux de même taille.
+ * <p>
+ * Une case est repérée par son index {@code y * size + x} et une direction par son ordinal.
+ * Les emplacements de murs horizontaux sont numérotés de {@code 0} à {@code size * (size + 1) - 1},
+ * suivis des emplacements de murs verticaux.
+ */
+public final class NeighbourTable {
+    public static final int NONE = -1;
+    private static final ConcurrentHashMap<Integer, NeighbourTable> TABLES = new ConcurrentHashMap<>();
+
+    public final int size;
+    private final int[] neighbours;
+    private final int[] wallSlots;
+
+    private NeighbourTable(int size) {
+        this.size = size;
+        this.neighbours = new int[size * size * Direction.COUNT];
+        this.wallSlots = new int[size * size * Direction.COUNT];
+        var horizontalCount = size * (size + 1);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                var cell = y * size + x;
+                for (int d = 0; d < Direction.COUNT; d++) {
+                    var direction = Direction.fromOrdinal(d);
+                    var nextX = x + direction.getDx();
+                    var nextY = y + direction.getDy();
+                    var inside = nextX >= 0 && nextX < size && nextY >= 0 && nextY < size;
+                    neighbours[cell * Direction.COUNT + d] = inside ? nextY * size + nextX : NONE;
+                    wallSlots[cell * Direction.COUNT + d] = switch (direction) {
+                        case NORTH -> y * size + x;
+                        case SOUTH -> (y + 1) * size + x;
+                        case WEST -> horizontalCount + y * (size + 1) + x;
+                        case EAST -> horizontalCount + y * (size + 1) + x + 1;
+                    };
+                }
+            }
+        }
+    }
+
+    /**
+     * Renvoie la table associée à une taille de plateau, créée au premier appel
+     * @param size taille du plateau
+     * @return la table partagée
+     */
+    public static NeighbourTable of(int size) {
+        return TABLES.computeIfAbsent(size, NeighbourTable::new);
+    }
+
+    /**
+     * @param cell index de la case
+     * @param direction ordinal de la direction
+     * @return l'index de la case voisine, {@link #NONE} si elle est hors du plateau
+     */
+    public int neighbour(int cell, int direction) {
+        return neighbours[cell * Direction.COUNT + direction];
+    }
+
+    /**
+     * @param cell index de la case
+     * @param direction ordinal de la direction
+     * @return l'emplacement du mur situé sur ce côté de la case
+     */
+    public int wallSlot(int cell, int direction) {
+        return wallSlots[cell * Direction.COUNT + direction];
+    }
+
+    public int cellCount() {
+        return size * size;
+    }
+
+    public int horizontalSlotCount() {
+        return size * (size + 1);
+    }
+
+    public int wallSlotCount() {
+        return 2 * size * (size + 1);
+    }
+}
@@ -27,6 +27,15 @@ public class Pawn {
         }
         this.position = position; }
     public int getPlayerId() { return playerId; }
+
+    /**
+     * Recopie l'état d'un pion de même identifiant, utilisé pour copier une partie
+     */
+    void copyFrom(Pawn other) {
+        this.position = other.position;
+        this.isOnBoard = other.isOnBoard;
+        this.displayName = other.displayName;
+    }
     public int getId() { return id; }
 
     public void setDisplayName(String displayName) {
@@ -20,6 +20,28 @@ public class Player {
         initPawns();
     }
 
+    /**
+     * Crée une copie indépendante d'un joueur et de ses pions
+     * @param other joueur à copier
+     */
+    public Player(Player other) {
+        this(other.id, other.Pawns.length, other.name);
+        copyFrom(other);
+    }
+
+    /**
+     * Recopie la capacité spéciale et les pions d'un joueur ayant le même nombre de pions
+     */
+    void copyFrom(Player other) {
+        if (other.Pawns.length != Pawns.length) {
+            throw new IllegalArgumentException("Les joueurs doivent avoir le même nombre de pions.");
+        }
+        this.isCapacityUsed = other.isCapacityUsed;
+        for (int i = 0; i < Pawns.length; i++) {
+            Pawns[i].copyFrom(other.Pawns[i]);
+        }
+    }
+
     public int getId() { return id; }
     public String getName() { return name; }
 
@@ -35,6 +57,18 @@ public class Player {
     public boolean isCapacityUsed() { return isCapacityUsed; }
     public void useCapacity() { this.isCapacityUsed = true; }
 
+    /**
+     * Rend la capacité spéciale au joueur, utilisé lors de l'annulation d'un tour
+     */
+    void restoreCapacity() { this.isCapacityUsed = false; }
+
+    /**
+     * @return la contribution du joueur à la clé de Zobrist de la partie (capacité spéciale utilisée ou non)
+     */
+    public long getZobristKey() {
+        return isCapacityUsed ? Zobrist.capacity(id) : 0L;
+    }
+
     @Override
     public String toString() {
         return "Joueur " + id + " (" + name + ") - Capacité utilisée: " + isCapacityUsed;
@@ -0,0 +1,104 @@
+package model;
+
+/**
+ * Vue compacte d'une zone du plateau : ensemble des cases reliées entre elles sans traverser de mur.
+ * Une même instance peut être réutilisée pour plusieurs remplissages afin de ne pas allouer de mémoire.
+ * @see Board#fillRegion(int, Region)
+ */
+public final class Region {
+    private final Bitboard members;
+    private final int[] cells;
+    private int cellCount;
+    private final Pawn[] pawns;
+    private int pawnCount;
+    private int playerMask;
+
+    /**
+     * Crée une zone vide pour un plateau d'une taille donnée
+     * @param boardSize taille du plateau
+     */
+    public Region(int boardSize) {
+        this.members = new Bitboard(boardSize * boardSize);
+        this.cells = new int[boardSize * boardSize];
+        this.pawns = new Pawn[boardSize * boardSize];
+    }
+
+    void reset() {
+        members.clearAll();
+        for (int i = 0; i < pawnCount; i++) {
+            pawns[i] = null;
+        }
+        cellCount = 0;
+        pawnCount = 0;
+        playerMask = 0;
+    }
+
+    /**
+     * Ajoute une case non encore présente dans la zone
+     */
+    void addCell(int cell) {
+        members.set(cell);
+        cells[cellCount++] = cell;
+    }
+
+    void addPawn(Pawn pawn) {
+        pawns[pawnCount++] = pawn;
+        playerMask |= 1 << pawn.getPlayerId();
+    }
+
+    int cellAt(int index) {
+        return cells[index];
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * @return l'ensemble des index des cases de la zone (à ne pas modifier)
+     */
+    public Bitboard getMembers() {
+        return members;
+    }
+
+    public boolean contains(int cell) {
+        return members.get(cell);
+    }
+
+    public int getPawnCount() {
+        return pawnCount;
+    }
+
+    public Pawn getPawn(int index) {
+        if (index < 0 || index >= pawnCount) {
+            throw new IndexOutOfBoundsException("Index de pion invalide: " + index);
+        }
+        return pawns[index];
+    }
+
+    /**
+     * @return un masque contenant le bit {@code 1 << playerId} pour chaque joueur ayant un pion dans la zone
+     */
+    public int getPlayerMask() {
+        return playerMask;
+    }
+
+    /**
+     * @return true si tous les pions de la zone appartiennent à un seul et même joueur
+     */
+    public boolean isControlledBySinglePlayer() {
+        return Integer.bitCount(playerMask) == 1;
+    }
+
+    /**
+     * @return l'identifiant du joueur contrôlant seul la zone, -1 si la zone est vide ou partagée
+     */
+    public int getControllingPlayerId() {
+        return isControlledBySinglePlayer() ? Integer.numberOfTrailingZeros(playerMask) : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "Region{cases=" + cellCount + ", pions=" + pawnCount + ", membres=" + members + '}';
+    }
+}
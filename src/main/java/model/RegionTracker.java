@@ -0,0 +1,477 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Maintient de façon incrémentale le découpage du plateau en zones.
+ * <p>
+ * Un union-find relie les poteaux du treillis de murs ((SIZE + 1) x (SIZE + 1) poteaux) : un mur posé entre
+ * deux poteaux déjà reliés (par d'autres murs ou par la bordure) ferme une boucle, et seule une boucle peut
+ * couper une zone en deux. Dans ce cas seulement, la zone touchée est ré-étiquetée localement en parcourant
+ * en parallèle les deux côtés du mur et en renommant le plus petit.
+ * <p>
+ * Chaque case porte une étiquette de zone et chaque étiquette tient son nombre de cases
+ * et son nombre de pions par joueur. Les étiquettes forment elles-mêmes un union-find : retirer un mur
+ * entre deux zones différentes fusionne leurs étiquettes en temps constant, sans toucher aux cases.
+ * L'étiquette d'une case est donc la racine de l'étiquette qu'elle porte.
+ * <p>
+ * L'union-find des poteaux n'utilise que l'union par taille, sans compression de chemin, et garde
+ * l'historique de ses unions : retirer le dernier mur posé (annulation d'un tour) défait la dernière
+ * union en temps constant. Tout autre retrait impose de le reconstruire à la prochaine pose de mur.
+ */
+final class RegionTracker {
+    private final Board board;
+    private final NeighbourTable neighbours;
+    private final int size;
+
+    // Union-find des poteaux : index py * (SIZE + 1) + px
+    private final int[] postParent;
+    private final int[] postSize;
+    private boolean postsDirty;
+    private final int[] historySlot;
+    private final int[] historyChild;   // racine rattachée par l'union, -1 si le mur a fermé une boucle
+    private int historySize;
+    private boolean lastWallClosedLoop;
+
+    // Étiquettes de zones
+    private final int[] cellLabel;
+    private final int labelCapacity;
+    private final int[] labelParent;
+    private final int[] labelCellCount;
+    private final int[] labelPawnCount;     // labelCapacity * Board.MAX_PLAYERS
+    private final int[] labelPlayerCount;   // nombre de joueurs distincts présents
+    private int nextLabel;
+
+    // Tampons du parcours bilatéral
+    private final int[] queueA;
+    private final int[] queueB;
+    private final int[] visitMark;
+    private int visitGeneration;
+
+    RegionTracker(Board board) {
+        this.board = board;
+        this.neighbours = board.getNeighbourTable();
+        this.size = board.SIZE;
+        var posts = (size + 1) * (size + 1);
+        this.postParent = new int[posts];
+        this.postSize = new int[posts];
+        this.historySlot = new int[neighbours.wallSlotCount()];
+        this.historyChild = new int[neighbours.wallSlotCount()];
+        var cells = size * size;
+        this.cellLabel = new int[cells];
+        this.labelCapacity = 2 * cells;
+        this.labelParent = new int[labelCapacity];
+        this.labelCellCount = new int[labelCapacity];
+        this.labelPawnCount = new int[labelCapacity * Board.MAX_PLAYERS];
+        this.labelPlayerCount = new int[labelCapacity];
+        this.queueA = new int[cells];
+        this.queueB = new int[cells];
+        this.visitMark = new int[cells];
+    }
+
+    /**
+     * Recopie l'état d'un suivi de zones d'un plateau de même taille
+     */
+    void copyFrom(RegionTracker other) {
+        System.arraycopy(other.postParent, 0, postParent, 0, postParent.length);
+        System.arraycopy(other.postSize, 0, postSize, 0, postSize.length);
+        postsDirty = other.postsDirty;
+        System.arraycopy(other.historySlot, 0, historySlot, 0, other.historySize);
+        System.arraycopy(other.historyChild, 0, historyChild, 0, other.historySize);
+        historySize = other.historySize;
+        lastWallClosedLoop = other.lastWallClosedLoop;
+        System.arraycopy(other.cellLabel, 0, cellLabel, 0, cellLabel.length);
+        System.arraycopy(other.labelParent, 0, labelParent, 0, labelParent.length);
+        System.arraycopy(other.labelCellCount, 0, labelCellCount, 0, labelCellCount.length);
+        System.arraycopy(other.labelPawnCount, 0, labelPawnCount, 0, labelPawnCount.length);
+        System.arraycopy(other.labelPlayerCount, 0, labelPlayerCount, 0, labelPlayerCount.length);
+        nextLabel = other.nextLabel;
+    }
+
+    int getLabelCapacity() {
+        return labelCapacity;
+    }
+
+    int labelOf(int cell) {
+        return findLabel(cellLabel[cell]);
+    }
+
+    private int findLabel(int label) {
+        while (labelParent[label] != label) {
+            labelParent[label] = labelParent[labelParent[label]]; // compression par moitié
+            label = labelParent[label];
+        }
+        return label;
+    }
+
+    int cellCount(int label) {
+        return labelCellCount[label];
+    }
+
+    int pawnCount(int label, int playerId) {
+        return labelPawnCount[label * Board.MAX_PLAYERS + playerId];
+    }
+
+    /**
+     * @return l'identifiant du seul joueur présent dans la zone, -1 si la zone est vide ou partagée
+     */
+    int owner(int label) {
+        if (labelPlayerCount[label] != 1) {
+            return -1;
+        }
+        var base = label * Board.MAX_PLAYERS;
+        for (int player = 0; player < Board.MAX_PLAYERS; player++) {
+            if (labelPawnCount[base + player] > 0) {
+                return player;
+            }
+        }
+        return -1;
+    }
+
+    boolean lastWallClosedLoop() {
+        return lastWallClosedLoop;
+    }
+
+    // ------------------------------------------------------------------
+    // Poteaux
+    // ------------------------------------------------------------------
+
+    private int findPost(int post) {
+        // Pas de compression de chemin pour pouvoir défaire les unions, l'union par taille borne la hauteur
+        while (postParent[post] != post) {
+            post = postParent[post];
+        }
+        return post;
+    }
+
+    /**
+     * Relie deux poteaux
+     * @return la racine rattachée à l'autre, -1 si les poteaux étaient déjà reliés (boucle fermée)
+     */
+    private int unionPosts(int post1, int post2) {
+        var root1 = findPost(post1);
+        var root2 = findPost(post2);
+        if (root1 == root2) {
+            return -1;
+        }
+        if (postSize[root1] < postSize[root2]) {
+            var tmp = root1;
+            root1 = root2;
+            root2 = tmp;
+        }
+        postParent[root2] = root1;
+        postSize[root1] += postSize[root2];
+        return root2;
+    }
+
+    private void undoUnion(int child) {
+        if (child >= 0) {
+            var root = postParent[child];
+            postParent[child] = child;
+            // Les tailles sont maintenues sur toute la chaîne des ancêtres de l'ancienne racine
+            while (true) {
+                postSize[root] -= postSize[child];
+                if (postParent[root] == root) {
+                    break;
+                }
+                root = postParent[root];
+            }
+        }
+    }
+
+    private int firstPost(int slot) {
+        var horizontalCount = neighbours.horizontalSlotCount();
+        if (slot < horizontalCount) {
+            return (slot / size) * (size + 1) + slot % size;
+        }
+        var vertical = slot - horizontalCount;
+        return (vertical / (size + 1)) * (size + 1) + vertical % (size + 1);
+    }
+
+    private int secondPost(int slot) {
+        // Mur horizontal : poteau suivant sur la même ligne, mur vertical : poteau de la ligne suivante
+        return slot < neighbours.horizontalSlotCount() ? firstPost(slot) + 1 : firstPost(slot) + size + 1;
+    }
+
+    /**
+     * Reconstruit l'union-find des poteaux à partir des murs présents
+     * @param skippedSlot emplacement de mur à ignorer, -1 pour n'en ignorer aucun
+     */
+    private void rebuildPosts(int skippedSlot) {
+        historySize = 0;
+        for (int post = 0; post < postParent.length; post++) {
+            postParent[post] = post;
+            postSize[post] = 1;
+        }
+        for (int slot = 0; slot < neighbours.wallSlotCount(); slot++) {
+            if (slot != skippedSlot && board.isWallSlotSet(slot)) {
+                unionPosts(firstPost(slot), secondPost(slot));
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Cases de part et d'autre d'un mur
+    // ------------------------------------------------------------------
+
+    /**
+     * @return la case au nord (mur horizontal) ou à l'ouest (mur vertical) du mur, NONE si hors plateau
+     */
+    private int cellBefore(int slot) {
+        var horizontalCount = neighbours.horizontalSlotCount();
+        if (slot < horizontalCount) {
+            var y = slot / size;
+            return y > 0 ? slot - size : NeighbourTable.NONE;
+        }
+        var vertical = slot - horizontalCount;
+        var x = vertical % (size + 1);
+        return x > 0 ? (vertical / (size + 1)) * size + x - 1 : NeighbourTable.NONE;
+    }
+
+    /**
+     * @return la case au sud (mur horizontal) ou à l'est (mur vertical) du mur, NONE si hors plateau
+     */
+    private int cellAfter(int slot) {
+        var horizontalCount = neighbours.horizontalSlotCount();
+        if (slot < horizontalCount) {
+            var y = slot / size;
+            return y < size ? slot : NeighbourTable.NONE;
+        }
+        var vertical = slot - horizontalCount;
+        var x = vertical % (size + 1);
+        return x < size ? (vertical / (size + 1)) * size + x : NeighbourTable.NONE;
+    }
+
+    // ------------------------------------------------------------------
+    // Évènements du plateau
+    // ------------------------------------------------------------------
+
+    /**
+     * Recalcule entièrement les poteaux et les zones
+     */
+    void rebuild() {
+        rebuildPosts(-1);
+        postsDirty = false;
+        relabelAll();
+    }
+
+    void onWallPlaced(int slot) {
+        if (postsDirty) {
+            rebuildPosts(slot); // sans le nouveau mur, relié juste après
+            postsDirty = false;
+        }
+        var child = unionPosts(firstPost(slot), secondPost(slot));
+        historySlot[historySize] = slot;
+        historyChild[historySize] = child;
+        historySize++;
+        lastWallClosedLoop = child < 0;
+        if (lastWallClosedLoop) {
+            splitAcross(slot);
+        }
+    }
+
+    /**
+     * Un retrait de mur ne peut que fusionner deux zones : les étiquettes des deux côtés sont réunies
+     * en temps constant. Si le mur est le dernier posé, son union de poteaux est défaite, sinon
+     * l'union-find des poteaux est marqué à reconstruire et ne le sera qu'à la prochaine pose de mur.
+     */
+    void onWallRemoved(int slot) {
+        lastWallClosedLoop = false;
+        if (!postsDirty && historySize > 0 && historySlot[historySize - 1] == slot) {
+            historySize--;
+            undoUnion(historyChild[historySize]);
+        } else {
+            postsDirty = true;
+        }
+        var cellA = cellBefore(slot);
+        var cellB = cellAfter(slot);
+        if (cellA != NeighbourTable.NONE && cellB != NeighbourTable.NONE) {
+            mergeLabels(findLabel(cellLabel[cellA]), findLabel(cellLabel[cellB]));
+        }
+    }
+
+    private void mergeLabels(int label1, int label2) {
+        if (label1 == label2) {
+            return;
+        }
+        // La plus petite zone est rattachée à la plus grande
+        if (labelCellCount[label1] < labelCellCount[label2]) {
+            var tmp = label1;
+            label1 = label2;
+            label2 = tmp;
+        }
+        labelParent[label2] = label1;
+        labelCellCount[label1] += labelCellCount[label2];
+        var base1 = label1 * Board.MAX_PLAYERS;
+        var base2 = label2 * Board.MAX_PLAYERS;
+        var players = 0;
+        for (int player = 0; player < Board.MAX_PLAYERS; player++) {
+            labelPawnCount[base1 + player] += labelPawnCount[base2 + player];
+            if (labelPawnCount[base1 + player] > 0) {
+                players++;
+            }
+        }
+        labelPlayerCount[label1] = players;
+    }
+
+    void onPawnAdded(int cell, int playerId) {
+        addPawn(findLabel(cellLabel[cell]), playerId, 1);
+    }
+
+    void onPawnRemoved(int cell, int playerId) {
+        addPawn(findLabel(cellLabel[cell]), playerId, -1);
+    }
+
+    void onPawnMoved(int from, int to, int playerId) {
+        var fromLabel = findLabel(cellLabel[from]);
+        var toLabel = findLabel(cellLabel[to]);
+        if (fromLabel != toLabel) {
+            addPawn(fromLabel, playerId, -1);
+            addPawn(toLabel, playerId, 1);
+        }
+    }
+
+    private void addPawn(int label, int playerId, int delta) {
+        var index = label * Board.MAX_PLAYERS + playerId;
+        var before = labelPawnCount[index];
+        labelPawnCount[index] = before + delta;
+        if (before == 0 && delta > 0) {
+            labelPlayerCount[label]++;
+        } else if (before + delta == 0 && delta < 0) {
+            labelPlayerCount[label]--;
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Étiquetage
+    // ------------------------------------------------------------------
+
+    private int newLabel() {
+        var label = nextLabel++;
+        labelParent[label] = label;
+        labelCellCount[label] = 0;
+        labelPlayerCount[label] = 0;
+        Arrays.fill(labelPawnCount, label * Board.MAX_PLAYERS, (label + 1) * Board.MAX_PLAYERS, 0);
+        return label;
+    }
+
+    private void assign(int cell, int label) {
+        cellLabel[cell] = label;
+        labelCellCount[label]++;
+        var pawn = board.getPawnAt(cell);
+        if (pawn != null) {
+            addPawn(label, pawn.getPlayerId(), 1);
+        }
+    }
+
+    private void unassign(int cell, int label) {
+        labelCellCount[label]--;
+        var pawn = board.getPawnAt(cell);
+        if (pawn != null) {
+            addPawn(label, pawn.getPlayerId(), -1);
+        }
+    }
+
+    private int nextVisitGeneration() {
+        if (visitGeneration == Integer.MAX_VALUE / 2) {
+            Arrays.fill(visitMark, 0);
+            visitGeneration = 0;
+        }
+        return ++visitGeneration;
+    }
+
+    /**
+     * Étiquette toutes les zones du plateau à partir de zéro
+     */
+    private void relabelAll() {
+        nextLabel = 0;
+        var mark = nextVisitGeneration() * 2;
+        for (int start = 0; start < cellLabel.length; start++) {
+            if (visitMark[start] == mark) {
+                continue;
+            }
+            var label = newLabel();
+            visitMark[start] = mark;
+            queueA[0] = start;
+            var tail = 1;
+            for (int head = 0; head < tail; head++) {
+                var cell = queueA[head];
+                assign(cell, label);
+                for (int direction = 0; direction < Direction.COUNT; direction++) {
+                    var next = neighbours.neighbour(cell, direction);
+                    if (next != NeighbourTable.NONE && visitMark[next] != mark
+                            && !board.isWallSlotSet(neighbours.wallSlot(cell, direction))) {
+                        visitMark[next] = mark;
+                        queueA[tail++] = next;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Parcourt en parallèle les deux côtés d'un mur qui vient de fermer une boucle.
+     * Dès qu'un côté est entièrement exploré sans rencontrer l'autre, il devient une nouvelle zone :
+     * le coût est proportionnel à la plus petite des deux zones.
+     */
+    private void splitAcross(int slot) {
+        var cellA = cellBefore(slot);
+        var cellB = cellAfter(slot);
+        if (cellA == NeighbourTable.NONE || cellB == NeighbourTable.NONE) {
+            return; // Mur de bordure : aucune zone n'est coupée
+        }
+        var generation = nextVisitGeneration();
+        var markA = generation * 2;
+        var markB = generation * 2 + 1;
+        visitMark[cellA] = markA;
+        visitMark[cellB] = markB;
+        queueA[0] = cellA;
+        queueB[0] = cellB;
+        int headA = 0, tailA = 1, headB = 0, tailB = 1;
+
+        while (headA < tailA && headB < tailB) {
+            tailA = expand(queueA[headA++], queueA, tailA, markA, markB);
+            if (tailA < 0) {
+                return; // Les deux côtés sont reliés : la zone n'est pas coupée
+            }
+            tailB = expand(queueB[headB++], queueB, tailB, markB, markA);
+            if (tailB < 0) {
+                return;
+            }
+        }
+
+        if (nextLabel == labelCapacity) {
+            relabelAll(); // Plus d'étiquette disponible : on compacte
+            return;
+        }
+        var closedQueue = headA == tailA ? queueA : queueB;
+        var closedCount = headA == tailA ? tailA : tailB;
+        var oldLabel = findLabel(cellLabel[closedQueue[0]]);
+        var label = newLabel();
+        for (int i = 0; i < closedCount; i++) {
+            unassign(closedQueue[i], oldLabel);
+            assign(closedQueue[i], label);
+        }
+    }
+
+    /**
+     * Ajoute à la file les voisins accessibles d'une case
+     * @return la nouvelle fin de file, -1 si une case de l'autre côté a été atteinte
+     */
+    private int expand(int cell, int[] queue, int tail, int ownMark, int otherMark) {
+        for (int direction = 0; direction < Direction.COUNT; direction++) {
+            var next = neighbours.neighbour(cell, direction);
+            if (next == NeighbourTable.NONE || board.isWallSlotSet(neighbours.wallSlot(cell, direction))) {
+                continue;
+            }
+            if (visitMark[next] == otherMark) {
+                return -1;
+            }
+            if (visitMark[next] != ownMark) {
+                visitMark[next] = ownMark;
+                queue[tail++] = next;
+            }
+        }
+        return tail;
+    }
+}
@@ -0,0 +1,141 @@
+package model;
+
+/**
+ * Représentation compacte d'un tour de jeu dans un {@code int}, pour manipuler des tours sans allouer d'objet.
+ * <p>
+ * Un tour se compose du pion joué (index dans les pions du joueur), d'un chemin de 0 à 2 pas, du côté
+ * de la case d'arrivée où le mur est posé et, si la capacité spéciale est utilisée, du mur cassé :
+ * il est cassé sur le côté {@link #breakDirection(int)} de la case où se trouve le pion après
+ * {@link #breakAt(int)} pas.
+ * <pre>
+ * bits 0-2   index du pion
+ * bits 3-4   nombre de pas
+ * bits 5-6   direction du premier pas
+ * bits 7-8   direction du second pas
+ * bits 9-10  côté du mur posé
+ * bit  11    capacité spéciale utilisée
+ * bits 12-13 nombre de pas effectués avant de casser le mur
+ * bits 14-15 côté du mur cassé
+ * </pre>
+ * Les directions sont les ordinaux de {@link Direction}.
+ */
+public final class Turn {
+    public static final int NONE = -1;
+    public static final int MAX_STEPS = 2;
+    public static final int MAX_PAWNS = 8;
+
+    private static final int STEPS_SHIFT = 3;
+    private static final int FIRST_STEP_SHIFT = 5;
+    private static final int SECOND_STEP_SHIFT = 7;
+    private static final int WALL_SHIFT = 9;
+    private static final int CAPACITY_BIT = 1 << 11;
+    private static final int BREAK_AT_SHIFT = 12;
+    private static final int BREAK_DIRECTION_SHIFT = 14;
+
+    private Turn() {
+    }
+
+    /**
+     * Crée un tour sans capacité spéciale
+     * @param pawn index du pion dans les pions du joueur
+     * @param steps nombre de pas (0 à 2)
+     * @param firstStep ordinal de la direction du premier pas (ignoré si aucun pas)
+     * @param secondStep ordinal de la direction du second pas (ignoré si moins de 2 pas)
+     * @param wall ordinal du côté de la case d'arrivée où poser le mur
+     * @return le tour encodé
+     */
+    public static int of(int pawn, int steps, int firstStep, int secondStep, int wall) {
+        if (pawn < 0 || pawn >= MAX_PAWNS) {
+            throw new IllegalArgumentException("Index de pion invalide: " + pawn);
+        }
+        if (steps < 0 || steps > MAX_STEPS) {
+            throw new IllegalArgumentException("Nombre de pas invalide: " + steps);
+        }
+        return pawn
+                | steps << STEPS_SHIFT
+                | (steps > 0 ? firstStep & 3 : 0) << FIRST_STEP_SHIFT
+                | (steps > 1 ? secondStep & 3 : 0) << SECOND_STEP_SHIFT
+                | (wall & 3) << WALL_SHIFT;
+    }
+
+    /**
+     * Ajoute l'utilisation de la capacité spéciale à un tour
+     * @param turn tour sans capacité spéciale
+     * @param breakAt nombre de pas effectués avant de casser le mur (0 à {@link #steps(int)})
+     * @param breakDirection ordinal du côté de la case où casser le mur
+     * @return le tour encodé
+     */
+    public static int withBreak(int turn, int breakAt, int breakDirection) {
+        if (breakAt < 0 || breakAt > steps(turn)) {
+            throw new IllegalArgumentException("Le mur doit être cassé pendant le déplacement: " + breakAt);
+        }
+        return turn & ~(CAPACITY_BIT | 3 << BREAK_AT_SHIFT | 3 << BREAK_DIRECTION_SHIFT)
+                | CAPACITY_BIT
+                | breakAt << BREAK_AT_SHIFT
+                | (breakDirection & 3) << BREAK_DIRECTION_SHIFT;
+    }
+
+    /**
+     * @param turn tour encodé
+     * @param wall ordinal du côté de la case d'arrivée où poser le mur
+     * @return le même tour avec un autre mur posé
+     */
+    public static int withWall(int turn, int wall) {
+        return turn & ~(3 << WALL_SHIFT) | (wall & 3) << WALL_SHIFT;
+    }
+
+    public static int pawn(int turn) {
+        return turn & 7;
+    }
+
+    public static int steps(int turn) {
+        return (turn >>> STEPS_SHIFT) & 3;
+    }
+
+    /**
+     * @param turn tour encodé
+     * @param index numéro du pas (0 ou 1)
+     * @return l'ordinal de la direction du pas
+     */
+    public static int step(int turn, int index) {
+        return (turn >>> (index == 0 ? FIRST_STEP_SHIFT : SECOND_STEP_SHIFT)) & 3;
+    }
+
+    public static int wall(int turn) {
+        return (turn >>> WALL_SHIFT) & 3;
+    }
+
+    public static boolean usesCapacity(int turn) {
+        return (turn & CAPACITY_BIT) != 0;
+    }
+
+    public static int breakAt(int turn) {
+        return (turn >>> BREAK_AT_SHIFT) & 3;
+    }
+
+    public static int breakDirection(int turn) {
+        return (turn >>> BREAK_DIRECTION_SHIFT) & 3;
+    }
+
+    /**
+     * @return une description lisible du tour, pour le débogage
+     */
+    public static String toString(int turn) {
+        if (turn == NONE) {
+            return "Turn{aucun}";
+        }
+        var sb = new StringBuilder("Turn{pion=").append(pawn(turn)).append(", pas=[");
+        for (int i = 0; i < steps(turn); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(Direction.fromOrdinal(step(turn, i)));
+        }
+        sb.append("], mur=").append(Direction.fromOrdinal(wall(turn)));
+        if (usesCapacity(turn)) {
+            sb.append(", cassé=").append(Direction.fromOrdinal(breakDirection(turn)))
+                    .append(" après ").append(breakAt(turn)).append(" pas");
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,212 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Générateur de tous les tours jouables par le joueur courant d'une partie.
+ * <p>
+ * Un tour jouable est un pion du joueur pouvant poser un mur (voir {@link Board#isPawnCanPlaceWall(Pawn)}),
+ * une case d'arrivée atteignable en 0, 1 ou 2 pas et un côté libre de cette case où poser le mur. Si la
+ * capacité spéciale du joueur n'a pas été utilisée, les tours qui cassent un mur intérieur adjacent au
+ * pion pendant son déplacement sont aussi générés. Les tours sont dédoublonnés : un seul chemin est
+ * conservé par case d'arrivée (et par mur cassé).
+ * <p>
+ * Les tours sont écrits sous la forme de {@link Turn} dans un tableau fourni par l'appelant. Le générateur
+ * garde ses tampons de travail d'un appel à l'autre et n'alloue rien une fois dimensionné ; il n'est pas
+ * utilisable par plusieurs threads à la fois.
+ */
+public final class TurnGenerator {
+    /**
+     * Nombre maximum de tours générés pour un pion : 13 cases d'arrivée et 4 murs sans capacité, et au
+     * plus 84 + 80 + 64 combinaisons de chemin et de mur cassé (cassé après 0, 1 ou 2 pas) et 4 murs avec.
+     */
+    public static final int MAX_TURNS_PER_PAWN = 13 * 4 + (84 + 80 + 64) * 4;
+
+    private int[] visitedCells = new int[0];
+    private int visitGeneration;
+    private long[] capacityKeys = new long[64];
+    private int capacityKeyCount;
+
+    /**
+     * @param game partie en cours
+     * @return la taille de tampon suffisante pour {@link #generate(Game, int[])}
+     */
+    public static int maxTurns(Game game) {
+        return game.getCurrentPlayer().getPawns().length * MAX_TURNS_PER_PAWN;
+    }
+
+    /**
+     * Écrit tous les tours jouables du joueur courant dans un tampon
+     * @param game partie en cours
+     * @param buffer tampon recevant les tours, d'au moins {@link #maxTurns(Game)} entiers
+     * @return le nombre de tours écrits, 0 si la partie n'est pas en cours
+     */
+    public int generate(Game game, int[] buffer) {
+        if (!game.isStarted() || game.isGameOver()) {
+            return 0;
+        }
+        if (buffer.length < maxTurns(game)) {
+            throw new IllegalArgumentException("Le tampon doit contenir au moins " + maxTurns(game) + " tours.");
+        }
+        var board = game.getBoard();
+        if (visitedCells.length != board.getCellCount()) {
+            visitedCells = new int[board.getCellCount()];
+            visitGeneration = 0;
+        }
+
+        var player = game.getCurrentPlayer();
+        var pawns = player.getPawns();
+        var count = 0;
+        for (int pawnIndex = 0; pawnIndex < pawns.length; pawnIndex++) {
+            if (!board.isPawnCanPlaceWall(pawns[pawnIndex])) {
+                continue;
+            }
+            var start = board.cellIndex(pawns[pawnIndex].getPosition());
+            count = generateMoves(board, pawnIndex, start, buffer, count);
+            if (!player.isCapacityUsed()) {
+                count = generateCapacityMoves(board, pawnIndex, start, buffer, count);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Tours sans capacité spéciale : chaque case atteignable est visitée une seule fois
+     */
+    private int generateMoves(Board board, int pawnIndex, int start, int[] buffer, int count) {
+        nextGeneration();
+        visitedCells[start] = visitGeneration;
+        count = addWalls(board, Turn.of(pawnIndex, 0, 0, 0, 0), start, -1, buffer, count);
+        for (int first = 0; first < Direction.COUNT; first++) {
+            var middle = step(board, start, first, start, -1);
+            if (middle == NeighbourTable.NONE) {
+                continue;
+            }
+            if (visitedCells[middle] != visitGeneration) {
+                visitedCells[middle] = visitGeneration;
+                count = addWalls(board, Turn.of(pawnIndex, 1, first, 0, 0), middle, -1, buffer, count);
+            }
+            for (int second = 0; second < Direction.COUNT; second++) {
+                var end = step(board, middle, second, start, -1);
+                if (end != NeighbourTable.NONE && visitedCells[end] != visitGeneration) {
+                    visitedCells[end] = visitGeneration;
+                    count = addWalls(board, Turn.of(pawnIndex, 2, first, second, 0), end, -1, buffer, count);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Tours avec capacité spéciale : le mur est cassé après 0, 1 ou 2 pas ordinaires, puis le pion
+     * finit son déplacement en pouvant traverser le mur cassé
+     */
+    private int generateCapacityMoves(Board board, int pawnIndex, int start, int[] buffer, int count) {
+        capacityKeyCount = 0;
+        count = breakAndFinish(board, pawnIndex, start, start, 0, 0, 0, buffer, count);
+        for (int first = 0; first < Direction.COUNT; first++) {
+            var middle = step(board, start, first, start, -1);
+            if (middle == NeighbourTable.NONE) {
+                continue;
+            }
+            count = breakAndFinish(board, pawnIndex, start, middle, 1, first, 0, buffer, count);
+            for (int second = 0; second < Direction.COUNT; second++) {
+                var end = step(board, middle, second, start, -1);
+                if (end != NeighbourTable.NONE) {
+                    count = breakAndFinish(board, pawnIndex, start, end, 2, first, second, buffer, count);
+                }
+            }
+        }
+        return count;
+    }
+
+    private int breakAndFinish(Board board, int pawnIndex, int start, int cell, int stepsDone,
+                               int first, int second, int[] buffer, int count) {
+        var neighbours = board.getNeighbourTable();
+        for (int breakDirection = 0; breakDirection < Direction.COUNT; breakDirection++) {
+            // Seuls les murs intérieurs peuvent être cassés
+            var broken = neighbours.wallSlot(cell, breakDirection);
+            if (neighbours.neighbour(cell, breakDirection) == NeighbourTable.NONE || !board.isWallSlotSet(broken)) {
+                continue;
+            }
+            count = addCapacityTurn(board, pawnIndex, stepsDone, first, second, cell, stepsDone, breakDirection, broken, buffer, count);
+            if (stepsDone == Turn.MAX_STEPS) {
+                continue;
+            }
+            for (int direction = 0; direction < Direction.COUNT; direction++) {
+                var next = step(board, cell, direction, start, broken);
+                if (next == NeighbourTable.NONE) {
+                    continue;
+                }
+                if (stepsDone == 0) {
+                    count = addCapacityTurn(board, pawnIndex, 1, direction, 0, next, 0, breakDirection, broken, buffer, count);
+                    for (int last = 0; last < Direction.COUNT; last++) {
+                        var end = step(board, next, last, start, broken);
+                        if (end != NeighbourTable.NONE) {
+                            count = addCapacityTurn(board, pawnIndex, 2, direction, last, end, 0, breakDirection, broken, buffer, count);
+                        }
+                    }
+                } else {
+                    count = addCapacityTurn(board, pawnIndex, 2, first, direction, next, 1, breakDirection, broken, buffer, count);
+                }
+            }
+        }
+        return count;
+    }
+
+    private int addCapacityTurn(Board board, int pawnIndex, int steps, int first, int second, int end,
+                                int breakAt, int breakDirection, int broken, int[] buffer, int count) {
+        var key = (long) end * board.getWallSlotCount() + broken;
+        for (int i = 0; i < capacityKeyCount; i++) {
+            if (capacityKeys[i] == key) {
+                return count;
+            }
+        }
+        if (capacityKeyCount == capacityKeys.length) {
+            capacityKeys = Arrays.copyOf(capacityKeys, capacityKeys.length * 2);
+        }
+        capacityKeys[capacityKeyCount++] = key;
+        var turn = Turn.withBreak(Turn.of(pawnIndex, steps, first, second, 0), breakAt, breakDirection);
+        return addWalls(board, turn, end, broken, buffer, count);
+    }
+
+    /**
+     * Ajoute un tour par côté libre de la case d'arrivée
+     * @param broken emplacement du mur cassé par la capacité spéciale, -1 si aucun
+     */
+    private static int addWalls(Board board, int turn, int end, int broken, int[] buffer, int count) {
+        var neighbours = board.getNeighbourTable();
+        for (int wall = 0; wall < Direction.COUNT; wall++) {
+            var slot = neighbours.wallSlot(end, wall);
+            if (slot == broken || !board.isWallSlotSet(slot)) {
+                buffer[count++] = Turn.withWall(turn, wall);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Fait un pas sans modifier le plateau : la case de départ du pion est considérée comme libre
+     * @param open emplacement d'un mur considéré comme cassé, -1 si aucun
+     * @return la case atteinte, {@link NeighbourTable#NONE} si le pas est impossible
+     */
+    private static int step(Board board, int cell, int direction, int start, int open) {
+        var neighbours = board.getNeighbourTable();
+        var next = neighbours.neighbour(cell, direction);
+        if (next == NeighbourTable.NONE) {
+            return NeighbourTable.NONE;
+        }
+        var slot = neighbours.wallSlot(cell, direction);
+        if ((slot != open && board.isWallSlotSet(slot)) || (next != start && board.isOccupied(next))) {
+            return NeighbourTable.NONE;
+        }
+        return next;
+    }
+
+    private void nextGeneration() {
+        if (++visitGeneration == Integer.MAX_VALUE) {
+            Arrays.fill(visitedCells, 0);
+            visitGeneration = 1;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package model;
+
+/**
+ * Résultat de la validation ou de l'application d'un tour par {@link GameEngine}
+ */
+public enum TurnResult {
+    OK,
+    GAME_NOT_STARTED,
+    GAME_OVER,
+    /** Le joueur n'a pas de pion à cet index */
+    INVALID_PAWN,
+    /** Le pion est entouré de murs et ne peut pas poser de mur */
+    PAWN_BLOCKED,
+    CAPACITY_ALREADY_USED,
+    /** Aucun mur intérieur à casser à l'endroit indiqué */
+    NO_WALL_TO_BREAK,
+    /** Un pas sort du plateau, traverse un mur ou arrive sur une case occupée */
+    ILLEGAL_MOVE,
+    WALL_ALREADY_PLACED;
+
+    public boolean isOk() {
+        return this == OK;
+    }
+
+    /**
+     * @return un message lisible décrivant le résultat
+     */
+    public String getMessage() {
+        return switch (this) {
+            case OK -> "Tour joué.";
+            case GAME_NOT_STARTED -> "La partie n'a pas commencé.";
+            case GAME_OVER -> "La partie est terminée.";
+            case INVALID_PAWN -> "Ce pion n'existe pas.";
+            case PAWN_BLOCKED -> "Ce pion ne peut plus poser de mur.";
+            case CAPACITY_ALREADY_USED -> "La capacité spéciale a déjà été utilisée.";
+            case NO_WALL_TO_BREAK -> "Aucun mur à casser à cet endroit.";
+            case ILLEGAL_MOVE -> "Déplacement impossible.";
+            case WALL_ALREADY_PLACED -> "Un mur est déjà présent à cet endroit.";
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Clés de Zobrist 64 bits : chaque élément de l'état d'une partie (mur présent, pion d'un joueur sur une case,
+ * capacité spéciale utilisée, joueur au trait) reçoit une clé aléatoire, et la clé d'une position est le XOR
+ * des clés de ses éléments. Les clés sont tirées avec une graine fixe pour rester identiques d'une exécution
+ * à l'autre, et les tables sont partagées par tous les plateaux de même taille.
+ */
+public final class Zobrist {
+    private static final long SEED = 0x51A7E5EEDL;
+    private static final ConcurrentHashMap<Integer, Zobrist> TABLES = new ConcurrentHashMap<>();
+    private static final long[] CAPACITY_KEYS = new long[Board.MAX_PLAYERS];
+    private static final long[] SIDE_TO_MOVE_KEYS = new long[Board.MAX_PLAYERS];
+
+    static {
+        var random = new SplittableRandom(SEED);
+        for (int player = 0; player < Board.MAX_PLAYERS; player++) {
+            CAPACITY_KEYS[player] = random.nextLong();
+            SIDE_TO_MOVE_KEYS[player] = random.nextLong();
+        }
+    }
+
+    private final long[] wallKeys;
+    private final long[] pawnKeys;
+
+    private Zobrist(int size) {
+        var random = new SplittableRandom(SEED + size);
+        var table = NeighbourTable.of(size);
+        this.wallKeys = new long[table.wallSlotCount()];
+        this.pawnKeys = new long[table.cellCount() * Board.MAX_PLAYERS];
+        for (int i = 0; i < wallKeys.length; i++) {
+            wallKeys[i] = random.nextLong();
+        }
+        for (int i = 0; i < pawnKeys.length; i++) {
+            pawnKeys[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * @param size taille du plateau
+     * @return les clés associées à cette taille de plateau
+     */
+    public static Zobrist of(int size) {
+        return TABLES.computeIfAbsent(size, Zobrist::new);
+    }
+
+    /**
+     * @param slot emplacement de mur, voir {@link NeighbourTable}
+     * @return la clé d'un mur présent à cet emplacement
+     */
+    public long wall(int slot) {
+        return wallKeys[slot];
+    }
+
+    /**
+     * Les pions d'un même joueur sont interchangeables : seule la case et le joueur comptent.
+     * @param cell index de la case
+     * @param playerId identifiant du joueur
+     * @return la clé d'un pion du joueur sur cette case
+     */
+    public long pawn(int cell, int playerId) {
+        return pawnKeys[cell * Board.MAX_PLAYERS + playerId];
+    }
+
+    /**
+     * @param playerId identifiant du joueur
+     * @return la clé de la capacité spéciale utilisée par ce joueur
+     */
+    public static long capacity(int playerId) {
+        return CAPACITY_KEYS[playerId];
+    }
+
+    /**
+     * @param playerIndex index du joueur au trait
+     * @return la clé du joueur au trait
+     */
+    public static long sideToMove(int playerIndex) {
+        return SIDE_TO_MOVE_KEYS[playerIndex];
+    }
+}
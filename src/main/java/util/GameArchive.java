@@ -0,0 +1,208 @@
+package util;
+
+import model.Game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Archive de parties terminées, lue par projection en mémoire.
+ * <p>
+ * Une archive se compose de deux fichiers écrits par {@link GameArchiveWriter} :
+ * <ul>
+ * <li>le fichier de données, qui met bout à bout les sauvegardes {@link GameSerializer} des parties ;</li>
+ * <li>l'index ({@code <données>.idx}), une entrée de {@value #ENTRY_BYTES} octets par partie.</li>
+ * </ul>
+ * Entrée d'index :
+ * <pre>
+ * 8 octets  position de la sauvegarde dans le fichier de données
+ * 4 octets  taille de la sauvegarde
+ * 2 octets  nombre de tours
+ * 1 octet   nombre de joueurs
+ * 1 octet   gagnant, {@link #DRAW} en cas d'égalité
+ * 8 octets  score final de chaque joueur, 2 octets par joueur
+ * 8 octets  clé de la position finale ({@link Game#positionKey()})
+ * </pre>
+ * Les deux fichiers sont projetés en lecture seule : les métadonnées se lisent directement dans l'index, et
+ * {@link #gameBytes(int)} renvoie une vue de la sauvegarde sans la copier. Une sauvegarde ne chevauche jamais
+ * deux segments de {@value #SEGMENT_BYTES} octets, ce qui permet de projeter des fichiers de données de
+ * plusieurs gigaoctets. Les lectures peuvent être faites par plusieurs threads à la fois.
+ */
+public final class GameArchive implements Closeable {
+    public static final int ENTRY_BYTES = 32;
+    /** Gagnant d'une partie terminée sur une égalité */
+    public static final int DRAW = 0xFF;
+
+    static final int SEGMENT_SHIFT = 30;
+    static final long SEGMENT_BYTES = 1L << SEGMENT_SHIFT;
+    static final int DATA_MAGIC = 0x51415243; // "QARC"
+    static final int INDEX_MAGIC = 0x51494458; // "QIDX"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    static final int OFFSET = 0;
+    static final int LENGTH = 8;
+    static final int TURNS = 12;
+    static final int PLAYERS = 14;
+    static final int WINNER = 15;
+    static final int SCORES = 16;
+    static final int KEY = 24;
+
+    private final FileChannel dataChannel;
+    private final FileChannel indexChannel;
+    private final MappedByteBuffer index;
+    private final MappedByteBuffer[] segments;
+    private final int size;
+
+    private GameArchive(FileChannel dataChannel, FileChannel indexChannel) throws IOException {
+        this.dataChannel = dataChannel;
+        this.indexChannel = indexChannel;
+        var indexBytes = indexChannel.size();
+        if (indexBytes > Integer.MAX_VALUE) {
+            throw new IOException("Index trop grand pour être projeté: " + indexBytes + " octets");
+        }
+        this.index = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, indexBytes);
+        checkHeader(index, INDEX_MAGIC, "index");
+        if (index.getInt(8) != ENTRY_BYTES) {
+            throw new IOException("Taille d'entrée d'index inconnue: " + index.getInt(8));
+        }
+        // Une entrée écrite à moitié par un écrivain interrompu est ignorée
+        this.size = (int) ((indexBytes - HEADER_BYTES) / ENTRY_BYTES);
+
+        var dataBytes = dataChannel.size();
+        this.segments = new MappedByteBuffer[(int) ((dataBytes + SEGMENT_BYTES - 1) >>> SEGMENT_SHIFT)];
+        for (int i = 0; i < segments.length; i++) {
+            var start = (long) i << SEGMENT_SHIFT;
+            segments[i] = dataChannel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_BYTES, dataBytes - start));
+        }
+        if (segments.length == 0) {
+            throw new IOException("Fichier de données vide");
+        }
+        checkHeader(segments[0], DATA_MAGIC, "données");
+    }
+
+    /**
+     * Ouvre une archive en lecture
+     * @param path fichier de données de l'archive
+     */
+    public static GameArchive open(Path path) throws IOException {
+        var dataChannel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            var indexChannel = FileChannel.open(indexPath(path), StandardOpenOption.READ);
+            try {
+                return new GameArchive(dataChannel, indexChannel);
+            } catch (IOException | RuntimeException e) {
+                indexChannel.close();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            dataChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return l'index d'une archive dont le fichier de données est donné
+     */
+    public static Path indexPath(Path path) {
+        return path.resolveSibling(path.getFileName() + ".idx");
+    }
+
+    private static void checkHeader(ByteBuffer buffer, int magic, String kind) throws IOException {
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != magic) {
+            throw new IOException("Fichier de " + kind + " d'archive invalide");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Version d'archive non supportée: " + buffer.getInt(4));
+        }
+    }
+
+    /**
+     * @return le nombre de parties de l'archive
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param game numéro de la partie dans l'archive
+     * @return une vue en lecture seule de la sauvegarde de la partie, sans copie
+     */
+    public ByteBuffer gameBytes(int game) {
+        var entry = entry(game);
+        var offset = index.getLong(entry + OFFSET);
+        var length = index.getInt(entry + LENGTH);
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].slice((int) (offset & (SEGMENT_BYTES - 1)), length);
+    }
+
+    /**
+     * @param game numéro de la partie dans l'archive
+     * @return la partie, avec l'historique de ses tours
+     */
+    public Game game(int game) {
+        return GameSerializer.read(gameBytes(game));
+    }
+
+    public int getTurnCount(int game) {
+        return index.getShort(entry(game) + TURNS) & 0xFFFF;
+    }
+
+    public int getPlayerCount(int game) {
+        return index.get(entry(game) + PLAYERS);
+    }
+
+    /**
+     * @return l'index du joueur gagnant, {@link #DRAW} en cas d'égalité
+     */
+    public int getWinner(int game) {
+        return index.get(entry(game) + WINNER) & 0xFF;
+    }
+
+    /**
+     * @param game numéro de la partie dans l'archive
+     * @param player index du joueur
+     * @return le score final du joueur
+     */
+    public int getScore(int game, int player) {
+        var entry = entry(game);
+        if (player < 0 || player >= index.get(entry + PLAYERS)) {
+            throw new IllegalArgumentException("Invalid player index: " + player);
+        }
+        return index.getShort(entry + SCORES + 2 * player) & 0xFFFF;
+    }
+
+    /**
+     * @return la clé de la position finale de la partie
+     */
+    public long getPositionKey(int game) {
+        return index.getLong(entry(game) + KEY);
+    }
+
+    /**
+     * Lit le nom d'un joueur dans la sauvegarde de la partie, sans lire le reste de la partie
+     */
+    public String getPlayerName(int game, int player) {
+        return GameSerializer.readPlayerName(gameBytes(game), player);
+    }
+
+    private int entry(int game) {
+        if (game < 0 || game >= size) {
+            throw new IllegalArgumentException("Partie hors de l'archive: " + game);
+        }
+        return HEADER_BYTES + game * ENTRY_BYTES;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            dataChannel.close();
+        } finally {
+            indexChannel.close();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package util;
+
+import model.Game;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Ajoute des parties à une archive lue par {@link GameArchive}, en la créant si besoin.
+ * <p>
+ * Les écritures passent par deux tampons, un par fichier. Le fichier de données est toujours écrit et forcé sur
+ * disque avant l'index : une entrée d'index ne désigne jamais une sauvegarde absente, même si l'écrivain ou le
+ * système est interrompu.
+ */
+public final class GameArchiveWriter implements Closeable, Flushable {
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel dataChannel;
+    private final FileChannel indexChannel;
+    private final ByteBuffer data = ByteBuffer.allocate(BUFFER_BYTES);
+    private final ByteBuffer index = ByteBuffer.allocate(BUFFER_BYTES / 4);
+    private long dataOffset;
+
+    /**
+     * @param path fichier de données de l'archive, l'index est écrit à côté ({@link GameArchive#indexPath(Path)})
+     */
+    public GameArchiveWriter(Path path) throws IOException {
+        Objects.requireNonNull(path, "Path cannot be null");
+        this.dataChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.indexChannel = FileChannel.open(GameArchive.indexPath(path), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            dataChannel.close();
+            throw e;
+        }
+        try {
+            this.dataOffset = prepare(dataChannel, GameArchive.DATA_MAGIC, 0);
+            var indexEnd = prepare(indexChannel, GameArchive.INDEX_MAGIC, GameArchive.ENTRY_BYTES);
+            // Une entrée écrite à moitié est écrasée par la suivante
+            indexChannel.position(indexEnd - (indexEnd - GameArchive.HEADER_BYTES) % GameArchive.ENTRY_BYTES);
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Écrit l'en-tête d'un fichier neuf ou vérifie celui d'un fichier existant
+     * @return la taille du fichier
+     */
+    private static long prepare(FileChannel channel, int magic, int extra) throws IOException {
+        var header = ByteBuffer.allocate(GameArchive.HEADER_BYTES);
+        if (channel.size() == 0) {
+            header.putInt(magic).putInt(GameArchive.VERSION).putInt(extra).putInt(0).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            return GameArchive.HEADER_BYTES;
+        }
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                break;
+            }
+        }
+        if (channel.size() < GameArchive.HEADER_BYTES || header.getInt(0) != magic || header.getInt(4) != GameArchive.VERSION) {
+            throw new IOException("Fichier d'archive invalide ou de version inconnue");
+        }
+        channel.position(channel.size());
+        return channel.size();
+    }
+
+    /**
+     * Ajoute une partie et son entrée d'index
+     * @param game partie terminée (ou arrêtée), qui n'est pas modifiée
+     * @return le numéro de la partie dans l'archive
+     */
+    public long append(Game game) throws IOException {
+        Objects.requireNonNull(game, "Game cannot be null");
+        var length = GameSerializer.sizeOf(game);
+        if (length > data.capacity()) {
+            throw new IllegalArgumentException("Partie trop grande pour l'archive: " + length + " octets");
+        }
+        // Une sauvegarde ne doit pas chevaucher deux segments projetés
+        var segmentEnd = (dataOffset | (GameArchive.SEGMENT_BYTES - 1)) + 1;
+        if (dataOffset + length > segmentEnd) {
+            skipData(segmentEnd - dataOffset);
+        }
+        if (data.remaining() < length) {
+            flushData();
+        }
+        var offset = dataOffset;
+        GameSerializer.write(game, data);
+        dataOffset += length;
+
+        if (index.remaining() < GameArchive.ENTRY_BYTES) {
+            flush();
+        }
+        var players = game.getPlayers();
+        var entry = index.position();
+        index.putLong(offset).putInt(length).putShort((short) Math.min(game.getHistorySize(), 0xFFFF));
+        index.put((byte) players.size()).put((byte) winner(game));
+        for (int i = 0; i < 4; i++) {
+            index.putShort((short) (i < players.size() ? game.getScores().get(players.get(i)) : 0));
+        }
+        index.putLong(game.positionKey());
+        assert index.position() - entry == GameArchive.ENTRY_BYTES;
+        return (indexChannel.position() + index.position() - GameArchive.HEADER_BYTES) / GameArchive.ENTRY_BYTES - 1;
+    }
+
+    private static int winner(Game game) {
+        var players = game.getPlayers();
+        var best = -1;
+        var winner = GameArchive.DRAW;
+        for (int i = 0; i < players.size(); i++) {
+            var score = game.getScores().get(players.get(i));
+            if (score > best) {
+                best = score;
+                winner = i;
+            } else if (score == best) {
+                winner = GameArchive.DRAW;
+            }
+        }
+        return winner;
+    }
+
+    private void skipData(long bytes) throws IOException {
+        flushData();
+        dataChannel.position(dataChannel.position() + bytes);
+        dataOffset += bytes;
+    }
+
+    private void flushData() throws IOException {
+        data.flip();
+        while (data.hasRemaining()) {
+            dataChannel.write(data);
+        }
+        data.clear();
+    }
+
+    /**
+     * Écrit les parties en attente : les données d'abord, forcées sur disque, puis leurs entrées d'index
+     */
+    @Override
+    public void flush() throws IOException {
+        flushData();
+        if (index.position() == 0) {
+            return;
+        }
+        dataChannel.force(false);
+        index.flip();
+        while (index.hasRemaining()) {
+            indexChannel.write(index);
+        }
+        index.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            try {
+                dataChannel.close();
+            } finally {
+                indexChannel.close();
+            }
+        }
+    }
+}
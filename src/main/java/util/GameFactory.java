@@ -1,5 +1,6 @@
 package util;
 
+import model.Board;
 import model.Game;
 import model.Player;
 
@@ -13,6 +14,10 @@ public class GameFactory {
     }
 
     public static Game createGame(int numberOfPlayers, ArrayList<String> playerNames, int pawnsPerPlayer) {
+        return createGame(numberOfPlayers, playerNames, pawnsPerPlayer, 7);
+    }
+
+    public static Game createGame(int numberOfPlayers, ArrayList<String> playerNames, int pawnsPerPlayer, int boardSize) {
         if (numberOfPlayers < 2 || numberOfPlayers > 4) {
             throw new IllegalArgumentException("Le nombre de joueurs doit être entre 2 et 4.");
         }
@@ -27,7 +32,7 @@ public class GameFactory {
             Player player = new Player(i , pawnsPerPlayer, playerNames.get(i));
             players.add(player);
         }
-        return new Game(players);
+        return new Game(players, new Board(boardSize));
     }
 
     public static int getNumberOfPawnFromPlayer(int numberOfPlayers) {
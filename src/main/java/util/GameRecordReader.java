@@ -0,0 +1,184 @@
+package util;
+
+import model.Game;
+import model.Turn;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Objects;
+
+/**
+ * Lecture en flux d'un fichier de parties, une partie par ligne.
+ * <p>
+ * Une ligne se compose de la taille du plateau et du nombre de pions par joueur, des noms des joueurs séparés
+ * par des virgules, des cases de placement des pions et des tours en {@link TurnNotation}, les quatre parties
+ * séparées par {@code |} :
+ * <pre>
+ * 7 4 | Alice,Bob | a1 b2 g2 f4 e3 c6 e6 a7 | a1E/S b2W/N
+ * </pre>
+ * Une ligne sans la première partie est une partie sur le plateau de 7 cases, avec le nombre de pions
+ * habituel pour son nombre de joueurs.
+ * Les pions sont placés chacun leur tour comme en début de partie : premier pion de chaque joueur, puis
+ * deuxième pion de chaque joueur, etc. Un pion pas encore placé s'écrit {@code --}. La partie démarre une fois
+ * tous les pions placés, le premier joueur commence. Les lignes vides et celles commençant par {@code #}
+ * sont ignorées.
+ * <p>
+ * Le fichier est lu ligne par ligne : la mémoire utilisée ne dépend que de la partie en cours, quelle que
+ * soit la taille du fichier.
+ */
+public class GameRecordReader implements Closeable {
+    static final char SECTION = '|';
+    static final char NAME_SEPARATOR = ',';
+    static final String NOT_PLACED = "--";
+
+    private final BufferedReader reader;
+    private long lineNumber;
+
+    public GameRecordReader(Reader reader) {
+        Objects.requireNonNull(reader, "Reader cannot be null");
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 1 << 16);
+    }
+
+    /**
+     * Lit et rejoue la partie suivante
+     * @return la partie, dont l'historique contient tous les tours de la ligne, null à la fin du fichier
+     * @throws IllegalArgumentException si la ligne est invalide ou contient un tour injouable
+     */
+    public Game next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            var start = skipSpaces(line, 0, line.length());
+            if (start == line.length() || line.charAt(start) == '#') {
+                continue;
+            }
+            try {
+                return parse(line);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                throw new IllegalArgumentException("Ligne " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return le numéro de la dernière ligne lue
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Rejoue une ligne
+     * @param line ligne d'une partie
+     * @return la partie
+     */
+    public static Game parse(String line) {
+        var sections = new int[4];
+        var count = 0;
+        for (int index = line.indexOf(SECTION); index >= 0 && count < sections.length; index = line.indexOf(SECTION, index + 1)) {
+            sections[count++] = index;
+        }
+        if (count < 2 || count > 3) {
+            throw new IllegalArgumentException("Une partie doit contenir quatre sections séparées par '" + SECTION + "'.");
+        }
+        // Sans la section du plateau, la ligne est une partie sur le plateau par défaut
+        var namesStart = count == 3 ? sections[0] + 1 : 0;
+        var placementsStart = sections[count - 2];
+        var turnsStart = sections[count - 1];
+
+        var names = new ArrayList<String>(4);
+        var nameStart = namesStart;
+        while (nameStart <= placementsStart) {
+            var nameEnd = line.indexOf(NAME_SEPARATOR, nameStart);
+            if (nameEnd < 0 || nameEnd > placementsStart) {
+                nameEnd = placementsStart;
+            }
+            names.add(line.substring(nameStart, nameEnd).strip());
+            nameStart = nameEnd + 1;
+        }
+        Game game;
+        if (count == 3) {
+            var dimensions = line.substring(0, sections[0]).strip().split(" +");
+            if (dimensions.length != 2) {
+                throw new IllegalArgumentException("Taille du plateau et nombre de pions attendus: " + line.substring(0, sections[0]));
+            }
+            var pawns = parseNumber(dimensions[1]);
+            if (pawns < 1 || pawns > Turn.MAX_PAWNS) {
+                throw new IllegalArgumentException("Nombre de pions par joueur invalide: " + pawns);
+            }
+            game = GameFactory.createGame(names.size(), names, pawns, parseNumber(dimensions[0]));
+        } else {
+            game = GameFactory.createGame(names.size(), names);
+        }
+        var board = game.getBoard();
+        var players = game.getPlayers();
+        var pawnsPerPlayer = players.get(0).getPawns().length;
+
+        var placed = 0;
+        var index = skipSpaces(line, placementsStart + 1, turnsStart);
+        for (int i = 0; i < players.size() * pawnsPerPlayer; i++) {
+            if (index == turnsStart) {
+                throw new IllegalArgumentException("Il manque des placements de pions.");
+            }
+            var end = tokenEnd(line, index, turnsStart);
+            if (!line.startsWith(NOT_PLACED, index) || end != index + NOT_PLACED.length()) {
+                var player = players.get(i % players.size());
+                if (!board.placePawnAt(player.getPawns()[i / players.size()], TurnNotation.parseCell(board, line, index, end))) {
+                    throw new IllegalArgumentException("Case déjà occupée: " + line.substring(index, end));
+                }
+                placed++;
+            }
+            index = skipSpaces(line, end, turnsStart);
+        }
+        if (index != turnsStart) {
+            throw new IllegalArgumentException("Trop de placements de pions.");
+        }
+
+        if (!game.isAllPawnArePlaced()) {
+            game.restore(false, placed % players.size(), new int[0], 0);
+            if (skipSpaces(line, turnsStart + 1, line.length()) != line.length()) {
+                throw new IllegalArgumentException("Des tours sont joués avant la fin du placement.");
+            }
+            return game;
+        }
+        game.start();
+        index = skipSpaces(line, turnsStart + 1, line.length());
+        while (index < line.length()) {
+            var end = tokenEnd(line, index, line.length());
+            game.apply(TurnNotation.parse(game, line, index, end));
+            index = skipSpaces(line, end, line.length());
+        }
+        return game;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static int parseNumber(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nombre invalide: " + text);
+        }
+    }
+
+    private static int skipSpaces(String line, int index, int end) {
+        while (index < end && line.charAt(index) == ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    private static int tokenEnd(String line, int index, int end) {
+        while (index < end && line.charAt(index) != ' ') {
+            index++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,122 @@
+package util;
+
+import model.Game;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Écriture en flux d'un fichier de parties, une partie par ligne, au format lu par {@link GameRecordReader}
+ */
+public class GameRecordWriter implements Closeable, Flushable {
+    private final Writer writer;
+    private final StringBuilder line = new StringBuilder(256);
+
+    public GameRecordWriter(Writer writer) {
+        Objects.requireNonNull(writer, "Writer cannot be null");
+        this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer, 1 << 16);
+    }
+
+    /**
+     * Écrit une partie : plateau, joueurs, placement des pions et tours de l'historique
+     * @param game partie à écrire, qui n'est pas modifiée
+     */
+    public void write(Game game) throws IOException {
+        line.setLength(0);
+        format(line, game);
+        writer.append(line).append('\n');
+    }
+
+    /**
+     * Écrit une ligne de commentaire
+     */
+    public void comment(String text) throws IOException {
+        if (text.indexOf('\n') >= 0) {
+            throw new IllegalArgumentException("Un commentaire tient sur une ligne.");
+        }
+        writer.append("# ").append(text).append('\n');
+    }
+
+    /**
+     * @param game partie à écrire, qui n'est pas modifiée
+     * @return la ligne de la partie, sans retour à la ligne
+     */
+    public static String format(Game game) {
+        var sb = new StringBuilder(256);
+        format(sb, game);
+        return sb.toString();
+    }
+
+    private static void format(StringBuilder sb, Game game) {
+        Objects.requireNonNull(game, "Game cannot be null");
+        var players = game.getPlayers();
+        sb.append(game.getBoard().SIZE).append(' ').append(players.get(0).getPawns().length)
+                .append(' ').append(GameRecordReader.SECTION).append(' ');
+        for (int i = 0; i < players.size(); i++) {
+            var name = players.get(i).getName();
+            if (name.isBlank() || name.indexOf(GameRecordReader.SECTION) >= 0 || name.indexOf(GameRecordReader.NAME_SEPARATOR) >= 0
+                    || name.indexOf('\n') >= 0 || !name.equals(name.strip())) {
+                throw new IllegalArgumentException("Nom de joueur impossible à écrire: '" + name + "'");
+            }
+            if (i > 0) {
+                sb.append(GameRecordReader.NAME_SEPARATOR);
+            }
+            sb.append(name);
+        }
+
+        // Les tours sont rejoués depuis la position de départ sur une copie
+        var replay = game.copy();
+        var turns = new int[replay.getHistorySize()];
+        for (int i = 0; i < turns.length; i++) {
+            turns[i] = replay.getHistoryTurn(i);
+        }
+        while (replay.canUndo()) {
+            replay.undo();
+        }
+        if (replay.isStarted() && replay.getCurrentPlayerIndex() != 0) {
+            throw new IllegalArgumentException("La partie doit commencer par le premier joueur.");
+        }
+
+        var board = replay.getBoard();
+        var pawnsPerPlayer = players.get(0).getPawns().length;
+        var cells = new int[players.size() * pawnsPerPlayer];
+        Arrays.fill(cells, -1);
+        for (int cell = 0; cell < board.getCellCount(); cell++) {
+            var pawn = board.getPawnAt(cell);
+            if (pawn != null) {
+                cells[pawn.getId() * players.size() + pawn.getPlayerId()] = cell;
+            }
+        }
+        sb.append(' ').append(GameRecordReader.SECTION);
+        for (var cell : cells) {
+            sb.append(' ');
+            if (cell < 0) {
+                sb.append(GameRecordReader.NOT_PLACED);
+            } else {
+                TurnNotation.appendCell(sb, board, cell);
+            }
+        }
+
+        sb.append(' ').append(GameRecordReader.SECTION);
+        for (var turn : turns) {
+            sb.append(' ');
+            TurnNotation.appendTurn(sb, replay, turn);
+            replay.apply(turn);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,306 @@
+package util;
+
+import model.Game;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Sauvegarde binaire compacte et versionnée d'une partie.
+ * <p>
+ * Format (version 1), les entiers sur plusieurs octets en gros-boutiste :
+ * <pre>
+ * 2 octets  magique 'Q' 'D'
+ * 1 octet   version
+ * 1 octet   taille du plateau
+ * 1 octet   nombre de joueurs
+ * 1 octet   nombre de pions par joueur
+ * 1 octet   état : bit 0 partie démarrée, bits 1-2 joueur courant, bits 4-7 capacité spéciale utilisée par joueur
+ * noms      pour chaque joueur, longueur sur 1 octet puis octets UTF-8
+ * pions     case de chaque pion, joueur par joueur, 0xFF sur 1 octet ou 0xFFFF sur 2 octets si le pion n'est pas placé
+ * murs      un bit par emplacement de mur, bordures comprises
+ * 2 octets  nombre de tours de l'historique
+ * tours     pour chaque tour : tour encodé (2 octets), case de départ, case d'arrivée, joueur courant
+ *           et fin de partie avant le tour (1 octet), puis score de chaque joueur avant le tour
+ * </pre>
+ * Une case ou un score occupe 1 octet si le plateau a moins de 255 cases, 2 octets sinon. Une position de
+ * 2 joueurs sur le plateau de 7 tient ainsi en une trentaine d'octets plus les noms, et chaque tour de
+ * l'historique en 7 à 9 octets. Les scores et la fin de partie sont recalculés depuis le plateau au chargement.
+ */
+public final class GameSerializer {
+    public static final int VERSION = 1;
+    /** Case d'un pion qui n'est pas encore placé quand une case tient sur 1 octet, 0xFFFF sur 2 octets */
+    public static final int NO_CELL = 0xFF;
+    /** Fichier de la partie reprise par le bouton "Continuer" */
+    public static final Path DEFAULT_SAVE = Path.of(System.getProperty("user.home"), ".quoridor", "partie.sav");
+
+    private static final int MAGIC = ('Q' << 8) | 'D';
+    private static final int MAX_NAME_BYTES = 0xFF;
+    private static final int MAX_TURNS = 0xFFFF;
+    private static final int HISTORY_HEADER = 5;
+
+    private GameSerializer() {
+    }
+
+    /**
+     * @return la taille exacte de la sauvegarde d'une partie
+     */
+    public static int sizeOf(Game game) {
+        var board = game.getBoard();
+        var players = game.getPlayers();
+        var cellBytes = cellBytes(board.getCellCount());
+        var size = 7;
+        for (var player : players) {
+            size += 1 + player.getName().getBytes(StandardCharsets.UTF_8).length;
+        }
+        size += players.size() * players.get(0).getPawns().length * cellBytes;
+        size += (board.getWallSlotCount() + 7) / 8;
+        size += 2 + game.getHistorySize() * (3 + (2 + players.size()) * cellBytes);
+        return size;
+    }
+
+    /**
+     * Écrit une partie à la position courante du tampon
+     * @param game partie à sauvegarder, entre deux tours
+     * @param buffer tampon d'au moins {@link #sizeOf(Game)} octets restants
+     */
+    public static void write(Game game, ByteBuffer buffer) {
+        Objects.requireNonNull(game, "Game cannot be null");
+        Objects.requireNonNull(buffer, "Buffer cannot be null");
+        var board = game.getBoard();
+        var players = game.getPlayers();
+        var pawnsPerPlayer = players.get(0).getPawns().length;
+        var cells = board.getCellCount();
+        var cellBytes = cellBytes(cells);
+        if (board.SIZE > 0xFF || game.getHistorySize() > MAX_TURNS) {
+            throw new IllegalArgumentException("Partie trop grande pour être sauvegardée.");
+        }
+
+        buffer.putShort((short) MAGIC);
+        buffer.put((byte) VERSION);
+        buffer.put((byte) board.SIZE);
+        buffer.put((byte) players.size());
+        buffer.put((byte) pawnsPerPlayer);
+        var state = (game.isStarted() ? 1 : 0) | game.getCurrentPlayerIndex() << 1;
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).isCapacityUsed()) {
+                state |= 1 << (4 + i);
+            }
+        }
+        buffer.put((byte) state);
+
+        for (var player : players) {
+            var name = player.getName().getBytes(StandardCharsets.UTF_8);
+            if (name.length > MAX_NAME_BYTES) {
+                throw new IllegalArgumentException("Nom de joueur trop long: " + player.getName());
+            }
+            buffer.put((byte) name.length);
+            buffer.put(name);
+        }
+
+        // Les cases des pions sont relevées sur le plateau, un pion non placé n'a pas de position
+        var pawnCells = new int[players.size() * pawnsPerPlayer];
+        var noCell = noCell(cellBytes);
+        Arrays.fill(pawnCells, noCell);
+        for (int cell = 0; cell < cells; cell++) {
+            var pawn = board.getPawnAt(cell);
+            if (pawn != null) {
+                pawnCells[pawn.getPlayerId() * pawnsPerPlayer + pawn.getId()] = cell;
+            }
+        }
+        for (var cell : pawnCells) {
+            putCell(buffer, cell, cellBytes);
+        }
+
+        var slots = board.getWallSlotCount();
+        for (int base = 0; base < slots; base += 8) {
+            var bits = 0;
+            for (int bit = 0; bit < 8 && base + bit < slots; bit++) {
+                if (board.isWallSlotSet(base + bit)) {
+                    bits |= 1 << bit;
+                }
+            }
+            buffer.put((byte) bits);
+        }
+
+        var turns = game.getHistorySize();
+        var record = new int[game.getHistoryRecordLength()];
+        buffer.putShort((short) turns);
+        for (int i = 0; i < turns; i++) {
+            game.getHistoryRecord(i, record);
+            buffer.putShort((short) record[0]);
+            putCell(buffer, record[1], cellBytes);
+            putCell(buffer, record[2], cellBytes);
+            buffer.put((byte) (record[3] | record[4] << 2));
+            for (int player = 0; player < players.size(); player++) {
+                putCell(buffer, record[HISTORY_HEADER + player], cellBytes);
+            }
+        }
+    }
+
+    /**
+     * Lit une partie à la position courante du tampon
+     * @param buffer tampon contenant une sauvegarde
+     * @return la partie sauvegardée
+     * @throws IllegalArgumentException si la sauvegarde est invalide ou d'une version inconnue
+     */
+    public static Game read(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "Buffer cannot be null");
+        try {
+            return readGame(buffer);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Sauvegarde tronquée", e);
+        }
+    }
+
+    private static Game readGame(ByteBuffer buffer) {
+        if ((buffer.getShort() & 0xFFFF) != MAGIC) {
+            throw new IllegalArgumentException("Ce fichier n'est pas une sauvegarde de Quoridor.");
+        }
+        var version = buffer.get() & 0xFF;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Version de sauvegarde non supportée: " + version);
+        }
+        var size = buffer.get() & 0xFF;
+        var playerCount = buffer.get() & 0xFF;
+        var pawnsPerPlayer = buffer.get() & 0xFF;
+        var state = buffer.get() & 0xFF;
+        var names = new ArrayList<String>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            var name = new byte[buffer.get() & 0xFF];
+            buffer.get(name);
+            names.add(new String(name, StandardCharsets.UTF_8));
+        }
+        var game = GameFactory.createGame(playerCount, names, pawnsPerPlayer, size);
+        var board = game.getBoard();
+        var players = game.getPlayers();
+        var cellBytes = cellBytes(board.getCellCount());
+        var noCell = noCell(cellBytes);
+
+        for (var player : players) {
+            for (var pawn : player.getPawns()) {
+                var cell = getCell(buffer, cellBytes);
+                if (cell != noCell && (cell >= board.getCellCount() || !board.placePawnAt(pawn, cell))) {
+                    throw new IllegalArgumentException("Case de pion invalide: " + cell);
+                }
+            }
+            if ((state & 1 << (4 + player.getId())) != 0) {
+                player.useCapacity();
+            }
+        }
+
+        var slots = board.getWallSlotCount();
+        for (int base = 0; base < slots; base += 8) {
+            var bits = buffer.get() & 0xFF;
+            for (int bit = 0; bit < 8 && base + bit < slots; bit++) {
+                board.setWallSlot(base + bit, (bits & 1 << bit) != 0);
+            }
+        }
+
+        var turns = buffer.getShort() & 0xFFFF;
+        var recordLength = game.getHistoryRecordLength();
+        var records = new int[turns * recordLength];
+        for (int i = 0; i < turns; i++) {
+            var base = i * recordLength;
+            records[base] = buffer.getShort() & 0xFFFF;
+            records[base + 1] = getCell(buffer, cellBytes);
+            records[base + 2] = getCell(buffer, cellBytes);
+            var previous = buffer.get() & 0xFF;
+            records[base + 3] = previous & 3;
+            records[base + 4] = previous >>> 2 & 1;
+            for (int player = 0; player < playerCount; player++) {
+                records[base + HISTORY_HEADER + player] = getCell(buffer, cellBytes);
+            }
+        }
+        game.restore((state & 1) != 0, state >>> 1 & 3, records, turns);
+        return game;
+    }
+
+    /**
+     * Lit le nom d'un joueur sans lire le reste de la sauvegarde
+     * @param buffer sauvegarde, lue à partir de sa position sans la modifier
+     * @param player index du joueur
+     * @return le nom du joueur
+     */
+    public static String readPlayerName(ByteBuffer buffer, int player) {
+        var start = buffer.position();
+        var players = buffer.get(start + 4) & 0xFF;
+        if (player < 0 || player >= players) {
+            throw new IllegalArgumentException("Invalid player index: " + player);
+        }
+        var index = start + 7;
+        for (int i = 0; i < player; i++) {
+            index += 1 + (buffer.get(index) & 0xFF);
+        }
+        var name = new byte[buffer.get(index) & 0xFF];
+        buffer.get(index + 1, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return la sauvegarde d'une partie dans un tableau de la taille exacte
+     */
+    public static byte[] toBytes(Game game) {
+        var bytes = new byte[sizeOf(game)];
+        write(game, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    public static Game fromBytes(byte[] bytes) {
+        return read(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Sauvegarde une partie dans un fichier, remplacé d'un bloc pour ne jamais laisser de sauvegarde à moitié écrite
+     * @param game partie à sauvegarder
+     * @param path fichier de sauvegarde, ses dossiers sont créés au besoin
+     */
+    public static void save(Game game, Path path) throws IOException {
+        var parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        var temporary = Files.createTempFile(parent, "partie", ".tmp");
+        try {
+            Files.write(temporary, toBytes(game));
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * @param path fichier de sauvegarde
+     * @return la partie sauvegardée
+     * @throws IllegalArgumentException si le fichier n'est pas une sauvegarde valide
+     */
+    public static Game load(Path path) throws IOException {
+        return fromBytes(Files.readAllBytes(path));
+    }
+
+    private static int cellBytes(int cells) {
+        return cells < 0xFF ? 1 : 2;
+    }
+
+    private static int noCell(int cellBytes) {
+        return cellBytes == 1 ? NO_CELL : 0xFFFF;
+    }
+
+    private static void putCell(ByteBuffer buffer, int value, int cellBytes) {
+        if (cellBytes == 1) {
+            buffer.put((byte) value);
+        } else {
+            buffer.putShort((short) value);
+        }
+    }
+
+    private static int getCell(ByteBuffer buffer, int cellBytes) {
+        return cellBytes == 1 ? buffer.get() & 0xFF : buffer.getShort() & 0xFFFF;
+    }
+}
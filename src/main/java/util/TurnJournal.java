@@ -0,0 +1,442 @@
+package util;
+
+import model.Game;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal des tours joués, en ajout seul, partagé par toutes les parties d'un processus.
+ * <p>
+ * Chaque partie est enregistrée une fois (sauvegarde {@link GameSerializer} de la partie), puis chaque tour
+ * joué, chaque annulation et la fin de la partie ajoutent un enregistrement de quelques octets. Les ajouts
+ * ne font que copier l'enregistrement dans un tampon mémoire : un thread dédié écrit le tampon et le force
+ * sur disque ({@code fsync}) pendant que les ajouts suivants remplissent l'autre tampon. Tous les tours
+ * ajoutés pendant une écriture partagent ainsi le même {@code fsync}, quel que soit le nombre de parties.
+ * Un appelant qui doit savoir son tour sur disque attend la séquence renvoyée par l'ajout avec
+ * {@link #awaitDurable(long)}.
+ * <p>
+ * À l'ouverture, le journal est relu et chaque partie non terminée est reconstruite en rejouant ses tours.
+ * Un enregistrement tronqué ou corrompu par un arrêt brutal, ou qui ne s'applique pas à sa partie, termine
+ * la relecture. Le journal est ensuite réécrit avec une seule sauvegarde par partie en cours, avant de
+ * recevoir de nouveaux tours.
+ * <p>
+ * Un seul processus utilise un journal à la fois : il garde un verrou exclusif sur le fichier {@code .lock}
+ * voisin jusqu'à sa fermeture, et un autre processus ne peut ni relire ni réécrire le journal entre-temps.
+ * <p>
+ * Format : en-tête {@code QJRN} et version sur 4 octets chacun, puis des enregistrements
+ * {@code longueur (4 octets), CRC32C (4 octets), partie (8 octets), type (1 octet), données}.
+ */
+public final class TurnJournal implements Closeable {
+    /** Journal de l'interface graphique, le terminal et le serveur ont chacun le leur */
+    public static final Path DEFAULT_PATH = GameSerializer.DEFAULT_SAVE.resolveSibling("parties.journal");
+
+    private static final int MAGIC = 0x514A524E; // "QJRN"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER = 8;
+    private static final int RECORD_HEADER = 8;
+    private static final int BODY_HEADER = 9;
+    private static final int MAX_RECORD = 1 << 20;
+
+    private static final byte SNAPSHOT = 1;
+    private static final byte TURN = 2;
+    private static final byte UNDO = 3;
+    private static final byte END = 4;
+
+    private final FileChannel channel;
+    private final FileChannel lockChannel;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pending = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+    private final CRC32C crc = new CRC32C();
+    private final Thread flusher;
+    private ByteBuffer active = ByteBuffer.allocate(1 << 16);
+    private ByteBuffer flushing = ByteBuffer.allocate(1 << 16);
+    private long appendedSequence;
+    private long durableSequence;
+    private long nextGameId;
+    private boolean closed;
+    private IOException failure;
+    private Map<Long, Game> recovered;
+
+    private TurnJournal(FileChannel channel, FileChannel lockChannel, Map<Long, Game> recovered, long nextGameId) {
+        this.channel = channel;
+        this.lockChannel = lockChannel;
+        this.recovered = recovered;
+        this.nextGameId = nextGameId;
+        this.flusher = new Thread(this::flushLoop, "turn-journal");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Ouvre un journal, le crée s'il n'existe pas, et reconstruit les parties qui n'étaient pas terminées
+     * @param path fichier du journal, ses dossiers sont créés au besoin
+     * @return le journal, prêt à recevoir des tours
+     * @throws IOException si le journal est illisible ou déjà ouvert par un autre programme
+     */
+    public static TurnJournal open(Path path) throws IOException {
+        var parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        var lockChannel = lock(path.resolveSibling(path.getFileName() + ".lock"));
+        try {
+            return open(path, lockChannel);
+        } catch (IOException | RuntimeException e) {
+            lockChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Prend le verrou exclusif d'un journal, sans attendre
+     * @param lockPath fichier verrou, créé au besoin et jamais supprimé
+     * @return le canal qui porte le verrou, à fermer pour le rendre
+     */
+    private static FileChannel lock(Path lockPath) throws IOException {
+        var lockChannel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock fileLock;
+        try {
+            fileLock = lockChannel.tryLock(); // null si un autre processus tient le verrou
+        } catch (OverlappingFileLockException e) {
+            fileLock = null; // Déjà pris par ce processus
+        } catch (IOException e) {
+            lockChannel.close();
+            throw e;
+        }
+        if (fileLock == null) {
+            lockChannel.close();
+            throw new IOException("Journal déjà ouvert ailleurs: " + lockPath);
+        }
+        return lockChannel;
+    }
+
+    private static TurnJournal open(Path path, FileChannel lockChannel) throws IOException {
+        var games = new LinkedHashMap<Long, Game>();
+        var nextGameId = 1L;
+        if (Files.exists(path)) {
+            nextGameId = replay(path, games);
+        }
+
+        // Compactage : une sauvegarde par partie en cours, écrite à côté puis substituée d'un bloc
+        var parent = path.toAbsolutePath().getParent();
+        var temporary = Files.createTempFile(parent, "journal", ".tmp");
+        try {
+            try (var out = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                var buffer = ByteBuffer.allocate(FILE_HEADER).putInt(MAGIC).putInt(VERSION).flip();
+                writeFully(out, buffer);
+                var crc = new CRC32C();
+                for (var entry : games.entrySet()) {
+                    var snapshot = GameSerializer.toBytes(entry.getValue());
+                    var record = ByteBuffer.allocate(RECORD_HEADER + BODY_HEADER + snapshot.length);
+                    putRecord(record, crc, entry.getKey(), SNAPSHOT, snapshot, 0);
+                    writeFully(out, record.flip());
+                }
+                out.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        var channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new TurnJournal(channel, lockChannel, games, nextGameId);
+    }
+
+    /**
+     * Relit un journal jusqu'au premier enregistrement incomplet, corrompu ou qui ne s'applique pas
+     * @param games reçoit les parties non terminées, par identifiant
+     * @return le prochain identifiant de partie libre
+     */
+    private static long replay(Path path, Map<Long, Game> games) throws IOException {
+        var nextGameId = 1L;
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Ce fichier n'est pas un journal de parties: " + path);
+            }
+            var crc = new CRC32C();
+            var body = new byte[256];
+            while (true) {
+                int length;
+                int checksum;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length < BODY_HEADER || length > MAX_RECORD) {
+                        break;
+                    }
+                    if (body.length < length) {
+                        body = new byte[Math.max(length, body.length * 2)];
+                    }
+                    in.readFully(body, 0, length);
+                } catch (EOFException e) {
+                    break; // Fin du journal, éventuellement au milieu d'un enregistrement
+                }
+                crc.reset();
+                crc.update(body, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                var record = ByteBuffer.wrap(body, 0, length);
+                var gameId = record.getLong();
+                var type = record.get();
+                nextGameId = Math.max(nextGameId, gameId + 1);
+                try {
+                    apply(games, gameId, type, record);
+                } catch (IllegalArgumentException | IllegalStateException | BufferUnderflowException e) {
+                    // Traité comme un enregistrement corrompu : le compactage réécrit un journal sain
+                    break;
+                }
+            }
+        }
+        return nextGameId;
+    }
+
+    private static void apply(Map<Long, Game> games, long gameId, byte type, ByteBuffer data) {
+        switch (type) {
+            case SNAPSHOT -> games.put(gameId, GameSerializer.read(data));
+            case TURN -> game(games, gameId).apply(data.getShort() & 0xFFFF);
+            case UNDO -> game(games, gameId).undo();
+            case END -> games.remove(gameId);
+            default -> throw new IllegalArgumentException("Type d'enregistrement inconnu: " + type);
+        }
+    }
+
+    private static Game game(Map<Long, Game> games, long gameId) {
+        var game = games.get(gameId);
+        if (game == null) {
+            throw new IllegalStateException("Partie inconnue: " + gameId);
+        }
+        return game;
+    }
+
+    /**
+     * Rend les parties non terminées trouvées à l'ouverture, une seule fois : elles continuent d'être
+     * journalisées sous le même identifiant
+     * @return les parties par identifiant, dans l'ordre de leur enregistrement
+     */
+    public Map<Long, Game> takeRecoveredGames() {
+        lock.lock();
+        try {
+            var games = recovered;
+            recovered = Collections.emptyMap();
+            return games;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Enregistre une nouvelle partie dans son état courant
+     * @return l'identifiant de la partie dans le journal
+     */
+    public long register(Game game) {
+        var snapshot = GameSerializer.toBytes(game);
+        lock.lock();
+        try {
+            var gameId = nextGameId++;
+            append(gameId, SNAPSHOT, snapshot, 0);
+            return gameId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ajoute un tour joué par {@link Game#apply(int)}
+     * @return la séquence de l'ajout, voir {@link #awaitDurable(long)}
+     */
+    public long recordTurn(long gameId, int turn) {
+        return append(gameId, TURN, null, turn);
+    }
+
+    /**
+     * Ajoute l'annulation du dernier tour d'une partie
+     * @return la séquence de l'ajout
+     */
+    public long recordUndo(long gameId) {
+        return append(gameId, UNDO, null, 0);
+    }
+
+    /**
+     * Termine une partie : elle ne sera plus reconstruite à l'ouverture du journal
+     * @return la séquence de l'ajout
+     */
+    public long finish(long gameId) {
+        return append(gameId, END, null, 0);
+    }
+
+    private long append(long gameId, byte type, byte[] data, int turn) {
+        var size = RECORD_HEADER + BODY_HEADER + (type == SNAPSHOT ? data.length : type == TURN ? 2 : 0);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Le journal est fermé.");
+            }
+            if (failure != null) {
+                throw new IllegalStateException("Le journal ne peut plus écrire sur le disque.", failure);
+            }
+            if (active.remaining() < size) {
+                var grown = ByteBuffer.allocate(Math.max(active.capacity() * 2, active.position() + size));
+                active = grown.put(active.flip());
+            }
+            putRecord(active, crc, gameId, type, data, turn);
+            appendedSequence++;
+            pending.signal();
+            return appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void putRecord(ByteBuffer buffer, CRC32C crc, long gameId, byte type, byte[] data, int turn) {
+        var start = buffer.position();
+        buffer.position(start + RECORD_HEADER);
+        buffer.putLong(gameId).put(type);
+        if (type == SNAPSHOT) {
+            buffer.put(data);
+        } else if (type == TURN) {
+            buffer.putShort((short) turn);
+        }
+        var length = buffer.position() - start - RECORD_HEADER;
+        crc.reset();
+        crc.update(buffer.slice(start + RECORD_HEADER, length));
+        buffer.putInt(start, length).putInt(start + 4, (int) crc.getValue());
+    }
+
+    /**
+     * Attend que l'ajout d'une séquence, et tous ceux qui le précèdent, soient sur disque
+     * @param sequence séquence renvoyée par un ajout
+     */
+    public void awaitDurable(long sequence) throws IOException {
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (failure != null) {
+                    throw failure;
+                }
+                if (closed && !flusher.isAlive()) {
+                    throw new IOException("Le journal est fermé.");
+                }
+                durable.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Attente du journal interrompue");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Attend que tous les ajouts faits jusqu'ici soient sur disque
+     */
+    public void sync() throws IOException {
+        long sequence;
+        lock.lock();
+        try {
+            sequence = appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(sequence);
+    }
+
+    private void flushLoop() {
+        while (true) {
+            long sequence;
+            lock.lock();
+            try {
+                while (active.position() == 0 && !closed) {
+                    pending.awaitUninterruptibly();
+                }
+                if (active.position() == 0) {
+                    return; // Fermé et tout est écrit
+                }
+                var written = active;
+                active = flushing;
+                flushing = written;
+                sequence = appendedSequence;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                writeFully(channel, flushing.flip());
+                channel.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+            flushing.clear();
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                    durable.signalAll();
+                    return;
+                }
+                durableSequence = sequence;
+                durable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Écrit les derniers ajouts sur disque puis ferme le journal
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Fermeture du journal interrompue");
+        } finally {
+            try {
+                channel.close();
+            } finally {
+                lockChannel.close();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package util;
+
+import model.Board;
+import model.Game;
+import model.Turn;
+
+import java.util.Objects;
+
+/**
+ * Notation texte des cases et des tours.
+ * <p>
+ * Une case s'écrit avec la lettre de sa colonne puis le numéro de sa ligne : {@code a1} est la case (0,0) en haut
+ * à gauche, {@code g7} la case (6,6). Après la colonne {@code z}, les colonnes s'écrivent sur plusieurs lettres
+ * comme dans un tableur : {@code aa}, {@code ab}... {@code az}, {@code ba}... Les directions s'écrivent {@code N},
+ * {@code S}, {@code W} et {@code E}.
+ * <p>
+ * Un tour s'écrit avec la case de départ du pion joué, ses pas, puis {@code /} et le côté de la case d'arrivée
+ * où poser le mur. La capacité spéciale s'écrit {@code *} suivi du côté du mur cassé, à l'endroit du déplacement
+ * où le mur est cassé :
+ * <pre>
+ * a1/S      le pion de a1 ne bouge pas et pose un mur au sud
+ * c3NE/W    deux pas, nord puis est, mur à l'ouest de d2
+ * a1*EE/S   casse le mur à l'est de a1, avance à l'est, mur au sud de b1
+ * </pre>
+ */
+public final class TurnNotation {
+    private static final String DIRECTIONS = "NSWE"; // dans l'ordre des ordinaux de Direction
+    private static final char BREAK = '*';
+    private static final char WALL = '/';
+    private static final int LETTERS = 26;
+
+    private TurnNotation() {
+    }
+
+    /**
+     * @param board plateau de la case
+     * @param cell index de la case
+     * @return la notation de la case
+     */
+    public static String formatCell(Board board, int cell) {
+        var sb = new StringBuilder(3);
+        appendCell(sb, board, cell);
+        return sb.toString();
+    }
+
+    public static void appendCell(StringBuilder sb, Board board, int cell) {
+        appendColumn(sb, board.cellX(cell));
+        sb.append(board.cellY(cell) + 1);
+    }
+
+    private static void appendColumn(StringBuilder sb, int x) {
+        if (x >= LETTERS) {
+            appendColumn(sb, x / LETTERS - 1);
+        }
+        sb.append((char) ('a' + x % LETTERS));
+    }
+
+    /**
+     * @param board plateau de la case
+     * @param text notation de la case
+     * @return l'index de la case
+     * @throws IllegalArgumentException si la notation est invalide ou hors du plateau
+     */
+    public static int parseCell(Board board, CharSequence text) {
+        return parseCell(board, text, 0, text.length());
+    }
+
+    /**
+     * Lit une case d'une séquence de caractères, sans la copier
+     * @see #parseCell(Board, CharSequence)
+     */
+    public static int parseCell(Board board, CharSequence text, int start, int end) {
+        if (start == end || cellEnd(text, start, end) != end) {
+            throw new IllegalArgumentException("Case invalide: " + text.subSequence(start, end));
+        }
+        // Les calculs s'arrêtent dès que la colonne ou la ligne sort du plateau, pour ne pas déborder
+        var x = 0;
+        var i = start;
+        for (; isColumnLetter(text.charAt(i)); i++) {
+            if (x <= board.SIZE) {
+                x = x * LETTERS + text.charAt(i) - 'a' + 1;
+            }
+        }
+        x--;
+        var y = 0;
+        for (; i < end && y <= board.SIZE; i++) {
+            y = y * 10 + text.charAt(i) - '0';
+        }
+        if (x >= board.SIZE || y < 1 || y > board.SIZE) {
+            throw new IllegalArgumentException("Case hors du plateau: " + text.subSequence(start, end));
+        }
+        return board.cellIndex(x, y - 1);
+    }
+
+    /**
+     * @param game partie avant le tour
+     * @param turn tour du joueur courant, encodé avec {@link Turn}
+     * @return la notation du tour
+     */
+    public static String format(Game game, int turn) {
+        var sb = new StringBuilder(12);
+        appendTurn(sb, game, turn);
+        return sb.toString();
+    }
+
+    public static void appendTurn(StringBuilder sb, Game game, int turn) {
+        Objects.requireNonNull(game, "Game cannot be null");
+        if (turn == Turn.NONE) {
+            throw new IllegalArgumentException("Aucun tour à écrire");
+        }
+        var board = game.getBoard();
+        var pawn = game.getCurrentPlayer().getPawns()[Turn.pawn(turn)];
+        appendCell(sb, board, board.cellIndex(pawn.getPosition()));
+        var steps = Turn.steps(turn);
+        for (int i = 0; i <= steps; i++) {
+            if (Turn.usesCapacity(turn) && Turn.breakAt(turn) == i) {
+                sb.append(BREAK).append(DIRECTIONS.charAt(Turn.breakDirection(turn)));
+            }
+            if (i < steps) {
+                sb.append(DIRECTIONS.charAt(Turn.step(turn, i)));
+            }
+        }
+        sb.append(WALL).append(DIRECTIONS.charAt(Turn.wall(turn)));
+    }
+
+    /**
+     * Lit un tour du joueur courant. Seule la forme du tour est vérifiée : sa validité dans la position
+     * est vérifiée quand il est joué.
+     * @param game partie avant le tour
+     * @param text notation du tour
+     * @return le tour encodé avec {@link Turn}
+     * @throws IllegalArgumentException si la notation est invalide ou si la case de départ n'a pas de pion
+     *                                  du joueur courant
+     */
+    public static int parse(Game game, CharSequence text) {
+        return parse(game, text, 0, text.length());
+    }
+
+    /**
+     * Lit un tour d'une séquence de caractères, sans la copier
+     * @see #parse(Game, CharSequence)
+     */
+    public static int parse(Game game, CharSequence text, int start, int end) {
+        Objects.requireNonNull(game, "Game cannot be null");
+        var board = game.getBoard();
+        var index = cellEnd(text, start, end);
+        if (index == start) {
+            throw invalid(text, start, end);
+        }
+        var cell = parseCell(board, text, start, index);
+        var pawn = board.getPawnAt(cell);
+        if (pawn == null || pawn.getPlayerId() != game.getCurrentPlayerIndex()) {
+            throw new IllegalArgumentException("Aucun pion du joueur courant en " + formatCell(board, cell) + ": " + text.subSequence(start, end));
+        }
+
+        var steps = 0;
+        var first = 0;
+        var second = 0;
+        var breakAt = Turn.NONE;
+        var breakDirection = 0;
+        while (index < end && text.charAt(index) != WALL) {
+            var c = text.charAt(index++);
+            if (c == BREAK) {
+                if (breakAt != Turn.NONE || index == end) {
+                    throw invalid(text, start, end);
+                }
+                breakAt = steps;
+                breakDirection = direction(text.charAt(index++), text, start, end);
+            } else if (steps == 0) {
+                first = direction(c, text, start, end);
+                steps++;
+            } else if (steps == 1) {
+                second = direction(c, text, start, end);
+                steps++;
+            } else {
+                throw invalid(text, start, end);
+            }
+        }
+        if (index + 2 != end) {
+            throw invalid(text, start, end);
+        }
+        var turn = Turn.of(pawn.getId(), steps, first, second, direction(text.charAt(index + 1), text, start, end));
+        return breakAt == Turn.NONE ? turn : Turn.withBreak(turn, breakAt, breakDirection);
+    }
+
+    /**
+     * @return l'index qui suit la notation de case commençant en start (des lettres puis des chiffres),
+     *         start si le texte ne commence pas par une case
+     */
+    private static int cellEnd(CharSequence text, int start, int end) {
+        var digits = start;
+        while (digits < end && isColumnLetter(text.charAt(digits))) {
+            digits++;
+        }
+        if (digits == start) {
+            return start;
+        }
+        var index = digits;
+        while (index < end && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+            index++;
+        }
+        return index == digits ? start : index;
+    }
+
+    private static boolean isColumnLetter(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static int direction(char c, CharSequence text, int start, int end) {
+        var direction = DIRECTIONS.indexOf(c);
+        if (direction < 0) {
+            throw invalid(text, start, end);
+        }
+        return direction;
+    }
+
+    private static IllegalArgumentException invalid(CharSequence text, int start, int end) {
+        return new IllegalArgumentException("Tour invalide: " + text.subSequence(start, end));
+    }
+}
@@ -0,0 +1,49 @@
+package ai;
+
+import model.Direction;
+import model.Position;
+import model.Turn;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.TestGames;
+
+public class AlphaBetaEngineTest {
+    private static final long BUDGET_MILLIS = 200;
+
+    @Test
+    void checkEngineFindsEnclosingWall() {
+        var game = TestGames.startedGame();
+        // Il ne manque qu'un mur au sud de (0,0) pour qu'Alice ferme une zone d'une case
+        game.getBoard().placeWall(new Position(0, 0), Direction.EAST);
+
+        var engine = new AlphaBetaEngine(new TerritoryEvaluator(), 10_000);
+        var turn = engine.findBestTurn(game, 1);
+        Assertions.assertEquals(1, engine.getLastDepth());
+        Assertions.assertEquals(1, engine.getLastScore());
+
+        game.apply(turn);
+        Assertions.assertEquals(1, game.getScores().get(game.getPlayers().get(0)));
+    }
+
+    @Test
+    void checkEngineLeavesGameUnchangedWithinBudget() {
+        var game = TestGames.startedGame();
+        var key = game.positionKey();
+        var board = game.getBoard().displayBoard();
+
+        var engine = new AlphaBetaEngine(BUDGET_MILLIS);
+        var start = System.nanoTime();
+        var turn = engine.findBestTurn(game);
+        var elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        Assertions.assertNotEquals(Turn.NONE, turn);
+        Assertions.assertTrue(engine.getLastDepth() >= 1);
+        Assertions.assertTrue(engine.getLastNodes() > 0);
+        // Borne large : seule une recherche qui ignore son échéance la dépasse, même sur une machine chargée
+        Assertions.assertTrue(elapsedMillis < 25 * BUDGET_MILLIS, "Recherche trop longue: " + elapsedMillis + " ms");
+        Assertions.assertEquals(key, game.positionKey());
+        Assertions.assertEquals(board, game.getBoard().displayBoard());
+        Assertions.assertFalse(game.canUndo());
+        game.apply(turn);
+    }
+}
@@ -0,0 +1,57 @@
+package ai;
+
+import model.Game;
+import model.Position;
+import model.Turn;
+import model.TurnGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.GameFactory;
+import util.TestGames;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MctsEngineTest {
+
+    @Test
+    void checkEngineReturnsLegalTurnForFourPlayers() {
+        var game = GameFactory.createGame(4, new ArrayList<>(List.of("Alice", "Bob", "Carol", "Dave")));
+        var positions = new Position[]{
+                new Position(1, 1), new Position(5, 5), new Position(5, 1), new Position(1, 5),
+                new Position(3, 0), new Position(3, 6), new Position(0, 3), new Position(6, 3)};
+        for (int i = 0; i < positions.length; i++) {
+            game.playerPlacePawns(game.getPlayers().get(i % 4), i / 4, positions[i]);
+        }
+        game.start();
+        var key = game.positionKey();
+
+        try (var engine = new MctsEngine(new TerritoryEvaluator(), 300, 4, 42)) {
+            var turn = engine.findBestTurn(game);
+            Assertions.assertNotEquals(Turn.NONE, turn);
+            Assertions.assertTrue(engine.getLastPlayouts() > 0);
+            Assertions.assertEquals(key, game.positionKey());
+
+            // Le tour choisi fait partie des tours jouables
+            var turns = new int[TurnGenerator.maxTurns(game)];
+            var count = new TurnGenerator().generate(game, turns);
+            Assertions.assertTrue(java.util.Arrays.stream(turns, 0, count).anyMatch(t -> t == turn));
+            game.apply(turn);
+        }
+    }
+
+    @Test
+    void checkNodeBudgetBoundsTheTree() {
+        var game = TestGames.startedGame();
+        var workers = 4;
+        var maxNodes = 200;
+        try (var engine = new MctsEngine(new TerritoryEvaluator(), 200, workers, 42, maxNodes)) {
+            Assertions.assertNotEquals(Turn.NONE, engine.findBestTurn(game));
+            Assertions.assertTrue(engine.getLastPlayouts() > 0);
+            // Chaque tâche peut développer un dernier nœud au moment où le budget est atteint
+            Assertions.assertTrue(engine.getLastNodes() <= maxNodes + (long) workers * TurnGenerator.maxTurns(game),
+                    "Arbre trop grand: " + engine.getLastNodes());
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MctsEngine(new TerritoryEvaluator(), 200, workers, 42, 0));
+    }
+}
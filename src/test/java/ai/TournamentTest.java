@@ -0,0 +1,31 @@
+package ai;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class TournamentTest {
+
+    @Test
+    void checkTournamentIsReproducible() {
+        var entrants = List.of(
+                new Tournament.Entrant("Premier", RandomStrategy::new),
+                new Tournament.Entrant("Second", seed -> new RandomStrategy(seed + 1)));
+        var first = new Tournament(entrants, 2, 7, 4, 200).run(40);
+        var second = new Tournament(entrants, 2, 7, 2, 200).run(40);
+
+        Assertions.assertEquals(40, first.getGames());
+        Assertions.assertTrue(first.getGamesPerSecond() > 0);
+        for (int i = 0; i < entrants.size(); i++) {
+            var standing = first.getStandings().get(i);
+            Assertions.assertEquals(40, standing.getGames());
+            Assertions.assertEquals(40, standing.getWins() + standing.getDraws() + standing.getLosses());
+            Assertions.assertEquals(standing.getTotalScore(), second.getStandings().get(i).getTotalScore());
+            Assertions.assertEquals(standing.getElo(), second.getStandings().get(i).getElo());
+        }
+        // Les gains Elo de l'un sont les pertes de l'autre
+        Assertions.assertEquals(2 * Tournament.INITIAL_ELO,
+                first.getStandings().get(0).getElo() + first.getStandings().get(1).getElo(), 1e-6);
+    }
+}
@@ -0,0 +1,49 @@
+package ai;
+
+import model.Direction;
+import model.Turn;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TranspositionTableTest {
+
+    @Test
+    void checkStoredEntryIsFound() {
+        var table = new TranspositionTable(1);
+        Assertions.assertEquals(1 << 16, table.capacity());
+        var turn = Turn.withBreak(Turn.of(3, 2, Direction.EAST.ordinal(), Direction.SOUTH.ordinal(), Direction.WEST.ordinal()), 1, Direction.NORTH.ordinal());
+
+        table.store(0x1234_5678_9ABC_DEF0L, 7, -42, TranspositionTable.LOWER, turn);
+        var entry = table.probe(0x1234_5678_9ABC_DEF0L);
+        Assertions.assertNotEquals(TranspositionTable.MISS, entry);
+        Assertions.assertEquals(-42, TranspositionTable.score(entry));
+        Assertions.assertEquals(7, TranspositionTable.depth(entry));
+        Assertions.assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(entry));
+        Assertions.assertEquals(turn, TranspositionTable.turn(entry));
+        Assertions.assertEquals(TranspositionTable.MISS, table.probe(0x1234_5678_9ABC_DEF1L));
+
+        table.store(42L, 0, 0, TranspositionTable.EXACT, Turn.NONE);
+        Assertions.assertEquals(Turn.NONE, TranspositionTable.turn(table.probe(42L)));
+    }
+
+    @Test
+    void checkDeepEntryIsKeptInItsBucket() {
+        var table = new TranspositionTable(1);
+        var buckets = table.capacity() / 2;
+        // Trois clés différentes qui tombent dans le même panier
+        long deep = 5, shallow = 5 + buckets, other = 5 + 2L * buckets;
+
+        table.store(deep, 10, 1, TranspositionTable.EXACT, Turn.NONE);
+        table.store(shallow, 2, 2, TranspositionTable.EXACT, Turn.NONE);
+        table.store(other, 3, 3, TranspositionTable.EXACT, Turn.NONE);
+        Assertions.assertEquals(1, TranspositionTable.score(table.probe(deep)));
+        Assertions.assertEquals(TranspositionTable.MISS, table.probe(shallow));
+        Assertions.assertEquals(3, TranspositionTable.score(table.probe(other)));
+
+        // Une entrée d'une recherche précédente peut être remplacée
+        table.newSearch();
+        table.store(shallow, 1, 4, TranspositionTable.EXACT, Turn.NONE);
+        Assertions.assertEquals(TranspositionTable.MISS, table.probe(deep));
+        Assertions.assertEquals(4, TranspositionTable.score(table.probe(shallow)));
+    }
+}
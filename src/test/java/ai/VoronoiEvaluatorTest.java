@@ -0,0 +1,33 @@
+package ai;
+
+import model.Board;
+import model.Direction;
+import model.Pawn;
+import model.Position;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class VoronoiEvaluatorTest {
+
+    @Test
+    void checkCellsGoToNearestPlayer() {
+        var board = new Board();
+        board.placePawnAt(new Pawn(0, 0, new Position(0, 0)), new Position(0, 3));
+        board.placePawnAt(new Pawn(0, 1, new Position(0, 0)), new Position(6, 3));
+
+        var territory = new int[Board.MAX_PLAYERS];
+        var evaluator = new VoronoiEvaluator();
+        evaluator.estimate(board, territory);
+        // La colonne du milieu est à égale distance des deux pions
+        Assertions.assertEquals(21, territory[0]);
+        Assertions.assertEquals(21, territory[1]);
+
+        // Un mur vertical complet entre les colonnes 0 et 1 enferme le joueur 0 dans sa colonne
+        for (int y = 0; y < board.SIZE; y++) {
+            board.placeWall(new Position(0, y), Direction.EAST);
+        }
+        evaluator.estimate(board, territory);
+        Assertions.assertEquals(7, territory[0]);
+        Assertions.assertEquals(42, territory[1]);
+    }
+}
@@ -0,0 +1,50 @@
+package api.graphic;
+
+import model.Position;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.GameFactory;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class BoardRendererTest {
+
+    @Test
+    void checkPawnsAndWallsAreDrawn() {
+        var game = GameFactory.createGame(2, new ArrayList<>(List.of("Alice", "Bob")));
+        game.playerPlacePawns(game.getPlayers().get(0), 0, new Position(0, 0));
+        game.playerPlacePawns(game.getPlayers().get(1), 0, new Position(3, 3));
+
+        var renderer = new BoardRenderer();
+        var image = renderer.render(game, 200, 200);
+        var cellSize = renderer.getCellSize();
+        var center = cellSize / 2;
+        Assertions.assertEquals(Color.BLUE.getRGB(), image.getRGB(renderer.getStartX() + center, renderer.getStartY() + center));
+        Assertions.assertEquals(Color.RED.getRGB(), image.getRGB(renderer.getStartX() + 3 * cellSize + center, renderer.getStartY() + 3 * cellSize + center));
+        // Bord nord du plateau et case vide
+        Assertions.assertEquals(Color.BLACK.getRGB(), image.getRGB(renderer.getStartX() + center, renderer.getStartY()));
+        Assertions.assertEquals(Color.WHITE.getRGB(), image.getRGB(renderer.getStartX() + cellSize + center, renderer.getStartY() + cellSize + center));
+    }
+
+    @Test
+    void checkThumbnailsReuseOneImagePerThread() {
+        var game = GameFactory.createGame(2, new ArrayList<>(List.of("Alice", "Bob")));
+        game.playerPlacePawns(game.getPlayers().get(0), 0, new Position(2, 2));
+        var rendered = ConcurrentHashMap.<Integer>newKeySet();
+        Set<BufferedImage> images = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        BoardRenderer.renderAll(200, index -> game, 64, 4, (index, image) -> {
+            Assertions.assertEquals(64, image.getWidth());
+            rendered.add(index);
+            images.add(image);
+        });
+        Assertions.assertEquals(200, rendered.size());
+        Assertions.assertTrue(images.size() <= 4);
+    }
+}
@@ -0,0 +1,164 @@
+package api.server;
+
+import ai.RandomStrategy;
+import model.Turn;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.GameRecordReader;
+import util.TurnNotation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+public class GameServerTest {
+
+    private static final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+        }
+
+        void send(String command) {
+            out.println(command);
+        }
+
+        String receive() throws IOException {
+            return in.readLine();
+        }
+
+        String ask(String command) throws IOException {
+            send(command);
+            return receive();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Test
+    void checkGamePlayedOverTheNetwork() throws IOException {
+        try (var server = new GameServer(0, null)) {
+            server.start();
+            try (var alice = new Client(server.getPort()); var bob = new Client(server.getPort());
+                 var spectator = new Client(server.getPort())) {
+                Assertions.assertTrue(alice.ask("PLAY a1E/S").startsWith("ERR"));
+                Assertions.assertEquals("OK 1 0", alice.ask("NEW 2 Alice"));
+                Assertions.assertEquals("OK WAITING 1/2", alice.ask("STATE"));
+                Assertions.assertEquals("OK 1", spectator.ask("SPECTATE 1"));
+                Assertions.assertEquals("SNAPSHOT 0 WAITING 1/2", spectator.receive());
+                Assertions.assertEquals("OK 1 1", bob.ask("JOIN 1 Bob"));
+                Assertions.assertTrue(bob.ask("PLACE b2").startsWith("ERR"));
+
+                var clients = new Client[] {alice, bob};
+                var cells = new String[] {"a1", "b2", "g2", "f4", "e3", "c6", "e6", "a7"};
+                for (int i = 0; i < cells.length; i++) {
+                    var client = clients[i % 2];
+                    Assertions.assertEquals("OK PLACE", client.ask("WAIT"));
+                    Assertions.assertEquals("OK", client.ask("PLACE " + cells[i]));
+                }
+
+                for (int i = 0; i < cells.length; i++) {
+                    Assertions.assertEquals("P " + (i + 1) + " " + (i % 2) + " " + cells[i], spectator.receive());
+                }
+
+                // Chaque client reconstruit la partie envoyée par le serveur pour choisir son tour
+                var strategy = new RandomStrategy(7);
+                for (int i = 0; i < 12; i++) {
+                    var state = alice.ask("STATE").split(" ", 4);
+                    if (state[2].equals("OVER")) {
+                        break;
+                    }
+                    var client = clients[Integer.parseInt(state[1])];
+                    Assertions.assertEquals("OK PLAY", client.ask("WAIT"));
+                    var game = GameRecordReader.parse(state[3]);
+                    Assertions.assertEquals(i, game.getHistorySize());
+                    var turn = strategy.chooseTurn(game);
+                    Assertions.assertNotEquals(Turn.NONE, turn);
+                    var notation = TurnNotation.format(game, turn);
+                    Assertions.assertEquals("OK", client.ask("PLAY " + notation));
+                    var delta = spectator.receive().split(" ");
+                    Assertions.assertEquals("T", delta[0]);
+                    Assertions.assertEquals(cells.length + i + 1, Integer.parseInt(delta[1]));
+                    Assertions.assertEquals(state[1], delta[2]);
+                    Assertions.assertEquals(notation, delta[3]);
+                }
+                Assertions.assertEquals(alice.ask("STATE"), bob.ask("STATE"));
+
+                // Le départ d'un joueur réveille l'autre
+                var state = alice.ask("STATE").split(" ", 4);
+                var waiting = clients[1 - Integer.parseInt(state[1])];
+                waiting.send("WAIT");
+                Assertions.assertEquals("OK", clients[Integer.parseInt(state[1])].ask("QUIT"));
+                Assertions.assertEquals("OK OVER ABANDONED", waiting.receive());
+                Assertions.assertTrue(spectator.receive().matches("END \\d+ ABANDONED"));
+                Assertions.assertNull(spectator.receive());
+                Assertions.assertTrue(waiting.ask("PLAY a1E/S").startsWith("ERR"));
+            }
+        }
+    }
+
+    @Test
+    void checkSpectatorLeavingIdleGameIsReleased() throws IOException, InterruptedException {
+        try (var server = new GameServer(0, null)) {
+            server.start();
+            try (var alice = new Client(server.getPort())) {
+                Assertions.assertEquals("OK 1 0", alice.ask("NEW 2 Alice"));
+                var spectator = new Client(server.getPort());
+                Assertions.assertEquals("OK 1", spectator.ask("SPECTATE 1"));
+                Assertions.assertEquals("SNAPSHOT 0 WAITING 1/2", spectator.receive());
+                Assertions.assertEquals(2, server.getConnectionCount());
+
+                // Aucun tour n'est joué : seule la lecture de la connexion voit le départ du spectateur
+                spectator.close();
+                for (int i = 0; i < 200 && server.getConnectionCount() > 1; i++) {
+                    Thread.sleep(10);
+                }
+                Assertions.assertEquals(1, server.getConnectionCount());
+
+                var quitting = new Client(server.getPort());
+                Assertions.assertEquals("OK 1", quitting.ask("SPECTATE 1"));
+                Assertions.assertEquals("SNAPSHOT 0 WAITING 1/2", quitting.receive());
+                quitting.send("QUIT");
+                Assertions.assertNull(quitting.receive());
+                quitting.close();
+                Assertions.assertEquals("OK WAITING 1/2", alice.ask("STATE"));
+            }
+        }
+    }
+
+    @Test
+    void checkSlowSpectatorSkipsForward() throws InterruptedException {
+        var feed = new SpectatorFeed();
+        for (int i = 1; i <= SpectatorFeed.CAPACITY + 10; i++) {
+            feed.publish(new byte[] {(byte) i});
+        }
+        var frames = new ArrayList<byte[]>();
+        Assertions.assertEquals(SpectatorFeed.LAGGING, feed.await(5, frames));
+        Assertions.assertTrue(frames.isEmpty());
+
+        var cursor = feed.getSequence() - 2;
+        Assertions.assertEquals(feed.getSequence(), feed.await(cursor, frames));
+        Assertions.assertEquals(2, frames.size());
+        Assertions.assertEquals((byte) (SpectatorFeed.CAPACITY + 10), frames.get(1)[0]);
+
+        feed.close(new byte[] {0});
+        frames.clear();
+        cursor = feed.await(feed.getSequence(), frames);
+        Assertions.assertEquals(feed.getSequence(), cursor);
+        Assertions.assertTrue(frames.isEmpty());
+    }
+}
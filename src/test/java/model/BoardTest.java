@@ -140,6 +140,63 @@ public class BoardTest {
 
     }
 
+    @Test
+    void checkIfWallsDoNotOverlapOnLargeBoard(){
+        Board board = new Board(9);
+
+        // Le mur sud de la dernière colonne ne doit pas déborder sur la ligne suivante
+        Assertions.assertTrue(board.placeWall(new Position(8, 3), Direction.SOUTH));
+        Assertions.assertFalse(board.isWallAt(new Position(0, 5), Direction.NORTH),
+                "Wall at (8, 3) SOUTH shouldn't be visible at (0, 5) NORTH");
+        Assertions.assertTrue(board.isWallAt(new Position(8, 4), Direction.NORTH));
+
+        Assertions.assertTrue(board.placeWall(new Position(8, 3), Direction.WEST));
+        Assertions.assertFalse(board.isWallAt(new Position(8, 4), Direction.WEST));
+
+        // Un emplacement de mur hors du plateau n'existe pas
+        Assertions.assertThrows(OutOfBoardException.class, () -> board.isWallAt(new Position(9, 0), Direction.NORTH));
+    }
+
+    @Test
+    void checkIfIndexApiMatchesPositionApi(){
+        Board board = new Board();
+        int cell = board.cellIndex(3, 2);
+
+        Assertions.assertEquals(board.cellIndex(3, 1), board.neighbour(cell, Direction.NORTH.ordinal()));
+        Assertions.assertEquals(board.cellIndex(4, 2), board.neighbour(cell, Direction.EAST.ordinal()));
+        Assertions.assertEquals(NeighbourTable.NONE, board.neighbour(board.cellIndex(0, 0), Direction.WEST.ordinal()));
+
+        Assertions.assertTrue(board.placeWall(cell, Direction.EAST.ordinal()));
+        Assertions.assertTrue(board.isWallAt(new Position(4, 2), Direction.WEST));
+        Assertions.assertTrue(board.isWallBetween(cell, board.cellIndex(4, 2)));
+        Assertions.assertFalse(board.placeWall(new Position(4, 2), Direction.WEST));
+
+        Pawn pawn = new Pawn(0, 0, new Position(3, 2));
+        Assertions.assertTrue(board.placePawnAt(pawn, cell));
+        Assertions.assertFalse(board.movePawnAt(cell, Direction.EAST.ordinal()));
+        Assertions.assertTrue(board.movePawnAt(cell, Direction.SOUTH.ordinal()));
+        Assertions.assertSame(pawn, board.getPawnAt(board.cellIndex(3, 3)));
+        Assertions.assertEquals(new Position(3, 3), pawn.getPosition());
+        Assertions.assertNull(board.getPawnAt(cell));
+    }
+
+    @Test
+    void checkIfPawnCanMoveToTwoCellsAroundWalls(){
+        Board board = new Board();
+        Pawn pawn = new Pawn(0, 0, new Position(3, 3));
+        board.placePawnAt(pawn, new Position(3, 3));
+        board.placeWall(new Position(3, 3), Direction.EAST);
+
+        Assertions.assertFalse(board.isPawnCanMoveTo(pawn, new Position(5, 3), 0));
+        Assertions.assertTrue(board.isPawnCanMoveTo(pawn, new Position(4, 4), 0), "L-shaped path through the south should be allowed");
+        Assertions.assertFalse(board.isPawnCanMoveTo(pawn, new Position(4, 4), 1));
+        Assertions.assertTrue(board.isPawnCanMoveTo(pawn, new Position(3, 5), 0));
+
+        board.placePawnAt(new Pawn(1, 1, new Position(3, 4)), new Position(3, 4));
+        Assertions.assertFalse(board.isPawnCanMoveTo(pawn, new Position(4, 4), 0));
+        Assertions.assertFalse(board.isPawnCanMoveTo(pawn, new Position(3, 5), 0));
+    }
+
     @Test
     void checkIfPawnCanBePlacedOnBoard() {
         Board board = new Board();
@@ -447,4 +504,109 @@ public class BoardTest {
         Assertions.assertTrue(actualSet.equals(cells));
     }
 
+    @Test
+    void checkRegionFillOnLargeBoard(){
+        Board board = new Board(200);
+        Pawn pawn1 = new Pawn(0, 0, new Position(0, 0));
+        Pawn pawn2 = new Pawn(0, 1, new Position(199, 199));
+        board.placePawnAt(pawn1, new Position(0, 0));
+        board.placePawnAt(pawn2, new Position(199, 199));
+
+        // Une zone de 40 000 cases ne doit pas provoquer de StackOverflowError
+        var region = board.getRegion(board.cellIndex(0, 0));
+        Assertions.assertEquals(200 * 200, region.getCellCount());
+        Assertions.assertEquals(2, region.getPawnCount());
+        Assertions.assertFalse(region.isControlledBySinglePlayer());
+
+        // Isoler la case (0, 0)
+        board.placeWall(new Position(0, 0), Direction.EAST);
+        board.placeWall(new Position(0, 0), Direction.SOUTH);
+        board.fillRegion(board.cellIndex(0, 0), region);
+        Assertions.assertEquals(1, region.getCellCount());
+        Assertions.assertEquals(0, region.getControllingPlayerId());
+        Assertions.assertTrue(region.contains(board.cellIndex(0, 0)));
+        Assertions.assertFalse(region.contains(board.cellIndex(1, 0)));
+    }
+
+    @Test
+    void checkIfClosingWallIsReported(){
+        Board board = new Board();
+        Position position = new Position(3, 3);
+        board.placeWall(position, Direction.NORTH);
+        Assertions.assertFalse(board.lastWallClosedLoop());
+        board.placeWall(position, Direction.EAST);
+        board.placeWall(position, Direction.SOUTH);
+        Assertions.assertFalse(board.lastWallClosedLoop());
+        int outside = board.getRegionLabel(board.cellIndex(0, 0));
+        Assertions.assertEquals(outside, board.getRegionLabel(board.cellIndex(3, 3)));
+
+        board.placeWall(position, Direction.WEST);
+        Assertions.assertTrue(board.lastWallClosedLoop());
+        int inside = board.getRegionLabel(board.cellIndex(3, 3));
+        Assertions.assertNotEquals(outside, inside);
+        Assertions.assertEquals(1, board.getRegionCellCount(inside));
+        Assertions.assertEquals(48, board.getRegionCellCount(board.getRegionLabel(board.cellIndex(0, 0))));
+
+        board.placePawnAt(new Pawn(0, 2, position), position);
+        Assertions.assertEquals(2, board.getRegionOwner(inside));
+        Assertions.assertEquals(1, board.getRegionPawnCount(inside, 2));
+    }
+
+    @Test
+    void checkIncrementalRegionsMatchFullFill(){
+        var random = new java.util.Random(42);
+        Board board = new Board(9);
+        var region = new Region(board.SIZE);
+        for (int i = 0; i < 6; i++) {
+            int cell = random.nextInt(board.getCellCount());
+            board.placePawnAt(new Pawn(i, i % 3, board.getPositionAt(cell)), cell);
+        }
+        for (int turn = 0; turn < 300; turn++) {
+            int cell = random.nextInt(board.getCellCount());
+            int direction = random.nextInt(Direction.COUNT);
+            // Un quart des coups retire un mur intérieur, comme la capacité spéciale
+            if (turn % 4 == 3 && board.neighbour(cell, direction) != NeighbourTable.NONE) {
+                board.removeWall(cell, direction);
+            } else {
+                board.placeWall(cell, direction);
+            }
+
+            for (int c = 0; c < board.getCellCount(); c++) {
+                board.fillRegion(c, region);
+                int label = board.getRegionLabel(c);
+                Assertions.assertEquals(region.getCellCount(), board.getRegionCellCount(label),
+                        "Wrong cell count for cell " + c + " after " + turn + " walls");
+                for (int player = 0; player < 3; player++) {
+                    int expected = 0;
+                    for (int p = 0; p < region.getPawnCount(); p++) {
+                        if (region.getPawn(p).getPlayerId() == player) {
+                            expected++;
+                        }
+                    }
+                    Assertions.assertEquals(expected, board.getRegionPawnCount(label, player));
+                }
+                var members = region.getMembers();
+                for (int other = members.nextSetBit(0); other >= 0; other = members.nextSetBit(other + 1)) {
+                    Assertions.assertEquals(label, board.getRegionLabel(other));
+                }
+            }
+        }
+    }
+
+    @Test
+    void checkWallKeyFollowsWallsOnly() {
+        var board = new Board();
+        var empty = board.getWallKey();
+        board.placePawnAt(new Pawn(0, 0, new Position(1, 1)), board.cellIndex(1, 1));
+        Assertions.assertEquals(empty, board.getWallKey());
+
+        board.placeWall(board.cellIndex(1, 1), Direction.EAST.ordinal());
+        var walled = board.getWallKey();
+        Assertions.assertNotEquals(empty, walled);
+        board.removePawnAt(board.cellIndex(1, 1));
+        Assertions.assertEquals(walled, board.getWallKey());
+
+        board.removeWall(board.cellIndex(2, 1), Direction.WEST.ordinal());
+        Assertions.assertEquals(empty, board.getWallKey());
+    }
 }
@@ -0,0 +1,67 @@
+package model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.GameFactory;
+import util.TestGames;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameEngineTest {
+
+    @Test
+    void checkRefusedTurnsLeaveGameUnchanged() {
+        var game = TestGames.startedGame();
+        var engine = new GameEngine(game);
+        var key = game.positionKey();
+        var north = Direction.NORTH.ordinal();
+        var south = Direction.SOUTH.ordinal();
+        var east = Direction.EAST.ordinal();
+
+        // Le premier pas sort du plateau
+        Assertions.assertEquals(TurnResult.ILLEGAL_MOVE, engine.play(Turn.of(0, 1, north, 0, south)));
+        // Le second pas arrive sur le pion de Bob
+        Assertions.assertEquals(TurnResult.ILLEGAL_MOVE, engine.play(Turn.of(0, 2, east, south, south)));
+        // Aucun mur à casser à l'est de (0,0)
+        Assertions.assertEquals(TurnResult.NO_WALL_TO_BREAK, engine.play(Turn.withBreak(Turn.of(0, 0, 0, 0, south), 0, east)));
+        Assertions.assertEquals(TurnResult.INVALID_PAWN, engine.play(Turn.of(7, 0, 0, 0, south)));
+
+        game.getBoard().placeWall(new Position(0, 0), Direction.SOUTH);
+        key = game.positionKey();
+        Assertions.assertEquals(TurnResult.WALL_ALREADY_PLACED, engine.play(Turn.of(0, 0, 0, 0, south)));
+
+        Assertions.assertEquals(key, game.positionKey());
+        Assertions.assertEquals(0, game.getCurrentPlayerIndex());
+        Assertions.assertFalse(game.canUndo());
+    }
+
+    @Test
+    void checkPlayedTurnCanBeUndone() {
+        var game = TestGames.startedGame();
+        var engine = new GameEngine(game);
+        var key = game.positionKey();
+        Assertions.assertFalse(engine.undo());
+
+        // Alice casse le mur à l'est de (0,0), passe, puis ferme (1,0) par un mur au sud
+        game.getBoard().placeWall(new Position(0, 0), Direction.EAST);
+        key = game.positionKey();
+        var turn = Turn.withBreak(Turn.of(0, 1, Direction.EAST.ordinal(), 0, Direction.SOUTH.ordinal()), 0, Direction.EAST.ordinal());
+        Assertions.assertEquals(TurnResult.OK, engine.play(turn));
+        Assertions.assertTrue(game.getPlayers().get(0).isCapacityUsed());
+        Assertions.assertEquals(new Position(1, 0), game.getPlayers().get(0).getPawns()[0].getPosition());
+        Assertions.assertEquals(1, game.getCurrentPlayerIndex());
+
+        Assertions.assertTrue(engine.undo());
+        Assertions.assertEquals(key, game.positionKey());
+        Assertions.assertFalse(game.getPlayers().get(0).isCapacityUsed());
+        Assertions.assertEquals(0, game.getCurrentPlayerIndex());
+    }
+
+    @Test
+    void checkTurnRefusedBeforeStart() {
+        var game = GameFactory.createGame(2, new ArrayList<>(List.of("Alice", "Bob")));
+        var engine = new GameEngine(game);
+        Assertions.assertEquals(TurnResult.GAME_NOT_STARTED, engine.play(Turn.of(0, 0, 0, 0, 0)));
+    }
+}
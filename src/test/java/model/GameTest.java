@@ -0,0 +1,230 @@
+package model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.GameFactory;
+import util.TestGames;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameTest {
+
+    @Test
+    void checkPositionKeyDoesNotDependOnMoveOrder() {
+        var game1 = TestGames.startedGame();
+        var game2 = TestGames.startedGame();
+        Assertions.assertEquals(game1.positionKey(), game2.positionKey());
+
+        game1.getBoard().placeWall(new Position(2, 2), Direction.NORTH);
+        game1.getBoard().placeWall(new Position(3, 3), Direction.EAST);
+        game2.getBoard().placeWall(new Position(3, 3), Direction.EAST);
+        Assertions.assertNotEquals(game1.positionKey(), game2.positionKey());
+        game2.getBoard().placeWall(new Position(2, 2), Direction.NORTH);
+        Assertions.assertEquals(game1.positionKey(), game2.positionKey());
+
+        // Un aller-retour du pion redonne la même position
+        game1.getBoard().movePawnAt(new Position(0, 0), Direction.SOUTH);
+        Assertions.assertNotEquals(game1.positionKey(), game2.positionKey());
+        game1.getBoard().movePawnAt(new Position(0, 1), Direction.NORTH);
+        Assertions.assertEquals(game1.positionKey(), game2.positionKey());
+    }
+
+    @Test
+    void checkPositionKeyTracksSideToMoveAndCapacity() {
+        var game = TestGames.startedGame();
+        var initialKey = game.positionKey();
+
+        game.nextPlayer();
+        Assertions.assertNotEquals(initialKey, game.positionKey());
+        game.nextPlayer();
+        Assertions.assertEquals(initialKey, game.positionKey());
+
+        game.getPlayers().get(1).useCapacity();
+        Assertions.assertNotEquals(initialKey, game.positionKey());
+    }
+
+    @Test
+    void checkApplyAndUndoRestoreTheGame() {
+        var game = TestGames.startedGame();
+        var initialKey = game.positionKey();
+        var initialBoard = game.getBoard().displayBoard();
+
+        // Alice déplace son pion (0,0) de deux cases vers le sud et pose un mur à l'est
+        var first = Turn.of(0, 2, Direction.SOUTH.ordinal(), Direction.SOUTH.ordinal(), Direction.EAST.ordinal());
+        game.apply(first);
+        Assertions.assertEquals(new Position(0, 2), game.getPlayers().get(0).getPawns()[0].getPosition());
+        Assertions.assertTrue(game.getBoard().isWallAt(new Position(0, 2), Direction.EAST));
+        Assertions.assertEquals(1, game.getCurrentPlayerIndex());
+        var keyAfterFirst = game.positionKey();
+
+        // Bob casse le mur d'Alice avec sa capacité avant de poser le sien
+        game.getBoard().placeWall(new Position(1, 1), Direction.WEST);
+        var keyBeforeSecond = game.positionKey();
+        var second = Turn.withBreak(Turn.of(0, 0, 0, 0, Direction.SOUTH.ordinal()), 0, Direction.WEST.ordinal());
+        game.apply(second);
+        Assertions.assertTrue(game.getPlayers().get(1).isCapacityUsed());
+        Assertions.assertFalse(game.getBoard().isWallAt(new Position(1, 1), Direction.WEST));
+        Assertions.assertEquals(2, game.getHistorySize());
+        Assertions.assertEquals(second, game.getHistoryTurn(1));
+
+        game.undo();
+        Assertions.assertFalse(game.getPlayers().get(1).isCapacityUsed());
+        Assertions.assertEquals(keyBeforeSecond, game.positionKey());
+        game.getBoard().removeWall(new Position(1, 1), Direction.WEST);
+        Assertions.assertEquals(keyAfterFirst, game.positionKey());
+
+        game.undo();
+        Assertions.assertFalse(game.canUndo());
+        Assertions.assertEquals(0, game.getCurrentPlayerIndex());
+        Assertions.assertEquals(initialKey, game.positionKey());
+        Assertions.assertEquals(initialBoard, game.getBoard().displayBoard());
+    }
+
+    @Test
+    void checkInvalidTurnLeavesGameUnchanged() {
+        var game = TestGames.startedGame();
+        var initialKey = game.positionKey();
+
+        // Le second pas vers le nord sort du plateau
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> game.apply(Turn.of(1, 2, Direction.EAST.ordinal(), Direction.NORTH.ordinal(), Direction.SOUTH.ordinal())));
+        // Le mur de bordure ne peut pas être cassé
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> game.apply(Turn.withBreak(Turn.of(0, 1, Direction.EAST.ordinal(), 0, Direction.SOUTH.ordinal()), 1, Direction.NORTH.ordinal())));
+        Assertions.assertEquals(initialKey, game.positionKey());
+        Assertions.assertFalse(game.getPlayers().get(0).isCapacityUsed());
+        Assertions.assertFalse(game.canUndo());
+    }
+
+    @Test
+    void checkUndoRestoresScoresAndGameOver() {
+        var game = TestGames.startedGame();
+        var random = new java.util.Random(7);
+        var keys = new ArrayList<Long>();
+        var scores = new ArrayList<List<Integer>>();
+        while (!game.isGameOver() && game.getHistorySize() < 200) {
+            var player = game.getCurrentPlayer();
+            var turn = Turn.of(random.nextInt(player.getPawns().length), random.nextInt(3),
+                    random.nextInt(4), random.nextInt(4), random.nextInt(4));
+            keys.add(game.positionKey());
+            scores.add(game.getPlayers().stream().map(p -> game.getScores().get(p)).toList());
+            try {
+                game.apply(turn);
+            } catch (IllegalArgumentException e) {
+                keys.remove(keys.size() - 1);
+                scores.remove(scores.size() - 1);
+                Assertions.assertEquals(keys.size(), game.getHistorySize());
+            }
+        }
+        Assertions.assertTrue(game.getHistorySize() > 0);
+        while (game.canUndo()) {
+            game.undo();
+            Assertions.assertFalse(game.isGameOver());
+            Assertions.assertEquals(keys.remove(keys.size() - 1), game.positionKey());
+            var expected = scores.remove(scores.size() - 1);
+            for (int i = 0; i < expected.size(); i++) {
+                Assertions.assertEquals(expected.get(i), game.getScores().get(game.getPlayers().get(i)));
+            }
+            // Les zones tenues à jour par le plateau redonnent les mêmes scores
+            game.calculationOver();
+            Assertions.assertFalse(game.isGameOver());
+            for (int i = 0; i < expected.size(); i++) {
+                Assertions.assertEquals(expected.get(i), game.getScores().get(game.getPlayers().get(i)));
+            }
+        }
+    }
+
+    @Test
+    void checkGeneratedTurnsMatchBruteForce() {
+        var game = TestGames.startedGame();
+        var generator = new TurnGenerator();
+        var buffer = new int[TurnGenerator.maxTurns(game)];
+        var random = new java.util.Random(11);
+
+        for (int ply = 0; ply < 12 && !game.isGameOver(); ply++) {
+            var count = generator.generate(game, buffer);
+            Assertions.assertTrue(count > 0);
+
+            // Chaque tour généré est jouable
+            var generated = new java.util.HashSet<Long>();
+            for (int i = 0; i < count; i++) {
+                game.apply(buffer[i]);
+                generated.add(game.positionKey());
+                game.undo();
+            }
+
+            // Toutes les combinaisons encodables qui sont jouables mènent à une position générée
+            var reachable = new java.util.HashSet<Long>();
+            var pawns = game.getCurrentPlayer().getPawns();
+            for (int pawn = 0; pawn < pawns.length; pawn++) {
+                if (!game.getBoard().isPawnCanPlaceWall(pawns[pawn])) {
+                    continue;
+                }
+                for (int code = 0; code < 21 * 4; code++) {
+                    var path = code / 4;
+                    var steps = path == 0 ? 0 : path < 5 ? 1 : 2;
+                    var first = path == 0 ? 0 : path < 5 ? path - 1 : (path - 5) / 4;
+                    var turn = Turn.of(pawn, steps, first, (path - 5) & 3, code % 4);
+                    tryApply(game, turn, reachable);
+                    for (int breakAt = 0; breakAt <= steps; breakAt++) {
+                        for (int breakDirection = 0; breakDirection < Direction.COUNT; breakDirection++) {
+                            tryApply(game, Turn.withBreak(turn, breakAt, breakDirection), reachable);
+                        }
+                    }
+                }
+            }
+            Assertions.assertEquals(reachable, generated);
+
+            game.apply(buffer[random.nextInt(count)]);
+        }
+    }
+
+    private static void tryApply(Game game, int turn, java.util.Set<Long> keys) {
+        try {
+            game.apply(turn);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        keys.add(game.positionKey());
+        game.undo();
+    }
+
+    @Test
+    void checkCopyIsIndependent() {
+        var game = TestGames.startedGame();
+        game.apply(Turn.of(0, 1, Direction.SOUTH.ordinal(), 0, Direction.EAST.ordinal()));
+        var copy = game.copy();
+        Assertions.assertEquals(game.positionKey(), copy.positionKey());
+        Assertions.assertEquals(game.getBoard().displayBoard(), copy.getBoard().displayBoard());
+        Assertions.assertEquals(1, copy.getHistorySize());
+
+        copy.apply(Turn.withBreak(Turn.of(0, 0, 0, 0, Direction.SOUTH.ordinal()), 0, Direction.WEST.ordinal()));
+        Assertions.assertNotEquals(game.positionKey(), copy.positionKey());
+        Assertions.assertFalse(game.getPlayers().get(1).isCapacityUsed());
+        Assertions.assertEquals(new Position(1, 1), game.getPlayers().get(1).getPawns()[0].getPosition());
+
+        // Une copie réutilisée retrouve exactement la partie d'origine
+        copy.copyFrom(game);
+        Assertions.assertEquals(game.positionKey(), copy.positionKey());
+        copy.undo();
+        game.undo();
+        Assertions.assertEquals(game.positionKey(), copy.positionKey());
+        Assertions.assertEquals(game.getBoard().displayBoard(), copy.getBoard().displayBoard());
+    }
+
+    @Test
+    void checkResetKeepsBoardSizeAndPawnCount() {
+        var game = GameFactory.createGame(2, new ArrayList<>(List.of("Alice", "Bob")), 1, 9);
+        game.playerPlacePawns(game.getPlayers().get(0), 0, new Position(0, 0));
+        game.playerPlacePawns(game.getPlayers().get(1), 0, new Position(8, 8));
+        game.start();
+
+        game.reset();
+        Assertions.assertEquals(9, game.getBoard().SIZE);
+        Assertions.assertEquals(1, game.getPlayers().get(0).getPawns().length);
+        game.playerPlacePawns(game.getPlayers().get(0), 0, new Position(8, 0));
+        game.playerPlacePawns(game.getPlayers().get(1), 0, new Position(0, 8));
+        Assertions.assertTrue(game.isAllPawnArePlaced());
+    }
+}
@@ -0,0 +1,82 @@
+package util;
+
+import ai.RandomStrategy;
+import model.Game;
+import model.Turn;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+public class GameArchiveTest {
+
+    private static Game playRandomGame(long seed) {
+        var game = TestGames.startedGame("Alice", "Bob" + seed);
+        var strategy = new RandomStrategy(seed);
+        while (!game.isGameOver()) {
+            var turn = strategy.chooseTurn(game);
+            if (turn == Turn.NONE) {
+                break;
+            }
+            game.apply(turn);
+        }
+        return game;
+    }
+
+    @Test
+    void checkArchiveRoundTrip(@TempDir Path directory) throws IOException {
+        var path = directory.resolve("parties.qar");
+        var games = new ArrayList<Game>();
+        for (int i = 0; i < 20; i++) {
+            games.add(playRandomGame(i));
+        }
+        // Deux sessions d'écriture : la seconde complète l'archive existante
+        try (var writer = new GameArchiveWriter(path)) {
+            for (int i = 0; i < 12; i++) {
+                Assertions.assertEquals(i, writer.append(games.get(i)));
+            }
+        }
+        try (var writer = new GameArchiveWriter(path)) {
+            for (int i = 12; i < games.size(); i++) {
+                Assertions.assertEquals(i, writer.append(games.get(i)));
+            }
+        }
+        // Entrée d'index écrite à moitié par un écrivain interrompu
+        Files.write(GameArchive.indexPath(path), new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (var archive = GameArchive.open(path)) {
+            Assertions.assertEquals(games.size(), archive.size());
+            for (int i = 0; i < games.size(); i++) {
+                var game = games.get(i);
+                var alice = game.getScores().get(game.getPlayers().get(0));
+                var bob = game.getScores().get(game.getPlayers().get(1));
+                Assertions.assertEquals(2, archive.getPlayerCount(i));
+                Assertions.assertEquals(game.getHistorySize(), archive.getTurnCount(i));
+                Assertions.assertEquals(alice, archive.getScore(i, 0));
+                Assertions.assertEquals(bob, archive.getScore(i, 1));
+                Assertions.assertEquals(alice > bob ? 0 : alice < bob ? 1 : GameArchive.DRAW, archive.getWinner(i));
+                Assertions.assertEquals(game.positionKey(), archive.getPositionKey(i));
+                Assertions.assertEquals("Bob" + i, archive.getPlayerName(i, 1));
+
+                var bytes = archive.gameBytes(i);
+                Assertions.assertTrue(bytes.isReadOnly());
+                Assertions.assertArrayEquals(GameSerializer.toBytes(game), GameSerializer.toBytes(archive.game(i)));
+            }
+            Assertions.assertThrows(IllegalArgumentException.class, () -> archive.getTurnCount(games.size()));
+        }
+
+        // Un écrivain rouvert écrase l'entrée incomplète
+        try (var writer = new GameArchiveWriter(path)) {
+            Assertions.assertEquals(games.size(), writer.append(games.get(0)));
+        }
+        try (var archive = GameArchive.open(path)) {
+            Assertions.assertEquals(games.size() + 1, archive.size());
+            Assertions.assertEquals(games.get(0).positionKey(), archive.game(games.size()).positionKey());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package util;
+
+import ai.RandomStrategy;
+import model.Board;
+import model.Direction;
+import model.Game;
+import model.Position;
+import model.Turn;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class GameRecordTest {
+
+    @Test
+    void checkTurnNotation() {
+        var game = TestGames.startedGame();
+        var east = Direction.EAST.ordinal();
+        var south = Direction.SOUTH.ordinal();
+
+        Assertions.assertEquals("a1/S", TurnNotation.format(game, Turn.of(0, 0, 0, 0, south)));
+        Assertions.assertEquals("e3NE/W", TurnNotation.format(game, Turn.of(2, 2, Direction.NORTH.ordinal(), east, Direction.WEST.ordinal())));
+        var capacity = Turn.withBreak(Turn.of(0, 1, east, 0, south), 0, east);
+        Assertions.assertEquals("a1*EE/S", TurnNotation.format(game, capacity));
+        Assertions.assertEquals(capacity, TurnNotation.parse(game, "a1*EE/S"));
+        Assertions.assertEquals(Turn.withBreak(Turn.of(0, 1, east, 0, south), 1, east), TurnNotation.parse(game, "a1E*E/S"));
+
+        Assertions.assertEquals(game.getBoard().cellIndex(6, 6), TurnNotation.parseCell(game.getBoard(), "g7"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TurnNotation.parseCell(game.getBoard(), "h1"));
+        // b2 est un pion de Bob, pas du joueur courant
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TurnNotation.parse(game, "b2/S"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TurnNotation.parse(game, "a1EEE/S"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TurnNotation.parse(game, "a1E/"));
+    }
+
+    @Test
+    void checkRecordsRoundTrip() throws IOException {
+        var output = new StringWriter();
+        var played = new ArrayList<Game>();
+        try (var writer = new GameRecordWriter(output)) {
+            writer.comment("Parties aléatoires");
+            for (int seed = 0; seed < 5; seed++) {
+                var game = TestGames.startedGame();
+                var strategy = new RandomStrategy(seed);
+                for (int i = 0; i < 30 && !game.isGameOver(); i++) {
+                    var turn = strategy.chooseTurn(game);
+                    if (turn == Turn.NONE) {
+                        break;
+                    }
+                    game.apply(turn);
+                }
+                writer.write(game);
+                played.add(game);
+            }
+        }
+
+        try (var reader = new GameRecordReader(new StringReader(output.toString()))) {
+            for (var game : played) {
+                var read = reader.next();
+                Assertions.assertNotNull(read);
+                Assertions.assertEquals(game.positionKey(), read.positionKey());
+                Assertions.assertEquals(game.getHistorySize(), read.getHistorySize());
+                Assertions.assertEquals(GameRecordWriter.format(game), GameRecordWriter.format(read));
+            }
+            Assertions.assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void checkInvalidRecordReportsLine() throws IOException {
+        var text = "# Partie\n\nAlice,Bob | a1 g2 e3 e6 b2 f4 c6 a7 | a1/S g2/S\nAlice,Bob | a1 g2 e3 e6 b2 f4 c6 a7 | a1/S a1/N\n";
+        try (var reader = new GameRecordReader(new StringReader(text))) {
+            var game = reader.next();
+            Assertions.assertEquals(2, game.getHistorySize());
+            Assertions.assertEquals("Bob", game.getPlayers().get(1).getName());
+            var error = Assertions.assertThrows(IllegalArgumentException.class, reader::next);
+            Assertions.assertTrue(error.getMessage().startsWith("Ligne 4"), error.getMessage());
+        }
+    }
+
+    @Test
+    void checkRecordsRoundTripOnLargerBoards() {
+        for (var size : new int[] {9, 30}) {
+            var game = GameFactory.createGame(3, new ArrayList<>(List.of("Alice", "Bob", "Chloé")), 3, size);
+            var players = game.getPlayers();
+            // Un pion au-delà de la colonne z sur le grand plateau, les autres au hasard
+            game.playerPlacePawns(players.get(0), 0, new Position(size - 1, size - 1));
+            var random = new Random(size);
+            for (int pawn = 0; pawn < 3; pawn++) {
+                for (var player : players) {
+                    while (players.get(0).getPawns()[0] != player.getPawns()[pawn]
+                            && !game.playerPlacePawns(player, pawn, new Position(random.nextInt(size), random.nextInt(size)))) {
+                        // case occupée, nouveau tirage
+                    }
+                }
+            }
+            game.start();
+            var strategy = new RandomStrategy(size);
+            for (int i = 0; i < 20 && !game.isGameOver(); i++) {
+                var turn = strategy.chooseTurn(game);
+                if (turn == Turn.NONE) {
+                    break;
+                }
+                game.apply(turn);
+            }
+
+            var line = GameRecordWriter.format(game);
+            Assertions.assertTrue(line.startsWith(size + " 3 | "), line);
+            var read = GameRecordReader.parse(line);
+            Assertions.assertEquals(size, read.getBoard().SIZE);
+            Assertions.assertEquals(3, read.getPlayers().get(0).getPawns().length);
+            Assertions.assertEquals(game.positionKey(), read.positionKey());
+            Assertions.assertEquals(line, GameRecordWriter.format(read));
+        }
+
+        var board = new Board(30);
+        Assertions.assertEquals("z1", TurnNotation.formatCell(board, board.cellIndex(25, 0)));
+        Assertions.assertEquals("aa2", TurnNotation.formatCell(board, board.cellIndex(26, 1)));
+        Assertions.assertEquals("ad30", TurnNotation.formatCell(board, board.cellIndex(29, 29)));
+        Assertions.assertEquals(board.cellIndex(29, 29), TurnNotation.parseCell(board, "ad30"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TurnNotation.parseCell(board, "ae1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameRecordReader.parse("9 | Alice,Bob | -- | "));
+    }
+}
@@ -0,0 +1,89 @@
+package util;
+
+import model.Direction;
+import model.Position;
+import model.Turn;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameSerializerTest {
+
+    @Test
+    void checkRoundTripKeepsPositionAndHistory() {
+        var game = TestGames.startedGame();
+        game.getBoard().placeWall(new Position(0, 0), Direction.EAST);
+        var east = Direction.EAST.ordinal();
+        var south = Direction.SOUTH.ordinal();
+        game.apply(Turn.withBreak(Turn.of(0, 1, east, 0, south), 0, east));
+        game.apply(Turn.of(1, 1, Direction.WEST.ordinal(), 0, Direction.NORTH.ordinal()));
+
+        var bytes = GameSerializer.toBytes(game);
+        Assertions.assertEquals(GameSerializer.sizeOf(game), bytes.length);
+        Assertions.assertTrue(bytes.length < 64, "Sauvegarde trop grande: " + bytes.length);
+
+        var loaded = GameSerializer.fromBytes(bytes);
+        Assertions.assertEquals(game.positionKey(), loaded.positionKey());
+        Assertions.assertEquals(game.getBoard().displayBoard(), loaded.getBoard().displayBoard());
+        Assertions.assertEquals(game.getCurrentPlayerIndex(), loaded.getCurrentPlayerIndex());
+        Assertions.assertTrue(loaded.getPlayers().get(0).isCapacityUsed());
+        Assertions.assertEquals("Bob", loaded.getPlayers().get(1).getName());
+        Assertions.assertArrayEquals(bytes, GameSerializer.toBytes(loaded));
+
+        // L'historique chargé permet d'annuler les tours comme dans la partie d'origine
+        Assertions.assertEquals(2, loaded.getHistorySize());
+        game.undo();
+        game.undo();
+        loaded.undo();
+        loaded.undo();
+        Assertions.assertEquals(game.positionKey(), loaded.positionKey());
+        Assertions.assertFalse(loaded.getPlayers().get(0).isCapacityUsed());
+    }
+
+    @Test
+    void checkUnplacedPawnsAndInvalidData() {
+        var game = GameFactory.createGame(3, new ArrayList<>(List.of("Alice", "Bob", "Chloé")));
+        game.playerPlacePawns(game.getPlayers().get(0), 0, new Position(3, 3));
+        game.nextPlayer();
+
+        var loaded = GameSerializer.fromBytes(GameSerializer.toBytes(game));
+        Assertions.assertFalse(loaded.isStarted());
+        Assertions.assertEquals(1, loaded.getCurrentPlayerIndex());
+        Assertions.assertEquals(1, loaded.getBoard().getPawnsOnBoard());
+        Assertions.assertEquals("Chloé", loaded.getPlayers().get(2).getName());
+
+        var bytes = GameSerializer.toBytes(game);
+        bytes[2] = 99;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameSerializer.fromBytes(bytes));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameSerializer.fromBytes(new byte[] {'Q', 'D', 1}));
+    }
+
+    @Test
+    void checkCorruptedHistoryIsRefused() {
+        var game = TestGames.startedGame();
+        game.apply(Turn.of(0, 1, Direction.SOUTH.ordinal(), 0, Direction.EAST.ordinal()));
+        game.apply(Turn.of(1, 1, Direction.WEST.ordinal(), 0, Direction.NORTH.ordinal()));
+        var bytes = GameSerializer.toBytes(game);
+        Assertions.assertEquals(2, GameSerializer.fromBytes(bytes).getHistorySize());
+
+        // Dernier tour : tour encodé (2 octets), case de départ, case d'arrivée, joueur et fin de partie, deux scores
+        var last = bytes.length - 7;
+        var corruptions = new int[][] {
+                {last + 3, 200},       // case d'arrivée hors du plateau
+                {last + 2, 0},         // case de départ qui n'est pas sur le chemin du pion
+                {last + 4, 0},         // tour attribué au premier joueur
+                {last + 1, 0x03},      // pion d'index 3
+                {last + 4, 1 | 1 << 2} // tour joué dans une partie finie
+        };
+        for (var corruption : corruptions) {
+            var corrupted = bytes.clone();
+            corrupted[corruption[0]] = (byte) corruption[1];
+            Assertions.assertThrows(IllegalArgumentException.class, () -> GameSerializer.fromBytes(corrupted),
+                    "Octet " + corruption[0] + " = " + corruption[1]);
+        }
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> GameSerializer.fromBytes(java.util.Arrays.copyOf(bytes, bytes.length - 3)));
+    }
+}
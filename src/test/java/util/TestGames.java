@@ -0,0 +1,41 @@
+package util;
+
+import model.Game;
+import model.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parties de départ partagées par les tests
+ */
+public final class TestGames {
+
+    private TestGames() {
+    }
+
+    /**
+     * @return une partie à deux joueurs, Alice et Bob, avec tous les pions placés
+     */
+    public static Game startedGame() {
+        return startedGame("Alice", "Bob");
+    }
+
+    /**
+     * Place les pions toujours aux mêmes cases du plateau 7x7 puis démarre la partie
+     * @return une partie à deux joueurs commencée
+     */
+    public static Game startedGame(String first, String second) {
+        var game = GameFactory.createGame(2, new ArrayList<>(List.of(first, second)));
+        game.playerPlacePawns(game.getPlayers().get(0), 0, new Position(0, 0));
+        game.playerPlacePawns(game.getPlayers().get(0), 1, new Position(6, 1));
+        game.playerPlacePawns(game.getPlayers().get(0), 2, new Position(4, 2));
+        game.playerPlacePawns(game.getPlayers().get(0), 3, new Position(4, 5));
+        game.playerPlacePawns(game.getPlayers().get(1), 0, new Position(1, 1));
+        game.playerPlacePawns(game.getPlayers().get(1), 1, new Position(5, 3));
+        game.playerPlacePawns(game.getPlayers().get(1), 2, new Position(2, 5));
+        game.playerPlacePawns(game.getPlayers().get(1), 3, new Position(0, 6));
+        game.start();
+        return game;
+    }
+}
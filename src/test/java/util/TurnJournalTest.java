@@ -0,0 +1,158 @@
+package util;
+
+import ai.RandomStrategy;
+import model.Direction;
+import model.Game;
+import model.GameEngine;
+import model.Turn;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+public class TurnJournalTest {
+
+    private static void playRandomTurns(GameEngine engine, long seed, int turns) {
+        var strategy = new RandomStrategy(seed);
+        var game = engine.getGame();
+        for (int i = 0; i < turns && !game.isGameOver(); i++) {
+            var turn = strategy.chooseTurn(game);
+            if (turn == Turn.NONE) {
+                return;
+            }
+            Assertions.assertTrue(engine.play(turn).isOk());
+        }
+    }
+
+    @Test
+    void checkRecoveryAfterTornWrite(@TempDir Path directory) throws IOException {
+        var path = directory.resolve("parties.journal");
+        var kept = TestGames.startedGame();
+        try (var journal = TurnJournal.open(path)) {
+            Assertions.assertTrue(journal.takeRecoveredGames().isEmpty());
+            var engine = new GameEngine(kept, journal);
+            playRandomTurns(engine, 1, 10);
+            Assertions.assertTrue(engine.undo());
+
+            var finished = new GameEngine(TestGames.startedGame(), journal);
+            playRandomTurns(finished, 2, 5);
+            finished.closeJournal();
+            journal.sync();
+        }
+        // Arrêt brutal au milieu de l'écriture d'un enregistrement
+        Files.write(path, new byte[] {0, 0, 0, 11, 1, 2}, StandardOpenOption.APPEND);
+
+        try (var journal = TurnJournal.open(path)) {
+            var recovered = journal.takeRecoveredGames();
+            Assertions.assertEquals(1, recovered.size());
+            var entry = recovered.entrySet().iterator().next();
+            var game = entry.getValue();
+            Assertions.assertEquals(kept.positionKey(), game.positionKey());
+            Assertions.assertEquals(kept.getHistorySize(), game.getHistorySize());
+            Assertions.assertTrue(journal.takeRecoveredGames().isEmpty());
+
+            // La partie reprise continue d'être journalisée sous le même identifiant
+            var engine = new GameEngine(game, journal, entry.getKey());
+            playRandomTurns(engine, 3, 2);
+            kept = game;
+        }
+        try (var journal = TurnJournal.open(path)) {
+            var recovered = journal.takeRecoveredGames();
+            Assertions.assertEquals(1, recovered.size());
+            Assertions.assertEquals(kept.positionKey(), recovered.values().iterator().next().positionKey());
+        }
+    }
+
+    @Test
+    void checkConcurrentGamesShareJournal(@TempDir Path directory) throws Exception {
+        var path = directory.resolve("parties.journal");
+        var games = new ConcurrentHashMap<Integer, Game>();
+        try (var journal = TurnJournal.open(path)) {
+            var executor = Executors.newFixedThreadPool(4);
+            try {
+                var futures = new ArrayList<Future<?>>();
+                for (int i = 0; i < 16; i++) {
+                    var index = i;
+                    futures.add(executor.submit(() -> {
+                        var engine = new GameEngine(TestGames.startedGame(), journal);
+                        playRandomTurns(engine, index, 20);
+                        games.put(index, engine.getGame());
+                    }));
+                }
+                // get() relance dans le test les échecs des parties jouées en parallèle
+                for (var future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        try (var journal = TurnJournal.open(path)) {
+            var expected = new ArrayList<Long>();
+            for (var game : games.values()) {
+                if (!game.isGameOver()) {
+                    expected.add(game.positionKey());
+                }
+            }
+            var recovered = new ArrayList<Long>();
+            for (var game : journal.takeRecoveredGames().values()) {
+                recovered.add(game.positionKey());
+            }
+            expected.sort(null);
+            recovered.sort(null);
+            Assertions.assertEquals(expected, recovered);
+        }
+    }
+
+    @Test
+    void checkRecordThatDoesNotApplyEndsReplay(@TempDir Path directory) throws IOException {
+        var path = directory.resolve("parties.journal");
+        var game = TestGames.startedGame();
+        long gameId;
+        try (var journal = TurnJournal.open(path)) {
+            gameId = journal.register(game);
+            journal.sync();
+        }
+        // Tour bien formé mais injouable : le second pas vers le nord sort du plateau
+        var turn = Turn.of(1, 2, Direction.EAST.ordinal(), Direction.NORTH.ordinal(), Direction.SOUTH.ordinal());
+        var body = ByteBuffer.allocate(11).putLong(gameId).put((byte) 2).putShort((short) turn).array();
+        var crc = new CRC32C();
+        crc.update(body);
+        var record = ByteBuffer.allocate(8 + body.length).putInt(body.length).putInt((int) crc.getValue()).put(body);
+        Files.write(path, record.array(), StandardOpenOption.APPEND);
+
+        for (int i = 0; i < 2; i++) {
+            try (var journal = TurnJournal.open(path)) {
+                var recovered = journal.takeRecoveredGames();
+                Assertions.assertEquals(1, recovered.size());
+                Assertions.assertEquals(game.positionKey(), recovered.get(gameId).positionKey());
+            }
+        }
+    }
+
+    @Test
+    void checkJournalIsOpenedOnlyOnce(@TempDir Path directory) throws IOException {
+        var path = directory.resolve("parties.journal");
+        try (var journal = TurnJournal.open(path)) {
+            journal.register(TestGames.startedGame());
+            journal.sync();
+            Assertions.assertThrows(IOException.class, () -> TurnJournal.open(path));
+        }
+        // Le verrou est rendu à la fermeture, et la partie n'a été ni reprise ni effacée entre-temps
+        try (var journal = TurnJournal.open(path)) {
+            Assertions.assertEquals(1, journal.takeRecoveredGames().size());
+        }
+    }
+}